@@ -0,0 +1,36 @@
+package com.airline.flightmanagement.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Local Caffeine caches for flight and carrier reads, sized and expired by
+ * spring.cache.caffeine.spec. Evictions made inside a transaction are applied once it commits.
+ * With recordStats in the spec, hit, miss and eviction counts are published as the standard
+ * cache.* metrics under /actuator/metrics.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String FLIGHTS = "flights";
+    public static final String CARRIERS = "carriers";
+    public static final String CARRIERS_BY_NAME = "carriersByName";
+    public static final String ACTIVE_CARRIERS = "activeCarriers";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(FLIGHTS, CARRIERS, CARRIERS_BY_NAME, ACTIVE_CARRIERS);
+        if (cacheProperties.getCaffeine().getSpec() != null) {
+            cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -17,7 +17,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")  // Allow all origins for development
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH")
                 .allowedHeaders("*")
-                .exposedHeaders("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Access-Control-Allow-Methods", "Access-Control-Allow-Headers")
+                .exposedHeaders("Access-Control-Allow-Origin", "Access-Control-Allow-Credentials", "Access-Control-Allow-Methods", "Access-Control-Allow-Headers", "X-Next-Page-Token")
                 .allowCredentials(false)  // Set to false when using allowedOriginPatterns("*")
                 .maxAge(3600);
     }
@@ -32,6 +32,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.addExposedHeader("Access-Control-Allow-Credentials");
         configuration.addExposedHeader("Access-Control-Allow-Methods");
         configuration.addExposedHeader("Access-Control-Allow-Headers");
+        configuration.addExposedHeader("X-Next-Page-Token");
         configuration.setAllowCredentials(false);  // Set to false when using allowedOriginPattern("*")
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
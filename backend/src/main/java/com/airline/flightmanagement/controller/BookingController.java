@@ -1,14 +1,35 @@
 package com.airline.flightmanagement.controller;
 
+import com.airline.flightmanagement.dto.BatchBookingResponse;
 import com.airline.flightmanagement.dto.BookFlightRequest;
 import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.BookingStatsResponse;
+import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.dto.FareQuoteResult;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.dto.SeatHoldResponse;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.service.AvailabilityCalendarService;
 import com.airline.flightmanagement.service.BookingService;
+import com.airline.flightmanagement.service.BookingStatsService;
+import com.airline.flightmanagement.service.ExportFormat;
+import com.airline.flightmanagement.service.ExportService;
+import com.airline.flightmanagement.service.FareQuoteService;
+import com.airline.flightmanagement.service.IdempotencyService;
+import com.airline.flightmanagement.service.KeysetPagination;
+import com.airline.flightmanagement.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,18 +38,44 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class BookingController {
     
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     @Autowired
     private BookingService bookingService;
     
+    @Autowired
+    private SeatHoldService seatHoldService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private FareQuoteService fareQuoteService;
+    
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private BookingStatsService bookingStatsService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Book a flight
      * POST /api/bookings/bookFlight
      */
     @PostMapping("/bookFlight")
     public ResponseEntity<?> bookFlight(@Valid @RequestBody BookFlightRequest request,
-                                       @RequestParam Long userId) {
+                                       @RequestParam Long userId,
+                                       @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            BookFlightResponse booking = bookingService.bookFlight(request, userId);
+            BookFlightResponse booking = idempotencyService.execute(idempotencyKey, IdempotencyService.BOOK_FLIGHT,
+                    List.of(userId, request), BookFlightResponse.class,
+                    () -> bookingService.bookFlight(request, userId));
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "Flight booked successfully", booking));
         } catch (RuntimeException e) {
@@ -40,6 +87,144 @@ public class BookingController {
         }
     }
     
+    /**
+     * Book several flights in one request
+     * POST /api/bookings/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> bookFlights(@RequestBody List<BookFlightRequest> requests,
+                                        @RequestParam Long userId) {
+        try {
+            BatchBookingResponse response = bookingService.bookFlights(requests, userId);
+            return ResponseEntity.ok(new ApiResponse(response.getSucceeded() > 0,
+                    response.getSucceeded() + " of " + response.getRequested() + " bookings succeeded", response));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while booking flights", null));
+        }
+    }
+    
+    /**
+     * Quote fares for many flights without booking them
+     * POST /api/bookings/quotes
+     */
+    @PostMapping("/quotes")
+    public ResponseEntity<?> quoteFares(@RequestBody List<BookFlightRequest> requests,
+                                       @RequestParam Long userId) {
+        try {
+            List<FareQuoteResult> quotes = fareQuoteService.quoteFares(requests, userId);
+            long quoted = quotes.stream().filter(FareQuoteResult::isSuccess).count();
+            return ResponseEntity.ok(new ApiResponse(quoted > 0,
+                    quoted + " of " + quotes.size() + " fares quoted", quotes));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while quoting fares", null));
+        }
+    }
+    
+    /**
+     * Hold seats while checkout completes
+     * POST /api/bookings/holds
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<?> createHold(@Valid @RequestBody BookFlightRequest request,
+                                       @RequestParam Long userId,
+                                       @RequestParam(required = false) Long ttlSeconds) {
+        try {
+            SeatHoldResponse hold = seatHoldService.createHold(request, userId, ttlSeconds);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse(true, "Seats held successfully", hold));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while holding seats", null));
+        }
+    }
+    
+    /**
+     * Get a seat hold
+     * GET /api/bookings/holds/{holdId}
+     */
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<?> getHold(@PathVariable String holdId) {
+        try {
+            SeatHoldResponse hold = seatHoldService.getHold(holdId);
+            return ResponseEntity.ok(new ApiResponse(true, "Seat hold retrieved successfully", hold));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while retrieving seat hold", null));
+        }
+    }
+    
+    /**
+     * Confirm a seat hold into a booking
+     * POST /api/bookings/holds/{holdId}/confirm
+     */
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(@PathVariable String holdId, @RequestParam Long userId) {
+        try {
+            BookFlightResponse booking = seatHoldService.confirmHold(holdId, userId);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ApiResponse(true, "Flight booked successfully", booking));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while confirming seat hold", null));
+        }
+    }
+    
+    /**
+     * Release a seat hold
+     * DELETE /api/bookings/holds/{holdId}
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId, @RequestParam Long userId) {
+        try {
+            seatHoldService.releaseHold(holdId, userId);
+            return ResponseEntity.ok(new ApiResponse(true, "Seat hold released successfully", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while releasing seat hold", null));
+        }
+    }
+    
+    /**
+     * Stream all bookings as NDJSON or CSV
+     * GET /api/bookings/export?format={ndjson|csv}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            return ResponseEntity.ok()
+                    .contentType(exportFormat.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.attachment("bookings"))
+                    .body(exportService.exportBookings(exportFormat));
+        } catch (RuntimeException e) {
+            // The return type must be a streaming body for the export to stream, so errors are written as one too
+            ApiResponse error = new ApiResponse(false, e.getMessage(), null);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+    
     /**
      * Get booking by ID
      * GET /api/bookings/{bookingId}
@@ -60,14 +245,30 @@ public class BookingController {
     }
     
     /**
-     * Get all bookings for a user
-     * GET /api/bookings/user/{userId}
+     * Get a page of a user's bookings, optionally filtered by status and travel date range;
+     * the next page's token is returned in the X-Next-Page-Token header
+     * GET /api/bookings/user/{userId}?status={status}&fromDate={fromDate}&toDate={toDate}&pageToken={pageToken}&pageSize={pageSize}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getUserBookings(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserBookings(@PathVariable Long userId,
+                                            @RequestParam(required = false) BookingStatus status,
+                                            @RequestParam(required = false) String fromDate,
+                                            @RequestParam(required = false) String toDate,
+                                            @RequestParam(required = false) String pageToken,
+                                            @RequestParam(required = false) Integer pageSize) {
         try {
-            List<BookFlightResponse> bookings = bookingService.getUserBookings(userId);
-            return ResponseEntity.ok(new ApiResponse(true, "User bookings retrieved successfully", bookings));
+            KeysetPage<BookFlightResponse> page = bookingService.getUserBookings(userId, status,
+                    fromDate == null ? null : LocalDate.parse(fromDate),
+                    toDate == null ? null : LocalDate.parse(toDate),
+                    pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "User bookings retrieved successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving user bookings", null));
@@ -82,10 +283,33 @@ public class BookingController {
     public ResponseEntity<?> getSeatAvailability(@RequestParam Long flightId,
                                                @RequestParam String dateOfTravel) {
         try {
-            // This would need to be implemented in the service
-            // For now, returning a placeholder response
-            return ResponseEntity.ok(new ApiResponse(true, "Seat availability retrieved successfully", 
-                    "Feature to be implemented"));
+            SeatAvailabilityResponse availability = bookingService.getSeatAvailability(flightId, 
+                    LocalDate.parse(dateOfTravel));
+            return ResponseEntity.ok(new ApiResponse(true, "Seat availability retrieved successfully", availability));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while retrieving seat availability", null));
+        }
+    }
+    
+    /**
+     * Get available seats per category for a flight on every date of a range
+     * GET /api/bookings/availability/calendar?flightId={flightId}&fromDate={fromDate}&toDate={toDate}
+     */
+    @GetMapping("/availability/calendar")
+    public ResponseEntity<?> getAvailabilityCalendar(@RequestParam Long flightId,
+                                                   @RequestParam String fromDate,
+                                                   @RequestParam String toDate) {
+        try {
+            List<SeatAvailabilityResponse> calendar = availabilityCalendarService.getCalendar(flightId,
+                    LocalDate.parse(fromDate), LocalDate.parse(toDate));
+            return ResponseEntity.ok(new ApiResponse(true, "Seat availability retrieved successfully", calendar));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving seat availability", null));
@@ -97,9 +321,10 @@ public class BookingController {
      * PUT /api/bookings/{bookingId}/cancel
      */
     @PutMapping("/{bookingId}/cancel")
-    public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId) {
+    public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId,
+                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            var cancelResponse = bookingService.cancelBooking(bookingId);
+            CancelBookingResponse cancelResponse = cancelIdempotently(bookingId, idempotencyKey);
             return ResponseEntity.ok(new ApiResponse(true, "Booking cancelled successfully", cancelResponse));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -115,9 +340,10 @@ public class BookingController {
      * DELETE /api/bookings/cancelBooking/{bookingId}
      */
     @DeleteMapping("/cancelBooking/{bookingId}")
-    public ResponseEntity<?> cancelBookingAlternative(@PathVariable Long bookingId) {
+    public ResponseEntity<?> cancelBookingAlternative(@PathVariable Long bookingId,
+                                                     @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            var cancelResponse = bookingService.cancelBooking(bookingId);
+            CancelBookingResponse cancelResponse = cancelIdempotently(bookingId, idempotencyKey);
             return ResponseEntity.ok(new ApiResponse(true, "Booking cancelled successfully", cancelResponse));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -128,6 +354,15 @@ public class BookingController {
         }
     }
     
+    /**
+     * Both cancel endpoints share one idempotency operation, so a retry may use either
+     */
+    private CancelBookingResponse cancelIdempotently(Long bookingId, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, IdempotencyService.CANCEL_BOOKING,
+                bookingId, CancelBookingResponse.class,
+                () -> bookingService.cancelBooking(bookingId));
+    }
+    
     /**
      * Get booking statistics
      * GET /api/bookings/stats
@@ -135,10 +370,8 @@ public class BookingController {
     @GetMapping("/stats")
     public ResponseEntity<?> getBookingStats() {
         try {
-            // This would need to be implemented in the service
-            // For now, returning a placeholder response
-            return ResponseEntity.ok(new ApiResponse(true, "Booking statistics retrieved successfully", 
-                    "Feature to be implemented"));
+            BookingStatsResponse stats = bookingStatsService.getStats();
+            return ResponseEntity.ok(new ApiResponse(true, "Booking statistics retrieved successfully", stats));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving booking statistics", null));
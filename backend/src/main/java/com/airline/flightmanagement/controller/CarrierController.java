@@ -1,7 +1,9 @@
 package com.airline.flightmanagement.controller;
 
 import com.airline.flightmanagement.dto.CarrierDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.service.CarrierService;
+import com.airline.flightmanagement.service.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -71,14 +73,22 @@ public class CarrierController {
     }
     
     /**
-     * Get all carriers
-     * GET /api/carriers
+     * Get a page of carriers; the next page's token is returned in the X-Next-Page-Token header
+     * GET /api/carriers?pageToken={pageToken}&pageSize={pageSize}
      */
     @GetMapping
-    public ResponseEntity<?> getAllCarriers() {
+    public ResponseEntity<?> getAllCarriers(@RequestParam(required = false) String pageToken,
+                                          @RequestParam(required = false) Integer pageSize) {
         try {
-            List<CarrierDTO> carriers = carrierService.getAllCarriers();
-            return ResponseEntity.ok(new ApiResponse(true, "Carriers retrieved successfully", carriers));
+            KeysetPage<CarrierDTO> page = carrierService.getAllCarriers(pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "Carriers retrieved successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving carriers", null));
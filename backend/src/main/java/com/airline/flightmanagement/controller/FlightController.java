@@ -1,14 +1,33 @@
 package com.airline.flightmanagement.controller;
 
+import com.airline.flightmanagement.dto.AirportSuggestion;
+import com.airline.flightmanagement.dto.ConnectionItinerary;
+import com.airline.flightmanagement.dto.DailyLoadFactor;
 import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.dto.ApiResponse;
+import com.airline.flightmanagement.dto.WeeklyRouteLoadFactor;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.service.ConnectionSearchService;
+import com.airline.flightmanagement.service.ExportFormat;
+import com.airline.flightmanagement.service.ExportService;
 import com.airline.flightmanagement.service.FlightService;
+import com.airline.flightmanagement.service.KeysetPagination;
+import com.airline.flightmanagement.service.LoadFactorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +37,18 @@ public class FlightController {
     @Autowired
     private FlightService flightService;
     
+    @Autowired
+    private ConnectionSearchService connectionSearchService;
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @Autowired
+    private LoadFactorService loadFactorService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Register a new flight
      * POST /api/flights/registerFlight
@@ -38,20 +69,49 @@ public class FlightController {
     }
     
     /**
-     * Get all flights
-     * GET /api/flights
+     * Get a page of flights; the next page's token is returned in the X-Next-Page-Token header
+     * GET /api/flights?pageToken={pageToken}&pageSize={pageSize}
      */
     @GetMapping
-    public ResponseEntity<?> getAllFlights() {
+    public ResponseEntity<?> getAllFlights(@RequestParam(required = false) String pageToken,
+                                         @RequestParam(required = false) Integer pageSize) {
         try {
-            List<FlightDTO> flights = flightService.getAllFlights();
-            return ResponseEntity.ok(new ApiResponse(true, "Flights retrieved successfully", flights));
+            KeysetPage<FlightDTO> page = flightService.getAllFlights(pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "Flights retrieved successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving flights", null));
         }
     }
     
+    /**
+     * Stream all flights as NDJSON or CSV
+     * GET /api/flights/export?format={ndjson|csv}
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFlights(@RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.fromParameter(format);
+            return ResponseEntity.ok()
+                    .contentType(exportFormat.getMediaType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, exportFormat.attachment("flights"))
+                    .body(exportService.exportFlights(exportFormat));
+        } catch (RuntimeException e) {
+            // The return type must be a streaming body for the export to stream, so errors are written as one too
+            ApiResponse error = new ApiResponse(false, e.getMessage(), null);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+    
     /**
      * Get flight by ID
      * GET /api/flights/{flightId}
@@ -119,6 +179,156 @@ public class FlightController {
         }
     }
     
+    /**
+     * Search a route's flights by fare range and carrier, sorted by fare; the next page's token is
+     * returned in the X-Next-Page-Token header
+     * GET /api/flights/fares?origin={origin}&destination={destination}&minFare={minFare}&maxFare={maxFare}&carrierId={carrierId}&sort={ASC|DESC}&pageToken={pageToken}&pageSize={pageSize}
+     */
+    @GetMapping("/fares")
+    public ResponseEntity<?> searchFlightsByFare(@RequestParam String origin, @RequestParam String destination,
+                                                 @RequestParam(required = false) BigDecimal minFare,
+                                                 @RequestParam(required = false) BigDecimal maxFare,
+                                                 @RequestParam(required = false) Long carrierId,
+                                                 @RequestParam(defaultValue = "ASC") Sort.Direction sort,
+                                                 @RequestParam(required = false) String pageToken,
+                                                 @RequestParam(required = false) Integer pageSize) {
+        try {
+            KeysetPage<FlightDTO> page = flightService.searchFlightsByFare(origin, destination, minFare, maxFare,
+                    carrierId, sort, pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "Flights found successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while searching flights", null));
+        }
+    }
+    
+    /**
+     * Query flights by any combination of route, carrier, fare range, active carriers and seats
+     * available on a date of travel; the next page's token is returned in the X-Next-Page-Token header
+     * GET /api/flights/query?origin={origin}&destination={destination}&carrierId={carrierId}&minFare={minFare}&maxFare={maxFare}&activeCarriersOnly={true|false}&dateOfTravel={date}&seatCategory={category}&noOfSeats={seats}&pageToken={pageToken}&pageSize={pageSize}
+     */
+    @GetMapping("/query")
+    public ResponseEntity<?> queryFlights(@RequestParam(required = false) String origin,
+                                          @RequestParam(required = false) String destination,
+                                          @RequestParam(required = false) Long carrierId,
+                                          @RequestParam(required = false) BigDecimal minFare,
+                                          @RequestParam(required = false) BigDecimal maxFare,
+                                          @RequestParam(defaultValue = "false") boolean activeCarriersOnly,
+                                          @RequestParam(required = false) String dateOfTravel,
+                                          @RequestParam(defaultValue = "ECONOMY") SeatCategory seatCategory,
+                                          @RequestParam(defaultValue = "1") int noOfSeats,
+                                          @RequestParam(required = false) String pageToken,
+                                          @RequestParam(required = false) Integer pageSize) {
+        try {
+            FlightSearchCriteria criteria = new FlightSearchCriteria(origin, destination, carrierId, minFare, maxFare,
+                    activeCarriersOnly, dateOfTravel == null ? null : LocalDate.parse(dateOfTravel), seatCategory,
+                    noOfSeats);
+            KeysetPage<FlightDTO> page = flightService.queryFlights(criteria, pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "Flights found successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while searching flights", null));
+        }
+    }
+    
+    /**
+     * Suggest airports whose name starts with a prefix, ignoring case, the ones with the most flights first
+     * GET /api/flights/airports?prefix={prefix}&limit={limit}
+     */
+    @GetMapping("/airports")
+    public ResponseEntity<?> suggestAirports(@RequestParam String prefix,
+                                           @RequestParam(required = false) Integer limit) {
+        try {
+            List<AirportSuggestion> airports = flightService.suggestAirports(prefix, limit);
+            return ResponseEntity.ok(new ApiResponse(true, "Airports found successfully", airports));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while searching airports", null));
+        }
+    }
+    
+    /**
+     * Search direct and connecting itineraries with seats available on the date of travel, cheapest first
+     * GET /api/flights/connections?origin={origin}&destination={destination}&dateOfTravel={date}&seatCategory={category}&noOfSeats={seats}&maxStops={stops}
+     */
+    @GetMapping("/connections")
+    public ResponseEntity<?> searchConnections(@RequestParam String origin, @RequestParam String destination,
+                                             @RequestParam String dateOfTravel,
+                                             @RequestParam(defaultValue = "ECONOMY") SeatCategory seatCategory,
+                                             @RequestParam(defaultValue = "1") int noOfSeats,
+                                             @RequestParam(required = false) Integer maxStops) {
+        try {
+            List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(origin, destination,
+                    LocalDate.parse(dateOfTravel), seatCategory, noOfSeats, maxStops);
+            return ResponseEntity.ok(new ApiResponse(true, "Connections found successfully", itineraries));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while searching connections", null));
+        }
+    }
+    
+    /**
+     * Get the daily load factor and revenue of a flight for a range of travel dates
+     * GET /api/flights/{flightId}/load-factor?fromDate={fromDate}&toDate={toDate}
+     */
+    @GetMapping("/{flightId}/load-factor")
+    public ResponseEntity<?> getFlightLoadFactors(@PathVariable Long flightId,
+                                                  @RequestParam String fromDate,
+                                                  @RequestParam String toDate) {
+        try {
+            List<DailyLoadFactor> loadFactors = loadFactorService.getFlightLoadFactors(flightId,
+                    LocalDate.parse(fromDate), LocalDate.parse(toDate));
+            return ResponseEntity.ok(new ApiResponse(true, "Load factors retrieved successfully", loadFactors));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while retrieving load factors", null));
+        }
+    }
+    
+    /**
+     * Get the weekly load factor and revenue of all flights on a route for a range of travel dates
+     * GET /api/flights/route-load-factor?origin={origin}&destination={destination}&fromDate={fromDate}&toDate={toDate}
+     */
+    @GetMapping("/route-load-factor")
+    public ResponseEntity<?> getRouteLoadFactors(@RequestParam String origin, @RequestParam String destination,
+                                                 @RequestParam String fromDate,
+                                                 @RequestParam String toDate) {
+        try {
+            List<WeeklyRouteLoadFactor> loadFactors = loadFactorService.getRouteLoadFactors(origin, destination,
+                    LocalDate.parse(fromDate), LocalDate.parse(toDate));
+            return ResponseEntity.ok(new ApiResponse(true, "Load factors retrieved successfully", loadFactors));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse(false, "An error occurred while retrieving load factors", null));
+        }
+    }
+    
     /**
      * Get flights by carrier
      * GET /api/flights/carrier/{carrierId}
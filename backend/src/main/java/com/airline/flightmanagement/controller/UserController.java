@@ -1,8 +1,10 @@
 package com.airline.flightmanagement.controller;
 
 import com.airline.flightmanagement.dto.UserDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.dto.LoginDTO;
 import com.airline.flightmanagement.dto.LoginResponseDTO;
+import com.airline.flightmanagement.service.KeysetPagination;
 import com.airline.flightmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -10,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -110,14 +111,22 @@ public class UserController {
     }
     
     /**
-     * Get all users
-     * GET /api/users
+     * Get a page of users; the next page's token is returned in the X-Next-Page-Token header
+     * GET /api/users?pageToken={pageToken}&pageSize={pageSize}
      */
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String pageToken,
+                                       @RequestParam(required = false) Integer pageSize) {
         try {
-            List<UserDTO> users = userService.getAllUsers();
-            return ResponseEntity.ok(new ApiResponse(true, "Users retrieved successfully", users));
+            KeysetPage<UserDTO> page = userService.getAllUsers(pageToken, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.hasNextPage()) {
+                response.header(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+            }
+            return response.body(new ApiResponse(true, "Users retrieved successfully", page.getItems()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, "An error occurred while retrieving users", null));
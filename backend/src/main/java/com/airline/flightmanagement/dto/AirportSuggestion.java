@@ -0,0 +1,41 @@
+package com.airline.flightmanagement.dto;
+
+public class AirportSuggestion {
+
+    private String name;
+    private Integer flightCount;
+
+    // Default constructor
+    public AirportSuggestion() {}
+
+    // Constructor with all fields
+    public AirportSuggestion(String name, Integer flightCount) {
+        this.name = name;
+        this.flightCount = flightCount;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getFlightCount() {
+        return flightCount;
+    }
+
+    public void setFlightCount(Integer flightCount) {
+        this.flightCount = flightCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AirportSuggestion{" +
+                "name='" + name + '\'' +
+                ", flightCount=" + flightCount +
+                '}';
+    }
+}
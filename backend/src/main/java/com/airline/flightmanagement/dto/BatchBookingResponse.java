@@ -0,0 +1,65 @@
+package com.airline.flightmanagement.dto;
+
+import java.util.List;
+
+public class BatchBookingResponse {
+
+    private Integer requested;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BatchBookingResult> results;
+
+    // Default constructor
+    public BatchBookingResponse() {}
+
+    // Constructor with results; counts are derived from them
+    public BatchBookingResponse(List<BatchBookingResult> results) {
+        this.results = results;
+        this.requested = results.size();
+        this.succeeded = (int) results.stream().filter(BatchBookingResult::isSuccess).count();
+        this.failed = this.requested - this.succeeded;
+    }
+
+    // Getters and Setters
+    public Integer getRequested() {
+        return requested;
+    }
+
+    public void setRequested(Integer requested) {
+        this.requested = requested;
+    }
+
+    public Integer getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(Integer succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchBookingResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchBookingResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchBookingResponse{" +
+                "requested=" + requested +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                ", results=" + results +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.airline.flightmanagement.dto;
+
+public class BatchBookingResult {
+
+    private Integer index;
+    private boolean success;
+    private String message;
+    private BookFlightResponse booking;
+
+    // Default constructor
+    public BatchBookingResult() {}
+
+    // Constructor with all fields
+    public BatchBookingResult(Integer index, boolean success, String message, BookFlightResponse booking) {
+        this.index = index;
+        this.success = success;
+        this.message = message;
+        this.booking = booking;
+    }
+
+    public static BatchBookingResult booked(Integer index, BookFlightResponse booking) {
+        return new BatchBookingResult(index, true, "Flight booked successfully", booking);
+    }
+
+    public static BatchBookingResult failed(Integer index, String message) {
+        return new BatchBookingResult(index, false, message, null);
+    }
+
+    // Getters and Setters
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public BookFlightResponse getBooking() {
+        return booking;
+    }
+
+    public void setBooking(BookFlightResponse booking) {
+        this.booking = booking;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchBookingResult{" +
+                "index=" + index +
+                ", success=" + success +
+                ", message='" + message + '\'' +
+                ", booking=" + booking +
+                '}';
+    }
+}
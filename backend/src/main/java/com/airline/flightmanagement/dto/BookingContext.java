@@ -0,0 +1,64 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.FlightSchedule;
+
+import java.time.LocalDate;
+
+/**
+ * Everything a booking needs to know about the flight, carrier, customer and departure,
+ * loaded by a single joined query and passed through pricing, seat admission and the response.
+ * The schedule is null when no seats have been booked on the departure yet.
+ */
+public class BookingContext {
+
+    private final Flight flight;
+    private final Carrier carrier;
+    private final CustomerCategory customerCategory;
+    private final LocalDate dateOfTravel;
+    private final FlightSchedule schedule;
+
+    // Constructor used by the JPQL constructor expression
+    public BookingContext(Flight flight, Carrier carrier, CustomerCategory customerCategory,
+                          LocalDate dateOfTravel, FlightSchedule schedule) {
+        this.flight = flight;
+        this.carrier = carrier;
+        this.customerCategory = customerCategory;
+        this.dateOfTravel = dateOfTravel;
+        this.schedule = schedule;
+    }
+
+    // Getters
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public Carrier getCarrier() {
+        return carrier;
+    }
+
+    public CustomerCategory getCustomerCategory() {
+        return customerCategory;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public FlightSchedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingContext{" +
+                "flightId=" + flight.getFlightId() +
+                ", carrierId=" + carrier.getCarrierId() +
+                ", customerCategory=" + customerCategory +
+                ", dateOfTravel=" + dateOfTravel +
+                ", scheduleId=" + (schedule != null ? schedule.getScheduleId() : null) +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.airline.flightmanagement.dto;
+
+import java.math.BigDecimal;
+
+public class BookingStatsCounts {
+
+    private Long bookings;
+    private Long cancellations;
+    private Long seatsBooked;
+    private BigDecimal revenue;
+    private BigDecimal discounts;
+
+    // Default constructor
+    public BookingStatsCounts() {}
+
+    // Constructor with all fields
+    public BookingStatsCounts(Long bookings, Long cancellations, Long seatsBooked, BigDecimal revenue,
+                              BigDecimal discounts) {
+        this.bookings = bookings;
+        this.cancellations = cancellations;
+        this.seatsBooked = seatsBooked;
+        this.revenue = revenue;
+        this.discounts = discounts;
+    }
+
+    // Getters and Setters
+    public Long getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(Long bookings) {
+        this.bookings = bookings;
+    }
+
+    public Long getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(Long cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public Long getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(Long seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public BigDecimal getDiscounts() {
+        return discounts;
+    }
+
+    public void setDiscounts(BigDecimal discounts) {
+        this.discounts = discounts;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingStatsCounts{" +
+                "bookings=" + bookings +
+                ", cancellations=" + cancellations +
+                ", seatsBooked=" + seatsBooked +
+                ", revenue=" + revenue +
+                ", discounts=" + discounts +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.SeatCategory;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class BookingStatsResponse {
+
+    private BookingStatsCounts total;
+    private Map<String, BookingStatsCounts> byCarrier;
+    private Map<String, BookingStatsCounts> byRoute;
+    private Map<SeatCategory, BookingStatsCounts> bySeatCategory;
+    private Map<LocalDate, BookingStatsCounts> byTravelDate;
+
+    // Default constructor
+    public BookingStatsResponse() {}
+
+    // Constructor with all fields
+    public BookingStatsResponse(BookingStatsCounts total, Map<String, BookingStatsCounts> byCarrier,
+                                Map<String, BookingStatsCounts> byRoute,
+                                Map<SeatCategory, BookingStatsCounts> bySeatCategory,
+                                Map<LocalDate, BookingStatsCounts> byTravelDate) {
+        this.total = total;
+        this.byCarrier = byCarrier;
+        this.byRoute = byRoute;
+        this.bySeatCategory = bySeatCategory;
+        this.byTravelDate = byTravelDate;
+    }
+
+    // Getters and Setters
+    public BookingStatsCounts getTotal() {
+        return total;
+    }
+
+    public void setTotal(BookingStatsCounts total) {
+        this.total = total;
+    }
+
+    public Map<String, BookingStatsCounts> getByCarrier() {
+        return byCarrier;
+    }
+
+    public void setByCarrier(Map<String, BookingStatsCounts> byCarrier) {
+        this.byCarrier = byCarrier;
+    }
+
+    public Map<String, BookingStatsCounts> getByRoute() {
+        return byRoute;
+    }
+
+    public void setByRoute(Map<String, BookingStatsCounts> byRoute) {
+        this.byRoute = byRoute;
+    }
+
+    public Map<SeatCategory, BookingStatsCounts> getBySeatCategory() {
+        return bySeatCategory;
+    }
+
+    public void setBySeatCategory(Map<SeatCategory, BookingStatsCounts> bySeatCategory) {
+        this.bySeatCategory = bySeatCategory;
+    }
+
+    public Map<LocalDate, BookingStatsCounts> getByTravelDate() {
+        return byTravelDate;
+    }
+
+    public void setByTravelDate(Map<LocalDate, BookingStatsCounts> byTravelDate) {
+        this.byTravelDate = byTravelDate;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingStatsResponse{" +
+                "total=" + total +
+                ", byCarrier=" + byCarrier +
+                ", byRoute=" + byRoute +
+                ", bySeatCategory=" + bySeatCategory +
+                ", byTravelDate=" + byTravelDate +
+                '}';
+    }
+}
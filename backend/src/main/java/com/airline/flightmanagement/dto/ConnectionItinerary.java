@@ -0,0 +1,102 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.SeatCategory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class ConnectionItinerary {
+
+    private String origin;
+    private String destination;
+    private LocalDate dateOfTravel;
+    private SeatCategory seatCategory;
+    private Integer stops;
+    private BigDecimal totalAirFare;
+    private List<ConnectionLeg> legs;
+
+    // Default constructor
+    public ConnectionItinerary() {}
+
+    // Constructor with all fields
+    public ConnectionItinerary(String origin, String destination, LocalDate dateOfTravel, SeatCategory seatCategory,
+                               Integer stops, BigDecimal totalAirFare, List<ConnectionLeg> legs) {
+        this.origin = origin;
+        this.destination = destination;
+        this.dateOfTravel = dateOfTravel;
+        this.seatCategory = seatCategory;
+        this.stops = stops;
+        this.totalAirFare = totalAirFare;
+        this.legs = legs;
+    }
+
+    // Getters and Setters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public SeatCategory getSeatCategory() {
+        return seatCategory;
+    }
+
+    public void setSeatCategory(SeatCategory seatCategory) {
+        this.seatCategory = seatCategory;
+    }
+
+    public Integer getStops() {
+        return stops;
+    }
+
+    public void setStops(Integer stops) {
+        this.stops = stops;
+    }
+
+    public BigDecimal getTotalAirFare() {
+        return totalAirFare;
+    }
+
+    public void setTotalAirFare(BigDecimal totalAirFare) {
+        this.totalAirFare = totalAirFare;
+    }
+
+    public List<ConnectionLeg> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<ConnectionLeg> legs) {
+        this.legs = legs;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionItinerary{" +
+                "origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", dateOfTravel=" + dateOfTravel +
+                ", seatCategory=" + seatCategory +
+                ", stops=" + stops +
+                ", totalAirFare=" + totalAirFare +
+                ", legs=" + legs +
+                '}';
+    }
+}
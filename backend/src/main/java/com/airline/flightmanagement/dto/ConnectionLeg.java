@@ -0,0 +1,99 @@
+package com.airline.flightmanagement.dto;
+
+import java.math.BigDecimal;
+
+public class ConnectionLeg {
+
+    private Long flightId;
+    private Long carrierId;
+    private String carrierName;
+    private String origin;
+    private String destination;
+    private BigDecimal airFare;
+    private Integer availableSeats;
+
+    // Default constructor
+    public ConnectionLeg() {}
+
+    // Constructor with all fields
+    public ConnectionLeg(Long flightId, Long carrierId, String carrierName, String origin, String destination,
+                         BigDecimal airFare, Integer availableSeats) {
+        this.flightId = flightId;
+        this.carrierId = carrierId;
+        this.carrierName = carrierName;
+        this.origin = origin;
+        this.destination = destination;
+        this.airFare = airFare;
+        this.availableSeats = availableSeats;
+    }
+
+    // Getters and Setters
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public Long getCarrierId() {
+        return carrierId;
+    }
+
+    public void setCarrierId(Long carrierId) {
+        this.carrierId = carrierId;
+    }
+
+    public String getCarrierName() {
+        return carrierName;
+    }
+
+    public void setCarrierName(String carrierName) {
+        this.carrierName = carrierName;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public BigDecimal getAirFare() {
+        return airFare;
+    }
+
+    public void setAirFare(BigDecimal airFare) {
+        this.airFare = airFare;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(Integer availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionLeg{" +
+                "flightId=" + flightId +
+                ", carrierId=" + carrierId +
+                ", carrierName='" + carrierName + '\'' +
+                ", origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", airFare=" + airFare +
+                ", availableSeats=" + availableSeats +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.airline.flightmanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyLoadFactor {
+
+    private Long flightId;
+    private LocalDate dateOfTravel;
+    private Integer bookings;
+    private Integer seatsBooked;
+    private Integer seatCapacity;
+    private BigDecimal loadFactorPercentage;
+    private BigDecimal revenue;
+
+    // Default constructor
+    public DailyLoadFactor() {}
+
+    // Constructor with all fields
+    public DailyLoadFactor(Long flightId, LocalDate dateOfTravel, Integer bookings, Integer seatsBooked,
+                           Integer seatCapacity, BigDecimal loadFactorPercentage, BigDecimal revenue) {
+        this.flightId = flightId;
+        this.dateOfTravel = dateOfTravel;
+        this.bookings = bookings;
+        this.seatsBooked = seatsBooked;
+        this.seatCapacity = seatCapacity;
+        this.loadFactorPercentage = loadFactorPercentage;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public Integer getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(Integer bookings) {
+        this.bookings = bookings;
+    }
+
+    public Integer getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(Integer seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public BigDecimal getLoadFactorPercentage() {
+        return loadFactorPercentage;
+    }
+
+    public void setLoadFactorPercentage(BigDecimal loadFactorPercentage) {
+        this.loadFactorPercentage = loadFactorPercentage;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyLoadFactor{" +
+                "flightId=" + flightId +
+                ", dateOfTravel=" + dateOfTravel +
+                ", bookings=" + bookings +
+                ", seatsBooked=" + seatsBooked +
+                ", seatCapacity=" + seatCapacity +
+                ", loadFactorPercentage=" + loadFactorPercentage +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
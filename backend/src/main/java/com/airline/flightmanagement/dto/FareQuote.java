@@ -0,0 +1,113 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.SeatCategory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class FareQuote {
+
+    private Long flightId;
+    private LocalDate dateOfTravel;
+    private SeatCategory seatCategory;
+    private Integer noOfSeats;
+    private BigDecimal originalAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal bookingAmount;
+    private String discountReason;
+
+    // Default constructor
+    public FareQuote() {}
+
+    // Constructor with all fields
+    public FareQuote(Long flightId, LocalDate dateOfTravel, SeatCategory seatCategory, Integer noOfSeats,
+                     BigDecimal originalAmount, BigDecimal discountAmount, BigDecimal bookingAmount,
+                     String discountReason) {
+        this.flightId = flightId;
+        this.dateOfTravel = dateOfTravel;
+        this.seatCategory = seatCategory;
+        this.noOfSeats = noOfSeats;
+        this.originalAmount = originalAmount;
+        this.discountAmount = discountAmount;
+        this.bookingAmount = bookingAmount;
+        this.discountReason = discountReason;
+    }
+
+    // Getters and Setters
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public SeatCategory getSeatCategory() {
+        return seatCategory;
+    }
+
+    public void setSeatCategory(SeatCategory seatCategory) {
+        this.seatCategory = seatCategory;
+    }
+
+    public Integer getNoOfSeats() {
+        return noOfSeats;
+    }
+
+    public void setNoOfSeats(Integer noOfSeats) {
+        this.noOfSeats = noOfSeats;
+    }
+
+    public BigDecimal getOriginalAmount() {
+        return originalAmount;
+    }
+
+    public void setOriginalAmount(BigDecimal originalAmount) {
+        this.originalAmount = originalAmount;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public BigDecimal getBookingAmount() {
+        return bookingAmount;
+    }
+
+    public void setBookingAmount(BigDecimal bookingAmount) {
+        this.bookingAmount = bookingAmount;
+    }
+
+    public String getDiscountReason() {
+        return discountReason;
+    }
+
+    public void setDiscountReason(String discountReason) {
+        this.discountReason = discountReason;
+    }
+
+    @Override
+    public String toString() {
+        return "FareQuote{" +
+                "flightId=" + flightId +
+                ", dateOfTravel=" + dateOfTravel +
+                ", seatCategory=" + seatCategory +
+                ", noOfSeats=" + noOfSeats +
+                ", originalAmount=" + originalAmount +
+                ", discountAmount=" + discountAmount +
+                ", bookingAmount=" + bookingAmount +
+                ", discountReason='" + discountReason + '\'' +
+                '}';
+    }
+}
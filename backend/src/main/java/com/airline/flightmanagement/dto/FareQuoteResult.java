@@ -0,0 +1,71 @@
+package com.airline.flightmanagement.dto;
+
+public class FareQuoteResult {
+
+    private Integer index;
+    private boolean success;
+    private String message;
+    private FareQuote quote;
+
+    // Default constructor
+    public FareQuoteResult() {}
+
+    // Constructor with all fields
+    public FareQuoteResult(Integer index, boolean success, String message, FareQuote quote) {
+        this.index = index;
+        this.success = success;
+        this.message = message;
+        this.quote = quote;
+    }
+
+    public static FareQuoteResult quoted(Integer index, FareQuote quote) {
+        return new FareQuoteResult(index, true, "Fare quoted successfully", quote);
+    }
+
+    public static FareQuoteResult failed(Integer index, String message) {
+        return new FareQuoteResult(index, false, message, null);
+    }
+
+    // Getters and Setters
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public FareQuote getQuote() {
+        return quote;
+    }
+
+    public void setQuote(FareQuote quote) {
+        this.quote = quote;
+    }
+
+    @Override
+    public String toString() {
+        return "FareQuoteResult{" +
+                "index=" + index +
+                ", success=" + success +
+                ", message='" + message + '\'' +
+                ", quote=" + quote +
+                '}';
+    }
+}
@@ -0,0 +1,136 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.SeatCategory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filters of a combined flight query; a null filter matches every flight. Seat availability is
+ * only checked when a date of travel is given.
+ */
+public class FlightSearchCriteria {
+
+    private String origin;
+
+    private String destination;
+
+    private Long carrierId;
+
+    private BigDecimal minFare;
+
+    private BigDecimal maxFare;
+
+    private boolean activeCarriersOnly;
+
+    private LocalDate dateOfTravel;
+
+    private SeatCategory seatCategory = SeatCategory.ECONOMY;
+
+    private int noOfSeats = 1;
+
+    // Default constructor
+    public FlightSearchCriteria() {}
+
+    // Constructor with all fields
+    public FlightSearchCriteria(String origin, String destination, Long carrierId, BigDecimal minFare,
+                                BigDecimal maxFare, boolean activeCarriersOnly, LocalDate dateOfTravel,
+                                SeatCategory seatCategory, int noOfSeats) {
+        this.origin = origin;
+        this.destination = destination;
+        this.carrierId = carrierId;
+        this.minFare = minFare;
+        this.maxFare = maxFare;
+        this.activeCarriersOnly = activeCarriersOnly;
+        this.dateOfTravel = dateOfTravel;
+        this.seatCategory = seatCategory;
+        this.noOfSeats = noOfSeats;
+    }
+
+    // Getters and Setters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public Long getCarrierId() {
+        return carrierId;
+    }
+
+    public void setCarrierId(Long carrierId) {
+        this.carrierId = carrierId;
+    }
+
+    public BigDecimal getMinFare() {
+        return minFare;
+    }
+
+    public void setMinFare(BigDecimal minFare) {
+        this.minFare = minFare;
+    }
+
+    public BigDecimal getMaxFare() {
+        return maxFare;
+    }
+
+    public void setMaxFare(BigDecimal maxFare) {
+        this.maxFare = maxFare;
+    }
+
+    public boolean isActiveCarriersOnly() {
+        return activeCarriersOnly;
+    }
+
+    public void setActiveCarriersOnly(boolean activeCarriersOnly) {
+        this.activeCarriersOnly = activeCarriersOnly;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public SeatCategory getSeatCategory() {
+        return seatCategory;
+    }
+
+    public void setSeatCategory(SeatCategory seatCategory) {
+        this.seatCategory = seatCategory;
+    }
+
+    public int getNoOfSeats() {
+        return noOfSeats;
+    }
+
+    public void setNoOfSeats(int noOfSeats) {
+        this.noOfSeats = noOfSeats;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightSearchCriteria{" +
+                "origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", carrierId=" + carrierId +
+                ", minFare=" + minFare +
+                ", maxFare=" + maxFare +
+                ", activeCarriersOnly=" + activeCarriersOnly +
+                ", dateOfTravel=" + dateOfTravel +
+                ", seatCategory=" + seatCategory +
+                ", noOfSeats=" + noOfSeats +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.airline.flightmanagement.dto;
+
+import java.util.List;
+
+public class KeysetPage<T> {
+
+    private List<T> items;
+    private String nextPageToken;
+
+    // Default constructor
+    public KeysetPage() {}
+
+    // Constructor with all fields
+    public KeysetPage(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetPage{" +
+                "items=" + items +
+                ", nextPageToken='" + nextPageToken + '\'' +
+                '}';
+    }
+}
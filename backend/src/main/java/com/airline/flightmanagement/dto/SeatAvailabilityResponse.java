@@ -0,0 +1,77 @@
+package com.airline.flightmanagement.dto;
+
+import java.time.LocalDate;
+
+public class SeatAvailabilityResponse {
+
+    private Long flightId;
+    private LocalDate dateOfTravel;
+    private Integer availableEconomy;
+    private Integer availableBusiness;
+    private Integer availableExecutive;
+
+    // Default constructor
+    public SeatAvailabilityResponse() {}
+
+    // Constructor with all fields
+    public SeatAvailabilityResponse(Long flightId, LocalDate dateOfTravel, Integer availableEconomy,
+                                    Integer availableBusiness, Integer availableExecutive) {
+        this.flightId = flightId;
+        this.dateOfTravel = dateOfTravel;
+        this.availableEconomy = availableEconomy;
+        this.availableBusiness = availableBusiness;
+        this.availableExecutive = availableExecutive;
+    }
+
+    // Getters and Setters
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public Integer getAvailableEconomy() {
+        return availableEconomy;
+    }
+
+    public void setAvailableEconomy(Integer availableEconomy) {
+        this.availableEconomy = availableEconomy;
+    }
+
+    public Integer getAvailableBusiness() {
+        return availableBusiness;
+    }
+
+    public void setAvailableBusiness(Integer availableBusiness) {
+        this.availableBusiness = availableBusiness;
+    }
+
+    public Integer getAvailableExecutive() {
+        return availableExecutive;
+    }
+
+    public void setAvailableExecutive(Integer availableExecutive) {
+        this.availableExecutive = availableExecutive;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatAvailabilityResponse{" +
+                "flightId=" + flightId +
+                ", dateOfTravel=" + dateOfTravel +
+                ", availableEconomy=" + availableEconomy +
+                ", availableBusiness=" + availableBusiness +
+                ", availableExecutive=" + availableExecutive +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.airline.flightmanagement.dto;
+
+import com.airline.flightmanagement.entity.SeatCategory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class SeatHoldResponse {
+
+    private String holdId;
+    private Long flightId;
+    private Long userId;
+    private Integer noOfSeats;
+    private SeatCategory seatCategory;
+    private LocalDate dateOfTravel;
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public SeatHoldResponse() {}
+
+    // Constructor with all fields
+    public SeatHoldResponse(String holdId, Long flightId, Long userId, Integer noOfSeats,
+                            SeatCategory seatCategory, LocalDate dateOfTravel, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.flightId = flightId;
+        this.userId = userId;
+        this.noOfSeats = noOfSeats;
+        this.seatCategory = seatCategory;
+        this.dateOfTravel = dateOfTravel;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getNoOfSeats() {
+        return noOfSeats;
+    }
+
+    public void setNoOfSeats(Integer noOfSeats) {
+        this.noOfSeats = noOfSeats;
+    }
+
+    public SeatCategory getSeatCategory() {
+        return seatCategory;
+    }
+
+    public void setSeatCategory(SeatCategory seatCategory) {
+        this.seatCategory = seatCategory;
+    }
+
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "SeatHoldResponse{" +
+                "holdId='" + holdId + '\'' +
+                ", flightId=" + flightId +
+                ", userId=" + userId +
+                ", noOfSeats=" + noOfSeats +
+                ", seatCategory=" + seatCategory +
+                ", dateOfTravel=" + dateOfTravel +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.airline.flightmanagement.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class WeeklyRouteLoadFactor {
+
+    private String origin;
+    private String destination;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+    private Integer bookings;
+    private Integer seatsBooked;
+    private Integer seatCapacity;
+    private BigDecimal loadFactorPercentage;
+    private BigDecimal revenue;
+
+    // Default constructor
+    public WeeklyRouteLoadFactor() {}
+
+    // Constructor with all fields
+    public WeeklyRouteLoadFactor(String origin, String destination, LocalDate weekStart, LocalDate weekEnd,
+                                 Integer bookings, Integer seatsBooked, Integer seatCapacity,
+                                 BigDecimal loadFactorPercentage, BigDecimal revenue) {
+        this.origin = origin;
+        this.destination = destination;
+        this.weekStart = weekStart;
+        this.weekEnd = weekEnd;
+        this.bookings = bookings;
+        this.seatsBooked = seatsBooked;
+        this.seatCapacity = seatCapacity;
+        this.loadFactorPercentage = loadFactorPercentage;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public LocalDate getWeekEnd() {
+        return weekEnd;
+    }
+
+    public void setWeekEnd(LocalDate weekEnd) {
+        this.weekEnd = weekEnd;
+    }
+
+    public Integer getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(Integer bookings) {
+        this.bookings = bookings;
+    }
+
+    public Integer getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(Integer seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public Integer getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(Integer seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public BigDecimal getLoadFactorPercentage() {
+        return loadFactorPercentage;
+    }
+
+    public void setLoadFactorPercentage(BigDecimal loadFactorPercentage) {
+        this.loadFactorPercentage = loadFactorPercentage;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "WeeklyRouteLoadFactor{" +
+                "origin='" + origin + '\'' +
+                ", destination='" + destination + '\'' +
+                ", weekStart=" + weekStart +
+                ", weekEnd=" + weekEnd +
+                ", bookings=" + bookings +
+                ", seatsBooked=" + seatsBooked +
+                ", seatCapacity=" + seatCapacity +
+                ", loadFactorPercentage=" + loadFactorPercentage +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
@@ -7,11 +7,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = {
+               @Index(name = "idx_bookings_user", columnList = "user_id, booking_id"),
+               @Index(name = "idx_bookings_departure", columnList = "flight_id, date_of_travel")
+       })
 public class Booking {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private Long bookingId;
     
     @NotNull(message = "Flight ID is required")
@@ -27,7 +32,7 @@ public class Booking {
     @Column(name = "no_of_seats", nullable = false)
     private Integer noOfSeats;
     
-    @NotBlank(message = "Seat category is required")
+    @NotNull(message = "Seat category is required")
     @Enumerated(EnumType.STRING)
     @Column(name = "seat_category", nullable = false)
     private SeatCategory seatCategory;
@@ -42,7 +47,7 @@ public class Booking {
     @Column(name = "booking_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal bookingAmount;
     
-    @NotBlank(message = "Booking status is required")
+    @NotNull(message = "Booking status is required")
     @Enumerated(EnumType.STRING)
     @Column(name = "booking_status", nullable = false)
     private BookingStatus bookingStatus;
@@ -4,5 +4,12 @@ public enum BookingStatus {
     BOOKED,
     CANCELLED,
     COMPLETED,
-    PENDING
+    PENDING;
+
+    /**
+     * Whether a booking in this status holds its seats; only a cancelled booking gives them back
+     */
+    public boolean isActive() {
+        return this != CANCELLED;
+    }
 }
@@ -0,0 +1,116 @@
+package com.airline.flightmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_flight_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_daily_flight_rollup_departure",
+                                             columnNames = {"flight_id", "date_of_travel"}),
+       indexes = @Index(name = "idx_daily_flight_rollups_date", columnList = "date_of_travel"))
+public class DailyFlightRollup {
+    
+    // The column default lets the native MERGEs in DailyFlightRollupRepository draw ids from the same sequence
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_flight_rollup_seq")
+    @SequenceGenerator(name = "daily_flight_rollup_seq", sequenceName = "daily_flight_rollup_seq", allocationSize = 50)
+    @Column(name = "rollup_id", columnDefinition = "bigint default next value for daily_flight_rollup_seq")
+    private Long rollupId;
+    
+    @NotNull(message = "Flight ID is required")
+    @Column(name = "flight_id", nullable = false)
+    private Long flightId;
+    
+    @NotNull(message = "Date of travel is required")
+    @Column(name = "date_of_travel", nullable = false)
+    private LocalDate dateOfTravel;
+    
+    @ColumnDefault("0")
+    @Column(name = "bookings", nullable = false)
+    private Integer bookings = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "seats_booked", nullable = false)
+    private Integer seatsBooked = 0;
+    
+    @ColumnDefault("0")
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+    
+    // Default constructor
+    public DailyFlightRollup() {}
+    
+    // Constructor with all fields except the ID
+    public DailyFlightRollup(Long flightId, LocalDate dateOfTravel, Integer bookings, Integer seatsBooked,
+                             BigDecimal revenue) {
+        this.flightId = flightId;
+        this.dateOfTravel = dateOfTravel;
+        this.bookings = bookings;
+        this.seatsBooked = seatsBooked;
+        this.revenue = revenue;
+    }
+    
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+    
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+    
+    public Long getFlightId() {
+        return flightId;
+    }
+    
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+    
+    public LocalDate getDateOfTravel() {
+        return dateOfTravel;
+    }
+    
+    public void setDateOfTravel(LocalDate dateOfTravel) {
+        this.dateOfTravel = dateOfTravel;
+    }
+    
+    public Integer getBookings() {
+        return bookings;
+    }
+    
+    public void setBookings(Integer bookings) {
+        this.bookings = bookings;
+    }
+    
+    public Integer getSeatsBooked() {
+        return seatsBooked;
+    }
+    
+    public void setSeatsBooked(Integer seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+    
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+    
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+    
+    @Override
+    public String toString() {
+        return "DailyFlightRollup{" +
+                "rollupId=" + rollupId +
+                ", flightId=" + flightId +
+                ", dateOfTravel=" + dateOfTravel +
+                ", bookings=" + bookings +
+                ", seatsBooked=" + seatsBooked +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
@@ -4,10 +4,22 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "flights")
+// Fares trail the lookup columns so fare ranges of the combined flight query are filtered inside the index;
+// idx_flights_carrier stays on carrier_id alone as it also serves the carrier foreign key
+@Table(name = "flights",
+       indexes = {
+               @Index(name = "idx_flights_route", columnList = "origin, destination, air_fare"),
+               @Index(name = "idx_flights_destination", columnList = "destination, air_fare"),
+               @Index(name = "idx_flights_carrier", columnList = "carrier_id"),
+               @Index(name = "idx_flights_carrier_fare", columnList = "carrier_id, air_fare")
+       })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "flights")
 public class Flight {
     
     @Id
@@ -2,14 +2,21 @@ package com.airline.flightmanagement.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "flight_schedules")
+@Table(name = "flight_schedules",
+       uniqueConstraints = @UniqueConstraint(name = "uk_flight_schedule_departure",
+                                             columnNames = {"flight_id", "date_of_travel"}),
+       indexes = @Index(name = "idx_flight_schedules_date", columnList = "date_of_travel"))
 public class FlightSchedule {
     
+    // The column default lets the native MERGE in FlightScheduleRepository draw ids from the same sequence
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_schedule_seq")
+    @SequenceGenerator(name = "flight_schedule_seq", sequenceName = "flight_schedule_seq", allocationSize = 50)
+    @Column(name = "schedule_id", columnDefinition = "bigint default next value for flight_schedule_seq")
     private Long scheduleId;
     
     @NotNull(message = "Flight ID is required")
@@ -21,12 +28,15 @@ public class FlightSchedule {
     @Column(name = "date_of_travel", nullable = false)
     private LocalDate dateOfTravel;
     
+    @ColumnDefault("0")
     @Column(name = "booked_count_economy", nullable = false)
     private Integer bookedCountEconomy = 0;
     
+    @ColumnDefault("0")
     @Column(name = "booked_count_business", nullable = false)
     private Integer bookedCountBusiness = 0;
     
+    @ColumnDefault("0")
     @Column(name = "booked_count_executive", nullable = false)
     private Integer bookedCountExecutive = 0;
     
@@ -140,6 +150,19 @@ public class FlightSchedule {
         }
     }
     
+    public int getAvailableSeats(SeatCategory seatCategory) {
+        switch (seatCategory) {
+            case ECONOMY:
+                return totalCapacityEconomy - bookedCountEconomy;
+            case BUSINESS:
+                return totalCapacityBusiness - bookedCountBusiness;
+            case EXECUTIVE:
+                return totalCapacityExecutive - bookedCountExecutive;
+            default:
+                return 0;
+        }
+    }
+    
     public void incrementBookedCount(SeatCategory seatCategory, Integer seats) {
         switch (seatCategory) {
             case ECONOMY:
@@ -0,0 +1,118 @@
+package com.airline.flightmanagement.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Size(max = 255, message = "Idempotency key must be at most 255 characters")
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @NotBlank(message = "Operation is required")
+    @Column(name = "operation", nullable = false, length = 50)
+    private String operation;
+
+    @NotBlank(message = "Request hash is required")
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the operation that claimed the key is still running
+    @Lob
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Keys are assigned by the client, so save() must insert rather than merge to claim a key
+    @Transient
+    private boolean isNew = true;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Default constructor
+    public IdempotencyRecord() {}
+
+    // Constructor with required fields
+    public IdempotencyRecord(String idempotencyKey, String operation, String requestHash) {
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.requestHash = requestHash;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters and Setters
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "idempotencyKey='" + idempotencyKey + '\'' +
+                ", operation='" + operation + '\'' +
+                ", requestHash='" + requestHash + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
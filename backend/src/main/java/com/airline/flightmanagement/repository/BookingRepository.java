@@ -1,18 +1,32 @@
 package com.airline.flightmanagement.repository;
 
+import com.airline.flightmanagement.dto.BookFlightResponse;
 import com.airline.flightmanagement.entity.Booking;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.SeatCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    /**
+     * Condition on a booking aliased b that still holds its seats, see {@link BookingStatus#isActive()}.
+     * Seat counts, daily rollups and booking statistics all count active bookings by it.
+     */
+    String ACTIVE = "b.bookingStatus != 'CANCELLED'";
+    
     /**
      * Find bookings by flight ID and date of travel
      */
@@ -23,6 +37,39 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     List<Booking> findByUserId(Long userId);
     
+    /**
+     * Find a page of a user's bookings as responses, joined with their flight and carrier in one query.
+     * Status and travel date bounds are optional; null disables the filter.
+     */
+    @Query("SELECT new com.airline.flightmanagement.dto.BookFlightResponse(" +
+           "b.bookingId, b.flightId, b.userId, b.noOfSeats, b.seatCategory, b.dateOfTravel, b.bookingAmount, " +
+           "b.discountAmount, b.discountReason, b.bookingStatus, b.bookingDate, " +
+           "f.origin, f.destination, c.carrierName, f.airFare) " +
+           "FROM Booking b JOIN Flight f ON f.flightId = b.flightId JOIN f.carrier c " +
+           "WHERE b.userId = :userId AND b.bookingId > :afterBookingId " +
+           "AND (:status IS NULL OR b.bookingStatus = :status) " +
+           "AND (:fromDate IS NULL OR b.dateOfTravel >= :fromDate) " +
+           "AND (:toDate IS NULL OR b.dateOfTravel <= :toDate) " +
+           "ORDER BY b.bookingId")
+    List<BookFlightResponse> findUserBookingResponses(@Param("userId") Long userId,
+                                                      @Param("status") BookingStatus status,
+                                                      @Param("fromDate") LocalDate fromDate,
+                                                      @Param("toDate") LocalDate toDate,
+                                                      @Param("afterBookingId") Long afterBookingId,
+                                                      Pageable pageable);
+    
+    /**
+     * Stream all bookings as responses, joined with their flight and carrier, for export
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.airline.flightmanagement.dto.BookFlightResponse(" +
+           "b.bookingId, b.flightId, b.userId, b.noOfSeats, b.seatCategory, b.dateOfTravel, b.bookingAmount, " +
+           "b.discountAmount, b.discountReason, b.bookingStatus, b.bookingDate, " +
+           "f.origin, f.destination, c.carrierName, f.airFare) " +
+           "FROM Booking b JOIN Flight f ON f.flightId = b.flightId JOIN f.carrier c " +
+           "ORDER BY b.bookingId")
+    Stream<BookFlightResponse> streamAllForExport();
+    
     /**
      * Find bookings by flight ID
      */
@@ -39,11 +86,49 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.flightId = :flightId AND b.dateOfTravel = :dateOfTravel AND b.seatCategory = :seatCategory")
     Long countByFlightIdAndDateOfTravelAndSeatCategory(@Param("flightId") Long flightId, 
                                                        @Param("dateOfTravel") LocalDate dateOfTravel, 
-                                                       @Param("seatCategory") String seatCategory);
+                                                       @Param("seatCategory") SeatCategory seatCategory);
     
     /**
      * Find all active bookings (not cancelled)
      */
-    @Query("SELECT b FROM Booking b WHERE b.bookingStatus != 'CANCELLED'")
+    @Query("SELECT b FROM Booking b WHERE " + ACTIVE)
     List<Booking> findActiveBookings();
+    
+    /**
+     * Sum booked seats of active bookings per flight, date of travel and seat category.
+     * Each row is [flightId, dateOfTravel, seatCategory, seats].
+     */
+    @Query("SELECT b.flightId, b.dateOfTravel, b.seatCategory, SUM(b.noOfSeats) FROM Booking b " +
+           "WHERE " + ACTIVE + " GROUP BY b.flightId, b.dateOfTravel, b.seatCategory")
+    List<Object[]> sumBookedSeatsByDeparture();
+    
+    /**
+     * Aggregate bookings per carrier, route, seat category, date of travel and status, to seed booking statistics.
+     * Each row is [carrierId, carrierName, origin, destination, seatCategory, dateOfTravel, bookingStatus,
+     * bookings, seats, bookingAmount, discountAmount].
+     */
+    @Query("SELECT c.carrierId, c.carrierName, f.origin, f.destination, b.seatCategory, b.dateOfTravel, " +
+           "b.bookingStatus, COUNT(b), SUM(b.noOfSeats), SUM(b.bookingAmount), COALESCE(SUM(b.discountAmount), 0) " +
+           "FROM Booking b JOIN Flight f ON f.flightId = b.flightId JOIN f.carrier c " +
+           "GROUP BY c.carrierId, c.carrierName, f.origin, f.destination, b.seatCategory, b.dateOfTravel, " +
+           "b.bookingStatus")
+    List<Object[]> aggregateBookingStats();
+    
+    /**
+     * Sum active bookings per departure travelling on or after a date, to reconcile the daily rollups.
+     * Each row is [flightId, dateOfTravel, bookings, seats, bookingAmount].
+     */
+    @Query("SELECT b.flightId, b.dateOfTravel, COUNT(b), SUM(b.noOfSeats), SUM(b.bookingAmount) FROM Booking b " +
+           "WHERE " + ACTIVE + " AND b.dateOfTravel >= :fromDate " +
+           "GROUP BY b.flightId, b.dateOfTravel")
+    List<Object[]> sumActiveBookingsByDepartureFrom(@Param("fromDate") LocalDate fromDate);
+    
+    /**
+     * Sum the active bookings of one departure, to repair its daily rollup.
+     * The single row is [bookings, seats, bookingAmount].
+     */
+    @Query("SELECT COUNT(b), COALESCE(SUM(b.noOfSeats), 0), COALESCE(SUM(b.bookingAmount), 0) FROM Booking b " +
+           "WHERE " + ACTIVE + " AND b.flightId = :flightId AND b.dateOfTravel = :dateOfTravel")
+    List<Object[]> sumActiveBookingsOfDeparture(@Param("flightId") Long flightId,
+                                                @Param("dateOfTravel") LocalDate dateOfTravel);
 }
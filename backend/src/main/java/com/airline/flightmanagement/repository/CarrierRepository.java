@@ -1,8 +1,12 @@
 package com.airline.flightmanagement.repository;
 
 import com.airline.flightmanagement.entity.Carrier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,10 +17,16 @@ import java.util.Optional;
 public interface CarrierRepository extends JpaRepository<Carrier, Long> {
     
     /**
-     * Find carrier by name
+     * Find carrier by name; results are kept in the query cache until the carriers table changes
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Carrier> findByCarrierName(String carrierName);
     
+    /**
+     * Find the page of carriers following a carrier ID, in ID order
+     */
+    List<Carrier> findByCarrierIdGreaterThanOrderByCarrierIdAsc(Long carrierId, Pageable pageable);
+    
     /**
      * Find carriers by discount type
      */
@@ -28,8 +38,9 @@ public interface CarrierRepository extends JpaRepository<Carrier, Long> {
     List<Carrier> findByRefundType(com.airline.flightmanagement.entity.RefundType refundType);
     
     /**
-     * Find active carriers
+     * Find active carriers; results are kept in the query cache until the carriers table changes
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Carrier> findByIsActiveTrue();
     
     /**
@@ -0,0 +1,105 @@
+package com.airline.flightmanagement.repository;
+
+import com.airline.flightmanagement.entity.DailyFlightRollup;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyFlightRollupRepository extends JpaRepository<DailyFlightRollup, Long> {
+    
+    /**
+     * Find the rollups of a flight for every date in a range, both ends inclusive
+     */
+    List<DailyFlightRollup> findByFlightIdAndDateOfTravelBetween(Long flightId, LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Sum the rollups of a set of flights per date of travel in a range, both ends inclusive.
+     * Each row is [dateOfTravel, bookings, seatsBooked, revenue].
+     */
+    @Query("SELECT r.dateOfTravel, SUM(r.bookings), SUM(r.seatsBooked), SUM(r.revenue) FROM DailyFlightRollup r " +
+           "WHERE r.flightId IN :flightIds AND r.dateOfTravel BETWEEN :fromDate AND :toDate " +
+           "GROUP BY r.dateOfTravel")
+    List<Object[]> sumByDateOfTravel(@Param("flightIds") Collection<Long> flightIds,
+                                     @Param("fromDate") LocalDate fromDate,
+                                     @Param("toDate") LocalDate toDate);
+    
+    /**
+     * Find the rollups of departures on or after a date
+     */
+    List<DailyFlightRollup> findByDateOfTravelGreaterThanEqual(LocalDate fromDate);
+    
+    /**
+     * Lock and return the rollup of a departure, holding back bookings on it until the calling
+     * transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM DailyFlightRollup r WHERE r.flightId = :flightId AND r.dateOfTravel = :dateOfTravel")
+    Optional<DailyFlightRollup> lockRollup(@Param("flightId") Long flightId,
+                                           @Param("dateOfTravel") LocalDate dateOfTravel);
+    
+    /**
+     * Add to the rollup of a departure if it exists, returning the number of rows changed. The
+     * deltas are negative when bookings are cancelled.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_flight_rollups"))
+    @Query(value = "UPDATE daily_flight_rollups SET bookings = bookings + :bookings, " +
+                   "seats_booked = seats_booked + :seats, revenue = revenue + :revenue " +
+                   "WHERE flight_id = :flightId AND date_of_travel = :dateOfTravel",
+           nativeQuery = true)
+    int incrementRollup(@Param("flightId") Long flightId,
+                        @Param("dateOfTravel") LocalDate dateOfTravel,
+                        @Param("bookings") Integer bookings,
+                        @Param("seats") Integer seats,
+                        @Param("revenue") BigDecimal revenue);
+    
+    /**
+     * Add to the rollup of a departure, creating it if it does not exist yet. Two transactions
+     * creating the same rollup at once conflict, so callers serialize the first insert.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_flight_rollups"))
+    @Query(value = "MERGE INTO daily_flight_rollups r " +
+                   "USING (SELECT CAST(:flightId AS BIGINT) AS flight_id, " +
+                   "CAST(:dateOfTravel AS DATE) AS date_of_travel) d " +
+                   "ON r.flight_id = d.flight_id AND r.date_of_travel = d.date_of_travel " +
+                   "WHEN MATCHED THEN UPDATE SET bookings = r.bookings + :bookings, " +
+                   "seats_booked = r.seats_booked + :seats, revenue = r.revenue + :revenue " +
+                   "WHEN NOT MATCHED THEN INSERT (flight_id, date_of_travel, bookings, seats_booked, revenue) " +
+                   "VALUES (d.flight_id, d.date_of_travel, :bookings, :seats, :revenue)",
+           nativeQuery = true)
+    int addToRollup(@Param("flightId") Long flightId,
+                    @Param("dateOfTravel") LocalDate dateOfTravel,
+                    @Param("bookings") Integer bookings,
+                    @Param("seats") Integer seats,
+                    @Param("revenue") BigDecimal revenue);
+    
+    /**
+     * Overwrite the rollup of a departure with the given totals, creating it if it does not exist yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_flight_rollups"))
+    @Query(value = "MERGE INTO daily_flight_rollups (flight_id, date_of_travel, bookings, seats_booked, revenue) " +
+                   "KEY (flight_id, date_of_travel) " +
+                   "VALUES (:flightId, :dateOfTravel, :bookings, :seats, :revenue)",
+           nativeQuery = true)
+    int setRollup(@Param("flightId") Long flightId,
+                  @Param("dateOfTravel") LocalDate dateOfTravel,
+                  @Param("bookings") Integer bookings,
+                  @Param("seats") Integer seats,
+                  @Param("revenue") BigDecimal revenue);
+}
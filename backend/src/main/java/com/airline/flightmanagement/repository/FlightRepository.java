@@ -1,27 +1,58 @@
 package com.airline.flightmanagement.repository;
 
+import com.airline.flightmanagement.dto.BookingContext;
+import com.airline.flightmanagement.dto.FlightDTO;
 import com.airline.flightmanagement.entity.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, JpaSpecificationExecutor<Flight> {
     
-    List<Flight> findByOriginAndDestination(String origin, String destination);
+    /**
+     * Selects flights as DTOs joined to their carrier, so listings never hydrate entities or load carriers lazily
+     */
+    String FLIGHT_DTO = "SELECT new com.airline.flightmanagement.dto.FlightDTO(f.flightId, c.carrierId, " +
+            "c.carrierName, f.origin, f.destination, f.airFare, f.seatCapacityBusiness, f.seatCapacityEconomy, " +
+            "f.seatCapacityExecutive) FROM Flight f JOIN f.carrier c ";
     
-    List<Flight> findByCarrierCarrierId(Long carrierId);
+    @Query(FLIGHT_DTO + "WHERE f.flightId = :flightId")
+    Optional<FlightDTO> findFlightDTO(@Param("flightId") Long flightId);
     
-    @Query("SELECT f FROM Flight f WHERE f.carrier.carrierName = :carrierName")
-    List<Flight> findByCarrierName(@Param("carrierName") String carrierName);
+    @Query("SELECT new com.airline.flightmanagement.dto.BookingContext(f, c, u.customerCategory, :dateOfTravel, s) " +
+           "FROM Flight f JOIN f.carrier c JOIN User u ON u.userId = :userId " +
+           "LEFT JOIN FlightSchedule s ON s.flightId = f.flightId AND s.dateOfTravel = :dateOfTravel " +
+           "WHERE f.flightId = :flightId")
+    Optional<BookingContext> findBookingContext(@Param("flightId") Long flightId,
+                                                @Param("userId") Long userId,
+                                                @Param("dateOfTravel") LocalDate dateOfTravel);
     
-    @Query("SELECT f FROM Flight f WHERE f.origin = :origin")
-    List<Flight> findByOrigin(@Param("origin") String origin);
+    @Query(FLIGHT_DTO + "WHERE f.flightId > :afterFlightId ORDER BY f.flightId")
+    List<FlightDTO> findPageAfter(@Param("afterFlightId") Long afterFlightId, Pageable pageable);
     
-    @Query("SELECT f FROM Flight f WHERE f.destination = :destination")
-    List<Flight> findByDestination(@Param("destination") String destination);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(FLIGHT_DTO + "ORDER BY f.flightId")
+    Stream<FlightDTO> streamAllForExport();
+    
+    @Query("SELECT f FROM Flight f JOIN FETCH f.carrier WHERE f.flightId IN :flightIds")
+    List<Flight> findAllWithCarrierByFlightIdIn(@Param("flightIds") Collection<Long> flightIds);
+    
+    /**
+     * Lock a flight's row until the calling transaction ends
+     */
+    @Query(value = "SELECT flight_id FROM flights WHERE flight_id = :flightId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockFlight(@Param("flightId") Long flightId);
 }
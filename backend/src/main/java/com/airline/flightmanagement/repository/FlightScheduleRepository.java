@@ -2,6 +2,7 @@ package com.airline.flightmanagement.repository;
 
 import com.airline.flightmanagement.entity.FlightSchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,6 +29,16 @@ public interface FlightScheduleRepository extends JpaRepository<FlightSchedule,
      */
     List<FlightSchedule> findByDateOfTravel(LocalDate dateOfTravel);
     
+    /**
+     * Find the schedules of a flight for every date in a range, both ends inclusive
+     */
+    List<FlightSchedule> findByFlightIdAndDateOfTravelBetween(Long flightId, LocalDate fromDate, LocalDate toDate);
+    
+    /**
+     * Find all flight schedules departing on or after the given date
+     */
+    List<FlightSchedule> findByDateOfTravelGreaterThanEqual(LocalDate dateOfTravel);
+    
     /**
      * Find flight schedules with available seats for a specific category
      */
@@ -44,4 +55,47 @@ public interface FlightScheduleRepository extends JpaRepository<FlightSchedule,
      * Check if a flight schedule exists for the given flight and date
      */
     boolean existsByFlightIdAndDateOfTravel(Long flightId, LocalDate dateOfTravel);
+    
+    /**
+     * Insert the schedule row for a departure, or refresh its capacities if it already exists.
+     * Booked counts are never touched. H2's MERGE ... KEY resolves concurrent inserts on the
+     * unique (flight_id, date_of_travel) key instead of failing with a duplicate key error.
+     * schedule_id is left to its column default so new rows draw from flight_schedule_seq.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO flight_schedules (flight_id, date_of_travel, total_capacity_economy, " +
+                   "total_capacity_business, total_capacity_executive) KEY (flight_id, date_of_travel) " +
+                   "VALUES (:flightId, :dateOfTravel, :capacityEconomy, :capacityBusiness, :capacityExecutive)",
+           nativeQuery = true)
+    int mergeSchedule(@Param("flightId") Long flightId,
+                      @Param("dateOfTravel") LocalDate dateOfTravel,
+                      @Param("capacityEconomy") Integer capacityEconomy,
+                      @Param("capacityBusiness") Integer capacityBusiness,
+                      @Param("capacityExecutive") Integer capacityExecutive);
+    
+    /**
+     * Overwrite the booked counts of a schedule with the given values
+     */
+    @Modifying
+    @Query("UPDATE FlightSchedule fs SET fs.bookedCountEconomy = :economy, " +
+           "fs.bookedCountBusiness = :business, fs.bookedCountExecutive = :executive " +
+           "WHERE fs.flightId = :flightId AND fs.dateOfTravel = :dateOfTravel")
+    int updateBookedCounts(@Param("flightId") Long flightId,
+                           @Param("dateOfTravel") LocalDate dateOfTravel,
+                           @Param("economy") Integer economy,
+                           @Param("business") Integer business,
+                           @Param("executive") Integer executive);
+    
+    /**
+     * Overwrite the capacities of a flight's schedules from a date onwards, after its capacity changed
+     */
+    @Modifying
+    @Query("UPDATE FlightSchedule fs SET fs.totalCapacityEconomy = :economy, " +
+           "fs.totalCapacityBusiness = :business, fs.totalCapacityExecutive = :executive " +
+           "WHERE fs.flightId = :flightId AND fs.dateOfTravel >= :fromDate")
+    int updateTotalCapacity(@Param("flightId") Long flightId,
+                            @Param("fromDate") LocalDate fromDate,
+                            @Param("economy") Integer economy,
+                            @Param("business") Integer business,
+                            @Param("executive") Integer executive);
 }
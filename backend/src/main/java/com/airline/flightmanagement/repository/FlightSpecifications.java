@@ -0,0 +1,160 @@
+package com.airline.flightmanagement.repository;
+
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.FlightSchedule;
+import com.airline.flightmanagement.entity.SeatCategory;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Specifications for {@link FlightRepository#findBy}, combined into one SQL statement per query.
+ * Every specification that needs the carrier reuses the fetch join of {@link #withCarrier()}, so
+ * flights and their carriers are read together without a second join.
+ */
+public final class FlightSpecifications {
+
+    private FlightSpecifications() {}
+
+    /**
+     * Match every filter of the criteria that is set, loading carriers with the flights.
+     * Seat availability on the date of travel is read from flight_schedules, which trail the
+     * in-memory seat inventory by up to one flush interval; booking re-checks the seats.
+     */
+    public static Specification<Flight> matching(FlightSearchCriteria criteria, long afterFlightId) {
+        Specification<Flight> specification = withCarrier().and(flightIdAfter(afterFlightId));
+        if (criteria.getOrigin() != null) {
+            specification = specification.and(hasOrigin(criteria.getOrigin()));
+        }
+        if (criteria.getDestination() != null) {
+            specification = specification.and(hasDestination(criteria.getDestination()));
+        }
+        if (criteria.getCarrierId() != null) {
+            specification = specification.and(hasCarrier(criteria.getCarrierId()));
+        }
+        if (criteria.getMinFare() != null) {
+            specification = specification.and(fareAtLeast(criteria.getMinFare()));
+        }
+        if (criteria.getMaxFare() != null) {
+            specification = specification.and(fareAtMost(criteria.getMaxFare()));
+        }
+        if (criteria.isActiveCarriersOnly()) {
+            specification = specification.and(carrierActive());
+        }
+        if (criteria.getDateOfTravel() != null) {
+            specification = specification.and(hasSeatsOn(criteria.getDateOfTravel(), criteria.getSeatCategory(),
+                    criteria.getNoOfSeats()));
+        }
+        return specification;
+    }
+
+    /**
+     * Fetch the carrier of each flight in the same statement
+     */
+    public static Specification<Flight> withCarrier() {
+        return (root, query, cb) -> {
+            carrier(root);
+            return null;
+        };
+    }
+
+    public static Specification<Flight> flightIdAfter(long afterFlightId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("flightId"), afterFlightId);
+    }
+
+    public static Specification<Flight> hasOrigin(String origin) {
+        return (root, query, cb) -> cb.equal(root.get("origin"), origin);
+    }
+
+    public static Specification<Flight> hasDestination(String destination) {
+        return (root, query, cb) -> cb.equal(root.get("destination"), destination);
+    }
+
+    public static Specification<Flight> hasCarrier(Long carrierId) {
+        return (root, query, cb) -> cb.equal(carrier(root).get("carrierId"), carrierId);
+    }
+
+    public static Specification<Flight> fareAtLeast(BigDecimal minFare) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("airFare"), minFare);
+    }
+
+    public static Specification<Flight> fareAtMost(BigDecimal maxFare) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("airFare"), maxFare);
+    }
+
+    public static Specification<Flight> carrierActive() {
+        return (root, query, cb) -> cb.isTrue(carrier(root).get("isActive"));
+    }
+
+    /**
+     * Match flights with enough seats of a category left on a date. A departure without a
+     * schedule row has no bookings yet, so only the flight's capacity limits it.
+     */
+    public static Specification<Flight> hasSeatsOn(LocalDate dateOfTravel, SeatCategory seatCategory, int seats) {
+        return (root, query, cb) -> {
+            Subquery<Long> full = query.subquery(Long.class);
+            Root<FlightSchedule> schedule = full.from(FlightSchedule.class);
+            full.select(schedule.get("flightId")).where(
+                    cb.equal(schedule.get("flightId"), root.get("flightId")),
+                    cb.equal(schedule.get("dateOfTravel"), dateOfTravel),
+                    cb.greaterThan(cb.sum(schedule.<Integer>get(bookedCount(seatCategory)), seats),
+                            schedule.<Integer>get(totalCapacity(seatCategory))));
+            return cb.and(cb.greaterThanOrEqualTo(root.<Integer>get(seatCapacity(seatCategory)), seats),
+                    cb.not(cb.exists(full)));
+        };
+    }
+
+    /**
+     * The carrier fetch join of the query, added on first use
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Flight, Carrier> carrier(Root<Flight> root) {
+        for (Fetch<Flight, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("carrier")) {
+                return (Join<Flight, Carrier>) fetch;
+            }
+        }
+        return (Join<Flight, Carrier>) root.<Flight, Carrier>fetch("carrier", JoinType.INNER);
+    }
+
+    private static String seatCapacity(SeatCategory seatCategory) {
+        switch (seatCategory) {
+            case BUSINESS:
+                return "seatCapacityBusiness";
+            case EXECUTIVE:
+                return "seatCapacityExecutive";
+            default:
+                return "seatCapacityEconomy";
+        }
+    }
+
+    private static String bookedCount(SeatCategory seatCategory) {
+        switch (seatCategory) {
+            case BUSINESS:
+                return "bookedCountBusiness";
+            case EXECUTIVE:
+                return "bookedCountExecutive";
+            default:
+                return "bookedCountEconomy";
+        }
+    }
+
+    private static String totalCapacity(SeatCategory seatCategory) {
+        switch (seatCategory) {
+            case BUSINESS:
+                return "totalCapacityBusiness";
+            case EXECUTIVE:
+                return "totalCapacityExecutive";
+            default:
+                return "totalCapacityEconomy";
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.airline.flightmanagement.repository;
 
+import com.airline.flightmanagement.entity.CustomerCategory;
 import com.airline.flightmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,4 +33,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Check if email exists
      */
     boolean existsByEmailId(String emailId);
+    
+    /**
+     * Find the page of users following a user ID, in ID order
+     */
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long userId, Pageable pageable);
+    
+    /**
+     * Find only the customer category of a user
+     */
+    @Query("SELECT u.customerCategory FROM User u WHERE u.userId = :userId")
+    Optional<CustomerCategory> findCustomerCategoryByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,140 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.entity.FlightSchedule;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat availability per category for one flight across a range of travel dates.
+ *
+ * A calendar is built from a single range query on flight_schedules. Departures held by the seat
+ * inventory take precedence over their rows, since the inventory writes its counts behind, and
+ * dates without a schedule row have the flight's full capacity available. Calendars are cached
+ * for a short TTL; booking or cancelling seats on a flight bumps its version, which invalidates
+ * every cached calendar of that flight.
+ */
+@Service
+public class AvailabilityCalendarService {
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Value("${availability.max-days:62}")
+    private int maxDays = 62;
+
+    private final BoundedExpiringCache<CalendarKey, CachedCalendar> cache;
+
+    private final Map<Long, AtomicLong> flightVersions = new ConcurrentHashMap<>();
+
+    public AvailabilityCalendarService(@Value("${availability.cache-max-entries:10000}") int cacheMaxEntries,
+                                       @Value("${availability.cache-ttl-seconds:30}") long cacheTtlSeconds) {
+        this.cache = new BoundedExpiringCache<>(cacheMaxEntries, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Get seat availability for every date from fromDate to toDate, both inclusive
+     */
+    public List<SeatAvailabilityResponse> getCalendar(Long flightId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new RuntimeException("Travel date range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxDays) {
+            throw new RuntimeException("Travel date range cannot span more than " + maxDays + " days");
+        }
+
+        CalendarKey key = new CalendarKey(flightId, fromDate, toDate);
+        CachedCalendar cached = cache.get(key);
+        long version = version(flightId);
+        if (cached != null && cached.version() == version) {
+            return cached.days();
+        }
+
+        // The version is read before loading, so a booking racing the load leaves the entry stale
+        List<SeatAvailabilityResponse> days = loadCalendar(flightId, fromDate, toDate);
+        cache.put(key, new CachedCalendar(version, days));
+        return days;
+    }
+
+    /**
+     * Invalidate cached calendars for a flight whose booked seats changed
+     */
+    public void invalidateFlight(Long flightId) {
+        AtomicLong version = flightVersions.computeIfAbsent(flightId, key -> new AtomicLong());
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private List<SeatAvailabilityResponse> loadCalendar(Long flightId, LocalDate fromDate, LocalDate toDate) {
+        FlightDTO flight = flightRouteIndex.findById(flightId);
+        if (flight == null) {
+            throw new RuntimeException("Flight not found with id: " + flightId);
+        }
+
+        Map<LocalDate, FlightSchedule> schedules = new HashMap<>();
+        for (FlightSchedule schedule : flightScheduleRepository.findByFlightIdAndDateOfTravelBetween(
+                flightId, fromDate, toDate)) {
+            schedules.put(schedule.getDateOfTravel(), schedule);
+        }
+
+        List<SeatAvailabilityResponse> days = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            SeatAvailabilityResponse day = seatInventory.peekAvailability(flightId, date);
+            if (day == null) {
+                FlightSchedule schedule = schedules.get(date);
+                day = schedule != null ? fromSchedule(schedule) : new SeatAvailabilityResponse(flightId, date,
+                        flight.getSeatCapacityEconomy(), flight.getSeatCapacityBusiness(),
+                        flight.getSeatCapacityExecutive());
+            }
+            days.add(day);
+        }
+        return Collections.unmodifiableList(days);
+    }
+
+    private static SeatAvailabilityResponse fromSchedule(FlightSchedule schedule) {
+        return new SeatAvailabilityResponse(
+                schedule.getFlightId(),
+                schedule.getDateOfTravel(),
+                Math.max(0, schedule.getTotalCapacityEconomy() - schedule.getBookedCountEconomy()),
+                Math.max(0, schedule.getTotalCapacityBusiness() - schedule.getBookedCountBusiness()),
+                Math.max(0, schedule.getTotalCapacityExecutive() - schedule.getBookedCountExecutive())
+        );
+    }
+
+    private long version(Long flightId) {
+        AtomicLong version = flightVersions.get(flightId);
+        return version == null ? 0 : version.get();
+    }
+
+    private record CalendarKey(Long flightId, LocalDate fromDate, LocalDate toDate) {}
+
+    private record CachedCalendar(long version, List<SeatAvailabilityResponse> days) {}
+}
@@ -1,22 +1,35 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.dto.BatchBookingResponse;
+import com.airline.flightmanagement.dto.BatchBookingResult;
 import com.airline.flightmanagement.dto.BookFlightRequest;
 import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.BookingContext;
 import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
 import com.airline.flightmanagement.entity.*;
 import com.airline.flightmanagement.repository.BookingRepository;
 import com.airline.flightmanagement.repository.FlightRepository;
-import com.airline.flightmanagement.repository.FlightScheduleRepository;
-import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class BookingService {
@@ -28,231 +41,250 @@ public class BookingService {
     private FlightRepository flightRepository;
     
     @Autowired
-    private FlightScheduleRepository flightScheduleRepository;
+    private SeatInventory seatInventory;
     
     @Autowired
-    private UserRepository userRepository;
+    private AvailabilityCalendarService availabilityCalendarService;
+    
+    @Autowired
+    private DiscountPolicyService discountPolicyService;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
+    @Autowired
+    private BookingStatsService bookingStatsService;
+    
+    @Autowired
+    private LoadFactorService loadFactorService;
+    
+    @Value("${booking.batch.max-size:500}")
+    private int maxBatchSize = 500;
     
     /**
      * Book a flight with automatic discount calculation and seat availability check
      */
     @Transactional
     public BookFlightResponse bookFlight(BookFlightRequest request, Long userId) {
-        // Validate flight exists
-        Flight flight = flightRepository.findById(request.getFlightId())
-                .orElseThrow(() -> new RuntimeException("Flight not found with id: " + request.getFlightId()));
-        
-        // Validate user exists
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        
-        // Check seat availability
-        checkSeatAvailability(request.getFlightId(), request.getDateOfTravel(), 
-                            request.getSeatCategory(), request.getNoOfSeats());
-        
-        // Calculate booking amount with discounts
-        BigDecimal originalAmount = flight.getAirFare().multiply(BigDecimal.valueOf(request.getNoOfSeats()));
-        BigDecimal discountAmount = calculateDiscounts(flight, user, request.getDateOfTravel(), request.getNoOfSeats());
-        BigDecimal finalAmount = originalAmount.subtract(discountAmount);
+        // Load flight, carrier, customer category and schedule in one query
+        BookingContext context = loadBookingContext(request.getFlightId(), userId, request.getDateOfTravel());
         
-        // Create or update flight schedule
-        FlightSchedule schedule = getOrCreateFlightSchedule(flight, request.getDateOfTravel());
-        
-        // Create booking
-        Booking booking = new Booking();
-        booking.setFlightId(request.getFlightId());
-        booking.setUserId(userId);
-        booking.setNoOfSeats(request.getNoOfSeats());
-        booking.setSeatCategory(request.getSeatCategory());
-        booking.setDateOfTravel(request.getDateOfTravel());
-        booking.setBookingAmount(finalAmount);
-        booking.setDiscountAmount(discountAmount);
-        booking.setDiscountReason(generateDiscountReason(discountAmount, user, request.getDateOfTravel(), request.getNoOfSeats()));
-        booking.setBookingStatus(BookingStatus.BOOKED);
-        
-        Booking savedBooking = bookingRepository.save(booking);
-        
-        // Update flight schedule booked count
-        schedule.incrementBookedCount(request.getSeatCategory(), request.getNoOfSeats());
-        flightScheduleRepository.save(schedule);
+        Booking savedBooking = bookingRepository.save(createBooking(request, userId, context));
+        bookingStatsService.bookingSaved(savedBooking, context.getFlight(), context.getCarrier());
+        loadFactorService.bookingsSaved(List.of(savedBooking));
         
         // Build response
-        return buildBookFlightResponse(savedBooking, flight, discountAmount);
+        return buildBookFlightResponse(savedBooking, context.getFlight(), context.getCarrier());
     }
     
     /**
-     * Check if seats are available for the requested category and date
+     * Book several flights for a user in one transaction. Requests are grouped by departure so
+     * each group loads its booking context once and reserves each seat category's total seats
+     * once, and the admitted bookings are inserted with JDBC batching. Every request gets its own result; a rejected request does not affect the others.
      */
-    private void checkSeatAvailability(Long flightId, LocalDate dateOfTravel, 
-                                     SeatCategory seatCategory, Integer requestedSeats) {
-        Flight flight = flightRepository.findById(flightId)
-                .orElseThrow(() -> new RuntimeException("Flight not found"));
+    @Transactional
+    public BatchBookingResponse bookFlights(List<BookFlightRequest> requests, Long userId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("Batch must contain at least one booking request");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new RuntimeException("Batch cannot contain more than " + maxBatchSize + " booking requests");
+        }
         
-        // Get current booked count for this flight and date
-        Optional<FlightSchedule> existingSchedule = flightScheduleRepository
-                .findByFlightIdAndDateOfTravel(flightId, dateOfTravel);
+        BatchBookingResult[] results = new BatchBookingResult[requests.size()];
         
-        int currentBookedCount = 0;
-        int totalCapacity = 0;
+        // Group valid requests by departure, keeping their position in the batch
+        Map<BatchDeparture, List<Integer>> groups = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            BookFlightRequest request = requests.get(index);
+            if (request == null) {
+                results[index] = BatchBookingResult.failed(index, "Booking request is required");
+                continue;
+            }
+            
+            Set<ConstraintViolation<BookFlightRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[index] = BatchBookingResult.failed(index, violations.iterator().next().getMessage());
+                continue;
+            }
+            
+            groups.computeIfAbsent(new BatchDeparture(request.getFlightId(), request.getDateOfTravel()),
+                    key -> new ArrayList<>()).add(index);
+        }
         
-        switch (seatCategory) {
-            case ECONOMY:
-                totalCapacity = flight.getSeatCapacityEconomy();
-                if (existingSchedule.isPresent()) {
-                    currentBookedCount = existingSchedule.get().getBookedCountEconomy();
+        // Price and admit each group against its departure
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        List<BookingContext> bookingContexts = new ArrayList<>();
+        for (Map.Entry<BatchDeparture, List<Integer>> group : groups.entrySet()) {
+            BookingContext context;
+            try {
+                context = loadBookingContext(group.getKey().flightId(), userId, group.getKey().dateOfTravel());
+            } catch (RuntimeException e) {
+                for (Integer index : group.getValue()) {
+                    results[index] = BatchBookingResult.failed(index, e.getMessage());
                 }
-                break;
-            case BUSINESS:
-                totalCapacity = flight.getSeatCapacityBusiness();
-                if (existingSchedule.isPresent()) {
-                    currentBookedCount = existingSchedule.get().getBookedCountBusiness();
+                continue;
+            }
+            
+            // Price every request, then reserve each seat category's total for the departure at once
+            Map<Integer, Booking> priced = new LinkedHashMap<>();
+            Map<SeatCategory, List<Integer>> categories = new EnumMap<>(SeatCategory.class);
+            for (Integer index : group.getValue()) {
+                try {
+                    Booking booking = priceBooking(requests.get(index), userId, context);
+                    priced.put(index, booking);
+                    categories.computeIfAbsent(booking.getSeatCategory(), key -> new ArrayList<>()).add(index);
+                } catch (RuntimeException e) {
+                    results[index] = BatchBookingResult.failed(index, e.getMessage());
+                }
+            }
+            
+            List<Integer> admitted = new ArrayList<>();
+            for (Map.Entry<SeatCategory, List<Integer>> category : categories.entrySet()) {
+                int seats = category.getValue().stream().mapToInt(index -> priced.get(index).getNoOfSeats()).sum();
+                if (seatInventory.tryReserve(context, category.getKey(), seats)) {
+                    admitted.addAll(category.getValue());
+                    continue;
                 }
-                break;
-            case EXECUTIVE:
-                totalCapacity = flight.getSeatCapacityExecutive();
-                if (existingSchedule.isPresent()) {
-                    currentBookedCount = existingSchedule.get().getBookedCountExecutive();
+                // The category's total does not fit, so admit its requests one at a time
+                for (Integer index : category.getValue()) {
+                    try {
+                        admitSeats(context, category.getKey(), priced.get(index).getNoOfSeats());
+                        admitted.add(index);
+                    } catch (RuntimeException e) {
+                        results[index] = BatchBookingResult.failed(index, e.getMessage());
+                    }
                 }
-                break;
+            }
+            if (admitted.isEmpty()) {
+                continue;
+            }
+            availabilityCalendarService.invalidateFlight(group.getKey().flightId());
+            
+            Collections.sort(admitted);
+            for (Integer index : admitted) {
+                bookings.add(priced.get(index));
+                bookingIndexes.add(index);
+                bookingContexts.add(context);
+            }
         }
         
-        if (currentBookedCount + requestedSeats > totalCapacity) {
-            throw new RuntimeException("Insufficient seats available. Requested: " + requestedSeats + 
-                                    ", Available: " + (totalCapacity - currentBookedCount));
+        // Inserts are flushed together at commit and sent as JDBC batches
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        loadFactorService.bookingsSaved(savedBookings);
+        for (int i = 0; i < savedBookings.size(); i++) {
+            BookingContext context = bookingContexts.get(i);
+            int index = bookingIndexes.get(i);
+            bookingStatsService.bookingSaved(savedBookings.get(i), context.getFlight(), context.getCarrier());
+            results[index] = BatchBookingResult.booked(index,
+                    buildBookFlightResponse(savedBookings.get(i), context.getFlight(), context.getCarrier()));
         }
+        
+        return new BatchBookingResponse(Arrays.asList(results));
     }
     
     /**
-     * Calculate discounts based on various factors
+     * Reserve seats for a hold. Runs outside any booking transaction so the seats
+     * stay reserved until the hold is confirmed, released or expires.
      */
-    private BigDecimal calculateDiscounts(Flight flight, User user, LocalDate dateOfTravel, Integer noOfSeats) {
-        BigDecimal totalDiscount = BigDecimal.ZERO;
-        
-        // 1. Advance booking discount (book 30+ days in advance)
-        long daysInAdvance = ChronoUnit.DAYS.between(LocalDate.now(), dateOfTravel);
-        if (daysInAdvance >= 30) {
-            BigDecimal advanceDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.15)); // 15% discount
-            totalDiscount = totalDiscount.add(advanceDiscount);
-        } else if (daysInAdvance >= 14) {
-            BigDecimal advanceDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.10)); // 10% discount
-            totalDiscount = totalDiscount.add(advanceDiscount);
-        } else if (daysInAdvance >= 7) {
-            BigDecimal advanceDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.05)); // 5% discount
-            totalDiscount = totalDiscount.add(advanceDiscount);
-        }
-        
-        // 2. Customer category discount
-        BigDecimal customerDiscount = BigDecimal.ZERO;
-        switch (user.getCustomerCategory()) {
-            case PLATINUM:
-                customerDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.20)); // 20% discount
-                break;
-            case GOLD:
-                customerDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.15)); // 15% discount
-                break;
-            case SILVER:
-                customerDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.10)); // 10% discount
-                break;
-            case PREMIUM:
-                customerDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.25)); // 25% discount
-                break;
-            default:
-                // REGULAR customers get no additional discount
-                break;
-        }
-        totalDiscount = totalDiscount.add(customerDiscount);
-        
-        // 3. Bulk booking discount (5+ seats)
-        if (noOfSeats >= 5) {
-            BigDecimal bulkDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(0.10)); // 10% discount
-            totalDiscount = totalDiscount.add(bulkDiscount);
-        }
-        
-        // Apply discount to total seats
-        totalDiscount = totalDiscount.multiply(BigDecimal.valueOf(noOfSeats));
+    public void holdSeats(BookFlightRequest request, Long userId) {
+        BookingContext context = loadBookingContext(request.getFlightId(), userId, request.getDateOfTravel());
+        reserveSeats(context, request.getSeatCategory(), request.getNoOfSeats());
+    }
+    
+    /**
+     * Book seats that are already reserved by a hold
+     */
+    @Transactional
+    public BookFlightResponse bookHeldSeats(BookFlightRequest request, Long userId) {
+        BookingContext context = loadBookingContext(request.getFlightId(), userId, request.getDateOfTravel());
         
-        // Ensure discount doesn't exceed the total fare
-        BigDecimal maxDiscount = flight.getAirFare().multiply(BigDecimal.valueOf(noOfSeats));
-        if (totalDiscount.compareTo(maxDiscount) > 0) {
-            totalDiscount = maxDiscount;
-        }
+        Booking savedBooking = bookingRepository.save(priceBooking(request, userId, context));
+        bookingStatsService.bookingSaved(savedBooking, context.getFlight(), context.getCarrier());
+        loadFactorService.bookingsSaved(List.of(savedBooking));
         
-        return totalDiscount.setScale(2, RoundingMode.HALF_UP);
+        return buildBookFlightResponse(savedBooking, context.getFlight(), context.getCarrier());
     }
     
     /**
-     * Generate discount reason description
+     * Price a booking request and reserve its seats, returning the booking ready to be saved
      */
-    private String generateDiscountReason(BigDecimal discountAmount, User user, LocalDate dateOfTravel, Integer noOfSeats) {
-        if (discountAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return "No discounts applied";
-        }
+    private Booking createBooking(BookFlightRequest request, Long userId, BookingContext context) {
+        Booking booking = priceBooking(request, userId, context);
         
-        StringBuilder reason = new StringBuilder();
-        long daysInAdvance = ChronoUnit.DAYS.between(LocalDate.now(), dateOfTravel);
+        // Reserve seats in the in-memory inventory (released again if this transaction rolls back)
+        reserveSeats(context, request.getSeatCategory(), request.getNoOfSeats());
         
-        if (daysInAdvance >= 30) {
-            reason.append("Advance booking (30+ days): 15%");
-        } else if (daysInAdvance >= 14) {
-            reason.append("Advance booking (14+ days): 10%");
-        } else if (daysInAdvance >= 7) {
-            reason.append("Advance booking (7+ days): 5%");
-        }
+        return booking;
+    }
+    
+    /**
+     * Build an unsaved booking with its amount and discounts calculated
+     */
+    private Booking priceBooking(BookFlightRequest request, Long userId, BookingContext context) {
+        Flight flight = context.getFlight();
         
-        if (user.getCustomerCategory() != CustomerCategory.REGULAR) {
-            if (reason.length() > 0) reason.append(", ");
-            reason.append("Customer category (").append(user.getCustomerCategory()).append("): ");
-            switch (user.getCustomerCategory()) {
-                case PLATINUM:
-                    reason.append("20%");
-                    break;
-                case GOLD:
-                    reason.append("15%");
-                    break;
-                case SILVER:
-                    reason.append("10%");
-                    break;
-                case PREMIUM:
-                    reason.append("25%");
-                    break;
-            }
-        }
+        // Calculate booking amount with discounts, in cents
+        long airFareCents = Money.toCents(flight.getAirFare());
+        long originalCents = Money.times(airFareCents, request.getNoOfSeats());
+        long daysInAdvance = ChronoUnit.DAYS.between(LocalDate.now(), context.getDateOfTravel());
+        DiscountPolicy.Discount discount = discountPolicyService.calculate(context.getCarrier(),
+                context.getCustomerCategory(), daysInAdvance, request.getNoOfSeats(), airFareCents);
         
-        if (noOfSeats >= 5) {
-            if (reason.length() > 0) reason.append(", ");
-            reason.append("Bulk booking (5+ seats): 10%");
-        }
-        
-        return reason.toString();
+        // Create booking
+        Booking booking = new Booking();
+        booking.setFlightId(request.getFlightId());
+        booking.setUserId(userId);
+        booking.setNoOfSeats(request.getNoOfSeats());
+        booking.setSeatCategory(request.getSeatCategory());
+        booking.setDateOfTravel(request.getDateOfTravel());
+        booking.setBookingAmount(Money.toBigDecimal(originalCents - discount.amountCents()));
+        booking.setDiscountAmount(discount.amount());
+        booking.setDiscountReason(discount.reason());
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        return booking;
     }
     
     /**
-     * Get or create flight schedule for the given flight and date
+     * Load the booking context, reporting which of the flight or user is missing
      */
-    private FlightSchedule getOrCreateFlightSchedule(Flight flight, LocalDate dateOfTravel) {
-        Optional<FlightSchedule> existingSchedule = flightScheduleRepository
-                .findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel);
-        
-        if (existingSchedule.isPresent()) {
-            return existingSchedule.get();
+    private BookingContext loadBookingContext(Long flightId, Long userId, LocalDate dateOfTravel) {
+        return flightRepository.findBookingContext(flightId, userId, dateOfTravel)
+                .orElseThrow(() -> {
+                    if (!flightRepository.existsById(flightId)) {
+                        return new RuntimeException("Flight not found with id: " + flightId);
+                    }
+                    return new RuntimeException("User not found with id: " + userId);
+                });
+    }
+    
+    /**
+     * Reserve seats through the seat inventory, which admits bookings from memory
+     * and writes the counters behind to flight_schedules
+     */
+    private void reserveSeats(BookingContext context, SeatCategory seatCategory, Integer requestedSeats) {
+        admitSeats(context, seatCategory, requestedSeats);
+        availabilityCalendarService.invalidateFlight(context.getFlight().getFlightId());
+    }
+    
+    /**
+     * Reserve seats in the seat inventory without invalidating the availability calendar
+     */
+    private void admitSeats(BookingContext context, SeatCategory seatCategory, Integer requestedSeats) {
+        if (!seatInventory.tryReserve(context, seatCategory, requestedSeats)) {
+            throw new RuntimeException("Insufficient seats available. Requested: " + requestedSeats + 
+                                    ", Available: " + seatInventory.getAvailableSeats(context, seatCategory));
         }
-        
-        // Create new schedule
-        FlightSchedule newSchedule = new FlightSchedule(
-                flight.getFlightId(),
-                dateOfTravel,
-                flight.getSeatCapacityEconomy(),
-                flight.getSeatCapacityBusiness(),
-                flight.getSeatCapacityExecutive()
-        );
-        
-        return flightScheduleRepository.save(newSchedule);
     }
     
     /**
-     * Build BookFlightResponse from booking and flight data
+     * Build BookFlightResponse from booking, flight and carrier data
      */
-    private BookFlightResponse buildBookFlightResponse(Booking booking, Flight flight, BigDecimal discountAmount) {
+    private BookFlightResponse buildBookFlightResponse(Booking booking, Flight flight, Carrier carrier) {
         return new BookFlightResponse(
                 booking.getBookingId(),
                 booking.getFlightId(),
@@ -267,7 +299,7 @@ public class BookingService {
                 booking.getBookingDate(),
                 flight.getOrigin(),
                 flight.getDestination(),
-                flight.getCarrier().getCarrierName(),
+                carrier.getCarrierName(),
                 flight.getAirFare()
         );
     }
@@ -280,21 +312,33 @@ public class BookingService {
                 .map(booking -> {
                     Flight flight = flightRepository.findById(booking.getFlightId())
                             .orElseThrow(() -> new RuntimeException("Flight not found"));
-                    return buildBookFlightResponse(booking, flight, booking.getDiscountAmount());
+                    return buildBookFlightResponse(booking, flight, flight.getCarrier());
                 });
     }
     
     /**
-     * Get all bookings for a user
+     * Get a page of a user's bookings, optionally filtered by status and travel date range, in one query.
+     * Without a page token the first page is returned.
      */
-    public java.util.List<BookFlightResponse> getUserBookings(Long userId) {
-        return bookingRepository.findByUserId(userId).stream()
-                .map(booking -> {
-                    Flight flight = flightRepository.findById(booking.getFlightId())
-                            .orElseThrow(() -> new RuntimeException("Flight not found"));
-                    return buildBookFlightResponse(booking, flight, booking.getDiscountAmount());
-                })
-                .toList();
+    public KeysetPage<BookFlightResponse> getUserBookings(Long userId, BookingStatus status,
+                                                          LocalDate fromDate, LocalDate toDate,
+                                                          String pageToken, Integer pageSize) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new RuntimeException("Travel date range start must not be after its end");
+        }
+        int size = keysetPagination.pageSize(pageSize);
+        long afterBookingId = keysetPagination.afterKey(KeysetPagination.USER_BOOKINGS, pageToken);
+        List<BookFlightResponse> rows = bookingRepository.findUserBookingResponses(userId, status,
+                fromDate, toDate, afterBookingId, keysetPagination.fetchLimit(size));
+        return keysetPagination.page(KeysetPagination.USER_BOOKINGS, rows, size,
+                BookFlightResponse::getBookingId, response -> response);
+    }
+    
+    /**
+     * Get available seats per category for a flight on a specific date
+     */
+    public SeatAvailabilityResponse getSeatAvailability(Long flightId, LocalDate dateOfTravel) {
+        return seatInventory.getAvailability(flightId, dateOfTravel);
     }
     
     /**
@@ -322,9 +366,12 @@ public class BookingService {
         booking.setBookingStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
         
-        // Update flight schedule booked count (decrease by the number of seats)
-        updateFlightScheduleBookedCount(booking.getFlightId(), booking.getDateOfTravel(), 
-                                      booking.getSeatCategory(), -booking.getNoOfSeats());
+        // Release the seats once the cancellation commits (decrease by the number of seats)
+        seatInventory.release(booking.getFlightId(), booking.getDateOfTravel(), 
+                              booking.getSeatCategory(), booking.getNoOfSeats());
+        availabilityCalendarService.invalidateFlight(booking.getFlightId());
+        bookingStatsService.bookingCancelled(booking, flight);
+        loadFactorService.bookingCancelled(booking);
         
         // Build response
         return new CancelBookingResponse(
@@ -348,28 +395,9 @@ public class BookingService {
      * Calculate refund amount based on carrier refund percentage
      */
     private BigDecimal calculateRefundAmount(BigDecimal bookingAmount, BigDecimal refundPercentage) {
-        return bookingAmount.multiply(refundPercentage)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        long refundCents = Money.applyRate(Money.toCents(bookingAmount), Money.toBasisPoints(refundPercentage));
+        return Money.toBigDecimal(refundCents);
     }
     
-    /**
-     * Update flight schedule booked count
-     */
-    private void updateFlightScheduleBookedCount(Long flightId, LocalDate dateOfTravel, 
-                                               SeatCategory seatCategory, Integer seatChange) {
-        Optional<FlightSchedule> scheduleOpt = flightScheduleRepository
-                .findByFlightIdAndDateOfTravel(flightId, dateOfTravel);
-        
-        if (scheduleOpt.isPresent()) {
-            FlightSchedule schedule = scheduleOpt.get();
-            
-            if (seatChange > 0) {
-                schedule.incrementBookedCount(seatCategory, seatChange);
-            } else {
-                schedule.decrementBookedCount(seatCategory, Math.abs(seatChange));
-            }
-            
-            flightScheduleRepository.save(schedule);
-        }
-    }
+    private record BatchDeparture(Long flightId, LocalDate dateOfTravel) {}
 }
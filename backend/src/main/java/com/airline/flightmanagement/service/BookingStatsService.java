@@ -0,0 +1,259 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookingStatsCounts;
+import com.airline.flightmanagement.dto.BookingStatsResponse;
+import com.airline.flightmanagement.entity.Booking;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking statistics per carrier, route, seat category and date of travel, kept as in-memory
+ * rollups so reading them costs the same however many bookings exist.
+ *
+ * The rollups are seeded once the application is ready with a single aggregate query, then
+ * bookings and cancellations are added as their transactions commit. A counted transaction holds
+ * a read lock only while it commits, and seeding takes the write lock, so every booking is either
+ * committed before the aggregate query or counted after the new rollups are in place, never lost
+ * or counted twice. Bookings are counted under their flight's current carrier and route, as the
+ * aggregate query groups them, and the rollups are seeded again whenever a flight moves to
+ * another carrier or route, so a cancellation always leaves the bucket that holds its booking.
+ * Bookings and cancellations
+ * count every booking ever made and cancelled; seats, revenue and discounts cover bookings that
+ * are not cancelled. Counters are updated independently, so a read racing a booking may see part
+ * of it.
+ */
+@Service
+public class BookingStatsService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private volatile Rollups rollups = new Rollups();
+
+    private final ReadWriteLock seeding = new ReentrantReadWriteLock();
+
+    /**
+     * Count a saved booking once its transaction commits
+     */
+    public void bookingSaved(Booking booking, Flight flight, Carrier carrier) {
+        Dimensions dimensions = dimensions(booking, flight, carrier);
+        Delta delta = new Delta(1, 0, booking.getNoOfSeats(), Money.toCents(booking.getBookingAmount()),
+                discountCents(booking));
+        count(() -> rollups.add(dimensions, delta));
+    }
+
+    /**
+     * Count a cancelled booking once its transaction commits, removing its seats, revenue and discount
+     */
+    public void bookingCancelled(Booking booking, Flight flight) {
+        Dimensions dimensions = dimensions(booking, flight, flight.getCarrier());
+        Delta delta = new Delta(0, 1, -booking.getNoOfSeats(), -Money.toCents(booking.getBookingAmount()),
+                -discountCents(booking));
+        count(() -> rollups.add(dimensions, delta));
+    }
+
+    /**
+     * Seed the rollups again once a flight moved to another carrier or route commits, so its
+     * bookings are counted under the carrier and route their cancellations will be taken from
+     */
+    public void flightMoved() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * Get the current booking statistics
+     */
+    public BookingStatsResponse getStats() {
+        return rollups.snapshot();
+    }
+
+    /**
+     * Seed the rollups from the bookings table; runs once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Lock lock = seeding.writeLock();
+        lock.lock();
+        try {
+            Rollups rebuilt = new Rollups();
+            for (Object[] row : bookingRepository.aggregateBookingStats()) {
+                Dimensions dimensions = new Dimensions((Long) row[0], (String) row[1], (String) row[2],
+                        (String) row[3], (SeatCategory) row[4], (LocalDate) row[5]);
+                long bookings = ((Number) row[7]).longValue();
+                if (!((BookingStatus) row[6]).isActive()) {
+                    rebuilt.add(dimensions, new Delta(bookings, bookings, 0, 0, 0));
+                } else {
+                    rebuilt.add(dimensions, new Delta(bookings, 0, ((Number) row[8]).longValue(),
+                            Money.toCents((BigDecimal) row[9]), Money.toCents((BigDecimal) row[10])));
+                }
+            }
+            rollups = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Dimensions dimensions(Booking booking, Flight flight, Carrier carrier) {
+        return new Dimensions(carrier.getCarrierId(), carrier.getCarrierName(), flight.getOrigin(),
+                flight.getDestination(), booking.getSeatCategory(), booking.getDateOfTravel());
+    }
+
+    private static long discountCents(Booking booking) {
+        return booking.getDiscountAmount() == null ? 0 : Money.toCents(booking.getDiscountAmount());
+    }
+
+    /**
+     * Apply a change once its transaction commits, holding off seeding only while the transaction
+     * commits and the change is applied
+     */
+    private void count(Runnable change) {
+        Lock lock = seeding.readLock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                change.run();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * The buckets a booking is counted in
+     */
+    private record Dimensions(Long carrierId, String carrierName, String origin, String destination,
+                              SeatCategory seatCategory, LocalDate dateOfTravel) {}
+
+    /**
+     * A change to every counter of a bucket
+     */
+    private record Delta(long bookings, long cancellations, long seats, long revenueCents, long discountCents) {}
+
+    private record Route(String origin, String destination) {
+
+        @Override
+        public String toString() {
+            return origin + " -> " + destination;
+        }
+    }
+
+    /**
+     * The counters of one bucket
+     */
+    private static final class Rollup {
+
+        private final LongAdder bookings = new LongAdder();
+        private final LongAdder cancellations = new LongAdder();
+        private final LongAdder seats = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final LongAdder discountCents = new LongAdder();
+
+        void add(Delta delta) {
+            bookings.add(delta.bookings());
+            cancellations.add(delta.cancellations());
+            seats.add(delta.seats());
+            revenueCents.add(delta.revenueCents());
+            discountCents.add(delta.discountCents());
+        }
+
+        BookingStatsCounts snapshot() {
+            return new BookingStatsCounts(bookings.sum(), cancellations.sum(), seats.sum(),
+                    Money.toBigDecimal(revenueCents.sum()), Money.toBigDecimal(discountCents.sum()));
+        }
+    }
+
+    /**
+     * The total and the rollups per dimension. Carriers are keyed by ID and reported under the
+     * name they were last counted with.
+     */
+    private static final class Rollups {
+
+        private final Rollup total = new Rollup();
+        private final Map<Long, Rollup> byCarrier = new ConcurrentHashMap<>();
+        private final Map<Long, String> carrierNames = new ConcurrentHashMap<>();
+        private final Map<Route, Rollup> byRoute = new ConcurrentHashMap<>();
+        private final Map<SeatCategory, Rollup> bySeatCategory = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Rollup> byTravelDate = new ConcurrentHashMap<>();
+
+        void add(Dimensions dimensions, Delta delta) {
+            total.add(delta);
+            carrierNames.put(dimensions.carrierId(), dimensions.carrierName());
+            bucket(byCarrier, dimensions.carrierId()).add(delta);
+            bucket(byRoute, new Route(dimensions.origin(), dimensions.destination())).add(delta);
+            bucket(bySeatCategory, dimensions.seatCategory()).add(delta);
+            bucket(byTravelDate, dimensions.dateOfTravel()).add(delta);
+        }
+
+        BookingStatsResponse snapshot() {
+            Map<String, BookingStatsCounts> carriers = new TreeMap<>();
+            byCarrier.forEach((carrierId, rollup) -> carriers.put(carrierNames.get(carrierId), rollup.snapshot()));
+            Map<String, BookingStatsCounts> routes = new TreeMap<>();
+            byRoute.forEach((route, rollup) -> routes.put(route.toString(), rollup.snapshot()));
+            return new BookingStatsResponse(total.snapshot(), carriers, routes,
+                    snapshot(bySeatCategory, new EnumMap<>(SeatCategory.class)),
+                    snapshot(byTravelDate, new TreeMap<>()));
+        }
+
+        private static <K> Rollup bucket(Map<K, Rollup> rollups, K key) {
+            return rollups.computeIfAbsent(key, ignored -> new Rollup());
+        }
+
+        private static <K> Map<K, BookingStatsCounts> snapshot(Map<K, Rollup> rollups, Map<K, BookingStatsCounts> into) {
+            rollups.forEach((key, rollup) -> into.put(key, rollup.snapshot()));
+            return into;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.airline.flightmanagement.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-memory cache with a maximum size and a time-to-live per entry.
+ *
+ * Entries are kept in insertion order, so the oldest entry is always at the head: expired
+ * entries are trimmed from the head on every write, and when the cache is full the oldest
+ * entry is evicted. Reads ignore and drop entries whose TTL has passed. Entries dropped for
+ * either reason are counted as evictions; explicit invalidations are not.
+ */
+public class BoundedExpiringCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+    private long evictions;
+
+    public BoundedExpiringCache(int maxEntries, long ttlMs) {
+        this(maxEntries, ttlMs, System::currentTimeMillis);
+    }
+
+    public BoundedExpiringCache(int maxEntries, long ttlMs, LongSupplier clock) {
+        if (maxEntries <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMs <= clock.getAsLong()) {
+            entries.remove(key);
+            evictions++;
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long now = clock.getAsLong();
+        evictExpired(now);
+
+        // Re-inserting moves the key to the tail so its new TTL keeps the head ordering intact
+        entries.remove(key);
+        entries.put(key, new Entry<>(value, now + ttlMs));
+
+        while (entries.size() > maxEntries) {
+            Iterator<K> oldest = entries.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        evictExpired(clock.getAsLong());
+        return entries.size();
+    }
+
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAtMs > now) {
+                break;
+            }
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMs) {}
+}
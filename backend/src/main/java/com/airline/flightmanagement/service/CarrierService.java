@@ -1,11 +1,19 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.config.CacheConfig;
 import com.airline.flightmanagement.dto.CarrierDTO;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.entity.Carrier;
 import com.airline.flightmanagement.entity.DiscountType;
 import com.airline.flightmanagement.entity.RefundType;
 import com.airline.flightmanagement.repository.CarrierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -18,9 +26,25 @@ public class CarrierService {
     @Autowired
     private CarrierRepository carrierRepository;
     
+    @Autowired
+    private DiscountPolicyService discountPolicyService;
+    
+    @Autowired
+    private FareQuoteService fareQuoteService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
     /**
      * Register a new carrier
      */
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_CARRIERS, allEntries = true)
     public CarrierDTO registerCarrier(CarrierDTO carrierDTO) {
         // Check if carrier name already exists
         if (carrierRepository.existsByCarrierName(carrierDTO.getCarrierName())) {
@@ -42,6 +66,7 @@ public class CarrierService {
         
         // Save carrier
         Carrier savedCarrier = carrierRepository.save(carrier);
+        discountPolicyService.reload();
         
         // Return DTO
         return convertToDTO(savedCarrier);
@@ -50,6 +75,7 @@ public class CarrierService {
     /**
      * Get carrier by ID
      */
+    @Cacheable(cacheNames = CacheConfig.CARRIERS, key = "#carrierId")
     public CarrierDTO getCarrierById(Long carrierId) {
         Carrier carrier = carrierRepository.findById(carrierId)
                 .orElseThrow(() -> new RuntimeException("Carrier not found with ID: " + carrierId));
@@ -59,6 +85,7 @@ public class CarrierService {
     /**
      * Get carrier by name
      */
+    @Cacheable(cacheNames = CacheConfig.CARRIERS_BY_NAME, key = "#carrierName")
     public CarrierDTO getCarrierByName(String carrierName) {
         Carrier carrier = carrierRepository.findByCarrierName(carrierName)
                 .orElseThrow(() -> new RuntimeException("Carrier not found with name: " + carrierName));
@@ -66,18 +93,21 @@ public class CarrierService {
     }
     
     /**
-     * Get all carriers
+     * Get a page of carriers in ID order; without a page token the first page is returned
      */
-    public List<CarrierDTO> getAllCarriers() {
-        List<Carrier> carriers = carrierRepository.findAll();
-        return carriers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<CarrierDTO> getAllCarriers(String pageToken, Integer pageSize) {
+        int size = keysetPagination.pageSize(pageSize);
+        long afterCarrierId = keysetPagination.afterKey(KeysetPagination.CARRIERS, pageToken);
+        List<Carrier> carriers = carrierRepository.findByCarrierIdGreaterThanOrderByCarrierIdAsc(afterCarrierId,
+                keysetPagination.fetchLimit(size));
+        return keysetPagination.page(KeysetPagination.CARRIERS, carriers, size,
+                Carrier::getCarrierId, this::convertToDTO);
     }
     
     /**
      * Get active carriers
      */
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_CARRIERS)
     public List<CarrierDTO> getActiveCarriers() {
         List<Carrier> carriers = carrierRepository.findByIsActiveTrue();
         return carriers.stream()
@@ -88,6 +118,10 @@ public class CarrierService {
     /**
      * Update carrier
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARRIERS, key = "#carrierId"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_CARRIERS, allEntries = true)
+    })
     public CarrierDTO updateCarrier(Long carrierId, CarrierDTO carrierDTO) {
         Carrier existingCarrier = carrierRepository.findById(carrierId)
                 .orElseThrow(() -> new RuntimeException("Carrier not found with ID: " + carrierId));
@@ -101,6 +135,12 @@ public class CarrierService {
         // Validate discount and refund percentages
         validatePercentages(carrierDTO.getDiscountPercentage(), carrierDTO.getRefundPercentage());
         
+        // Cached flights carry the carrier name, so a rename evicts them along with the old name
+        evictCarrierName(existingCarrier.getCarrierName());
+        if (!existingCarrier.getCarrierName().equals(carrierDTO.getCarrierName())) {
+            evictCarrierFlights(carrierId);
+        }
+        
         // Update fields
         existingCarrier.setCarrierName(carrierDTO.getCarrierName());
         existingCarrier.setDiscountPercentage(carrierDTO.getDiscountPercentage());
@@ -111,6 +151,9 @@ public class CarrierService {
         
         // Save updated carrier
         Carrier updatedCarrier = carrierRepository.save(existingCarrier);
+        discountPolicyService.reload();
+        fareQuoteService.invalidateCarrier(carrierId);
+        flightRouteIndex.carrierRenamed(carrierId, updatedCarrier.getCarrierName());
         
         // Return DTO
         return convertToDTO(updatedCarrier);
@@ -119,9 +162,14 @@ public class CarrierService {
     /**
      * Delete carrier (soft delete by setting isActive to false)
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARRIERS, key = "#carrierId"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_CARRIERS, allEntries = true)
+    })
     public void deleteCarrier(Long carrierId) {
         Carrier carrier = carrierRepository.findById(carrierId)
                 .orElseThrow(() -> new RuntimeException("Carrier not found with ID: " + carrierId));
+        evictCarrierName(carrier.getCarrierName());
         
         carrier.setIsActive(false);
         carrierRepository.save(carrier);
@@ -162,6 +210,28 @@ public class CarrierService {
         }
     }
     
+    /**
+     * Evict the by-name cache entry of a carrier, which is keyed by a name the caller may not pass
+     */
+    private void evictCarrierName(String carrierName) {
+        Cache cache = cacheManager.getCache(CacheConfig.CARRIERS_BY_NAME);
+        if (cache != null) {
+            cache.evict(carrierName);
+        }
+    }
+    
+    /**
+     * Evict the cached flights operated by a carrier
+     */
+    private void evictCarrierFlights(Long carrierId) {
+        Cache cache = cacheManager.getCache(CacheConfig.FLIGHTS);
+        if (cache != null) {
+            for (FlightDTO flight : flightRouteIndex.findByCarrierId(carrierId)) {
+                cache.evict(flight.getFlightId());
+            }
+        }
+    }
+    
     /**
      * Convert entity to DTO
      */
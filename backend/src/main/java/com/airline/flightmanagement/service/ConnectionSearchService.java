@@ -0,0 +1,128 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.ConnectionItinerary;
+import com.airline.flightmanagement.dto.ConnectionLeg;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.entity.SeatCategory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds itineraries from one airport to another, directly or through connecting airports.
+ *
+ * The route graph is the flight route index: the flights departing an airport are its outgoing
+ * edges, so the graph follows flight changes as soon as they commit. Paths are expanded cheapest
+ * first, which returns itineraries in order of total fare and lets the search stop as soon as
+ * enough have been found. Seat availability comes from the in-memory seat inventory, so a search
+ * never reads the database.
+ */
+@Service
+public class ConnectionSearchService {
+
+    private static final int MAX_SEATS = 10;
+
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Value("${connection-search.max-stops:2}")
+    private int maxStops = 2;
+
+    @Value("${connection-search.max-results:20}")
+    private int maxResults = 20;
+
+    @Value("${connection-search.max-expansions:10000}")
+    private int maxExpansions = 10000;
+
+    /**
+     * Find the cheapest itineraries with enough seats on every leg, sorted by total fare. A null
+     * stop limit allows the configured maximum.
+     */
+    public List<ConnectionItinerary> findConnections(String origin, String destination, LocalDate dateOfTravel,
+                                                     SeatCategory seatCategory, int noOfSeats, Integer stopLimit) {
+        if (origin.equals(destination)) {
+            throw new RuntimeException("Origin and destination must be different");
+        }
+        if (dateOfTravel.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Date of travel must not be in the past");
+        }
+        if (noOfSeats < 1 || noOfSeats > MAX_SEATS) {
+            throw new RuntimeException("Number of seats must be between 1 and " + MAX_SEATS);
+        }
+        int stops = stopLimit == null ? maxStops : stopLimit;
+        if (stops < 0 || stops > maxStops) {
+            throw new RuntimeException("Maximum stops must be between 0 and " + maxStops);
+        }
+
+        List<ConnectionItinerary> itineraries = new ArrayList<>();
+        PriorityQueue<Path> queue = new PriorityQueue<>(Comparator.comparingLong(Path::fareCents)
+                .thenComparingInt(Path::legCount));
+        queue.add(new Path(origin, null, null, 0L, 0));
+
+        int expansions = 0;
+        while (!queue.isEmpty() && itineraries.size() < maxResults && expansions < maxExpansions) {
+            Path path = queue.poll();
+            if (path.airport().equals(destination)) {
+                itineraries.add(toItinerary(path, origin, destination, dateOfTravel, seatCategory));
+                continue;
+            }
+            if (path.legCount() > stops) {
+                continue;
+            }
+            expansions++;
+            for (FlightDTO flight : flightRouteIndex.findByOrigin(path.airport())) {
+                if (path.visits(flight.getDestination())) {
+                    continue;
+                }
+                int available = seatInventory.peekAvailableSeats(flight, dateOfTravel, seatCategory);
+                if (available < noOfSeats) {
+                    continue;
+                }
+                queue.add(new Path(flight.getDestination(), path, toLeg(flight, available),
+                        path.fareCents() + Money.toCents(flight.getAirFare()), path.legCount() + 1));
+            }
+        }
+        return itineraries;
+    }
+
+    private ConnectionLeg toLeg(FlightDTO flight, int availableSeats) {
+        return new ConnectionLeg(flight.getFlightId(), flight.getCarrierId(), flight.getCarrierName(),
+                flight.getOrigin(), flight.getDestination(), flight.getAirFare(), availableSeats);
+    }
+
+    private ConnectionItinerary toItinerary(Path path, String origin, String destination, LocalDate dateOfTravel,
+                                            SeatCategory seatCategory) {
+        List<ConnectionLeg> legs = new ArrayList<>(path.legCount());
+        for (Path step = path; step.leg() != null; step = step.previous()) {
+            legs.add(step.leg());
+        }
+        Collections.reverse(legs);
+        return new ConnectionItinerary(origin, destination, dateOfTravel, seatCategory, legs.size() - 1,
+                Money.toBigDecimal(path.fareCents()), legs);
+    }
+
+    /**
+     * A partial itinerary ending at an airport, linked back to the path it extends
+     */
+    private record Path(String airport, Path previous, ConnectionLeg leg, long fareCents, int legCount) {
+
+        boolean visits(String other) {
+            for (Path step = this; step != null; step = step.previous()) {
+                if (step.airport().equals(other)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
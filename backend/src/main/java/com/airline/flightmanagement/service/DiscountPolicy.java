@@ -0,0 +1,340 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.entity.DiscountType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable discount rules compiled into lookup tables.
+ *
+ * Every carrier gets a table indexed by advance-purchase tier, customer category and whether
+ * the booking is a bulk booking. Each cell holds the combined discount in basis points and the
+ * finished reason text, so pricing a booking is a tier scan, one array read and a little
+ * fixed-point arithmetic on cents. Carriers that were added or changed since the policy was compiled are compiled
+ * on demand, so a stale policy never prices with an outdated carrier rule.
+ */
+public final class DiscountPolicy {
+
+    public static final String NO_DISCOUNT_REASON = "No discounts applied";
+
+    private static final CustomerCategory[] CATEGORIES = CustomerCategory.values();
+
+    private final GlobalRules rules;
+    private final Map<Long, CarrierTable> tables;
+    private final CarrierTable defaultTable;
+    // Every advance boundary of the global rules and of any carrier discount type, descending
+    private final int[] bucketDays;
+
+    private DiscountPolicy(GlobalRules rules, Map<Long, CarrierTable> tables) {
+        this.rules = rules;
+        this.tables = tables;
+        this.defaultTable = CarrierTable.compile(rules, null, null);
+
+        TreeSet<Integer> boundaries = new TreeSet<>(rules.advanceTiers().keySet());
+        for (DiscountType type : DiscountType.values()) {
+            Integer days = CarrierTable.advanceDays(type);
+            if (days != null) {
+                boundaries.add(days);
+            }
+        }
+        boundaries.add(0);
+        this.bucketDays = boundaries.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compile the global rules together with each carrier's own discount rule
+     */
+    public static DiscountPolicy compile(GlobalRules rules, Collection<Carrier> carriers) {
+        Map<Long, CarrierTable> tables = new HashMap<>();
+        for (Carrier carrier : carriers) {
+            if (carrier.getCarrierId() != null) {
+                tables.put(carrier.getCarrierId(),
+                        CarrierTable.compile(rules, carrier.getDiscountType(), carrier.getDiscountPercentage()));
+            }
+        }
+        return new DiscountPolicy(rules, Map.copyOf(tables));
+    }
+
+    public GlobalRules getRules() {
+        return rules;
+    }
+
+    public int getCarrierCount() {
+        return tables.size();
+    }
+
+    /**
+     * Price the discount for a booking: the amount over all seats in cents and the reason text
+     */
+    public Discount apply(Carrier carrier, CustomerCategory customerCategory, long daysInAdvance,
+                          int noOfSeats, long airFareCents) {
+        return rate(carrier, customerCategory, daysInAdvance, noOfSeats).discount(airFareCents, noOfSeats);
+    }
+
+    /**
+     * Combined discount rate for a booking, before it is applied to a fare
+     */
+    public Rate rate(Carrier carrier, CustomerCategory customerCategory, long daysInAdvance, int noOfSeats) {
+        CarrierTable table = tableFor(carrier);
+        boolean bulk = isBulk(noOfSeats);
+        return new Rate(table.basisPoints(daysInAdvance, customerCategory, bulk),
+                table.reason(daysInAdvance, customerCategory, bulk));
+    }
+
+    public boolean isBulk(int noOfSeats) {
+        return noOfSeats >= rules.bulkMinSeats();
+    }
+
+    /**
+     * Advance-purchase bucket of a booking. The buckets split at every tier boundary any carrier
+     * can have, so all bookings in one bucket get the same advance discounts from every carrier.
+     */
+    public int advanceBucket(long daysInAdvance) {
+        for (int bucket = 0; bucket < bucketDays.length - 1; bucket++) {
+            if (daysInAdvance >= bucketDays[bucket]) {
+                return bucket;
+            }
+        }
+        return bucketDays.length - 1;
+    }
+
+    private CarrierTable tableFor(Carrier carrier) {
+        if (carrier == null) {
+            return defaultTable;
+        }
+        CarrierTable table = tables.get(carrier.getCarrierId());
+        if (table != null && table.matches(carrier.getDiscountType(), carrier.getDiscountPercentage())) {
+            return table;
+        }
+        return CarrierTable.compile(rules, carrier.getDiscountType(), carrier.getDiscountPercentage());
+    }
+
+    /**
+     * Discount for a booking; the amount covers all seats
+     */
+    public record Discount(long amountCents, String reason) {
+
+        public static final Discount NONE = new Discount(0, NO_DISCOUNT_REASON);
+
+        public BigDecimal amount() {
+            return Money.toBigDecimal(amountCents);
+        }
+    }
+
+    /**
+     * Discount rate in basis points with its reason text
+     */
+    public record Rate(int basisPoints, String reason) {
+
+        /**
+         * Apply the rate to a fare for a number of seats; never discounts more than the fare itself
+         */
+        public Discount discount(long airFareCents, int noOfSeats) {
+            if (basisPoints == 0) {
+                return Discount.NONE;
+            }
+            long amountCents = Math.min(Money.applyRate(airFareCents, (long) basisPoints * noOfSeats),
+                    Money.times(airFareCents, noOfSeats));
+            return amountCents == 0 ? Discount.NONE : new Discount(amountCents, reason);
+        }
+    }
+
+    /**
+     * Discounts that apply to every carrier, in basis points (1500 = 15%)
+     *
+     * @param advanceTiers basis points by minimum days booked ahead; the largest matching tier wins
+     * @param categoryBasisPoints basis points by customer category; missing categories get none
+     * @param bulkMinSeats seats from which a booking counts as bulk
+     * @param bulkBasisPoints basis points for bulk bookings
+     */
+    public record GlobalRules(Map<Integer, Integer> advanceTiers,
+                              Map<CustomerCategory, Integer> categoryBasisPoints,
+                              int bulkMinSeats,
+                              int bulkBasisPoints) {
+
+        public static final GlobalRules DEFAULT = new GlobalRules(
+                Map.of(30, 1500, 14, 1000, 7, 500),
+                Map.of(CustomerCategory.SILVER, 1000,
+                        CustomerCategory.GOLD, 1500,
+                        CustomerCategory.PLATINUM, 2000,
+                        CustomerCategory.PREMIUM, 2500),
+                5,
+                1000);
+
+        public GlobalRules {
+            advanceTiers = Map.copyOf(advanceTiers);
+            categoryBasisPoints = Map.copyOf(categoryBasisPoints);
+        }
+    }
+
+    /**
+     * Lookup table for one carrier. Cells are laid out as [tier][category][bulk].
+     */
+    private static final class CarrierTable {
+
+        private final DiscountType discountType;
+        private final BigDecimal discountPercentage;
+        // Tier boundaries in days, descending; a booking falls into the first tier it reaches
+        private final int[] tierDays;
+        private final int[] basisPoints;
+        private final String[] reasons;
+
+        private CarrierTable(DiscountType discountType, BigDecimal discountPercentage,
+                             int[] tierDays, int[] basisPoints, String[] reasons) {
+            this.discountType = discountType;
+            this.discountPercentage = discountPercentage;
+            this.tierDays = tierDays;
+            this.basisPoints = basisPoints;
+            this.reasons = reasons;
+        }
+
+        static CarrierTable compile(GlobalRules rules, DiscountType discountType, BigDecimal discountPercentage) {
+            int carrierBasisPoints = discountPercentage == null || discountType == null ? 0
+                    : Money.toBasisPoints(discountPercentage);
+            Integer carrierDays = advanceDays(discountType);
+
+            TreeSet<Integer> boundaries = new TreeSet<>(rules.advanceTiers().keySet());
+            if (carrierDays != null && carrierBasisPoints > 0) {
+                boundaries.add(carrierDays);
+            }
+            boundaries.add(0);
+            int[] tierDays = boundaries.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+
+            int cells = tierDays.length * CATEGORIES.length * 2;
+            int[] basisPoints = new int[cells];
+            String[] reasons = new String[cells];
+            Map<String, String> interned = new HashMap<>();
+
+            for (int tier = 0; tier < tierDays.length; tier++) {
+                int days = tierDays[tier];
+                Map.Entry<Integer, Integer> advance = advanceTier(rules, days);
+
+                for (CustomerCategory category : CATEGORIES) {
+                    int categoryPoints = rules.categoryBasisPoints().getOrDefault(category, 0);
+
+                    for (int bulk = 0; bulk < 2; bulk++) {
+                        List<String> parts = new ArrayList<>(4);
+                        int total = 0;
+
+                        if (advance != null) {
+                            total += advance.getValue();
+                            parts.add("Advance booking (" + advance.getKey() + "+ days): " + percent(advance.getValue()));
+                        }
+                        if (categoryPoints > 0) {
+                            total += categoryPoints;
+                            parts.add("Customer category (" + category + "): " + percent(categoryPoints));
+                        }
+                        if (bulk == 1 && rules.bulkBasisPoints() > 0) {
+                            total += rules.bulkBasisPoints();
+                            parts.add("Bulk booking (" + rules.bulkMinSeats() + "+ seats): " + percent(rules.bulkBasisPoints()));
+                        }
+                        if (carrierBasisPoints > 0
+                                && carrierRuleApplies(discountType, carrierDays, days, category, bulk == 1)) {
+                            total += carrierBasisPoints;
+                            parts.add("Carrier discount (" + discountType + "): " + percent(carrierBasisPoints));
+                        }
+
+                        int cell = cell(tier, category, bulk == 1);
+                        basisPoints[cell] = total;
+                        String reason = total == 0 ? NO_DISCOUNT_REASON : String.join(", ", parts);
+                        reasons[cell] = interned.computeIfAbsent(reason, r -> r);
+                    }
+                }
+            }
+
+            return new CarrierTable(discountType, discountPercentage, tierDays, basisPoints, reasons);
+        }
+
+        boolean matches(DiscountType type, BigDecimal percentage) {
+            if (discountType != type) {
+                return false;
+            }
+            if (discountPercentage == null || percentage == null) {
+                return discountPercentage == percentage;
+            }
+            return discountPercentage.compareTo(percentage) == 0;
+        }
+
+        int basisPoints(long daysInAdvance, CustomerCategory category, boolean bulk) {
+            return basisPoints[cell(tier(daysInAdvance), category, bulk)];
+        }
+
+        String reason(long daysInAdvance, CustomerCategory category, boolean bulk) {
+            return reasons[cell(tier(daysInAdvance), category, bulk)];
+        }
+
+        private int tier(long daysInAdvance) {
+            for (int tier = 0; tier < tierDays.length - 1; tier++) {
+                if (daysInAdvance >= tierDays[tier]) {
+                    return tier;
+                }
+            }
+            return tierDays.length - 1;
+        }
+
+        private static int cell(int tier, CustomerCategory category, boolean bulk) {
+            return (tier * CATEGORIES.length + category.ordinal()) * 2 + (bulk ? 1 : 0);
+        }
+
+        private static Map.Entry<Integer, Integer> advanceTier(GlobalRules rules, int days) {
+            Map.Entry<Integer, Integer> best = null;
+            for (Map.Entry<Integer, Integer> tier : rules.advanceTiers().entrySet()) {
+                if (tier.getKey() <= days && (best == null || tier.getKey() > best.getKey())) {
+                    best = tier;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Advance-purchase carrier rules apply from their day count; category rules apply to that
+         * category and every higher one; the bulk rule follows the global bulk threshold
+         */
+        private static boolean carrierRuleApplies(DiscountType type, Integer carrierDays, int days,
+                                                  CustomerCategory category, boolean bulk) {
+            if (carrierDays != null) {
+                return days >= carrierDays;
+            }
+            switch (type) {
+                case BULK:
+                    return bulk;
+                case SILVER:
+                    return category.compareTo(CustomerCategory.SILVER) >= 0;
+                case GOLD:
+                    return category.compareTo(CustomerCategory.GOLD) >= 0;
+                case PLATINUM:
+                    return category.compareTo(CustomerCategory.PLATINUM) >= 0;
+                default:
+                    return false;
+            }
+        }
+
+        private static Integer advanceDays(DiscountType type) {
+            if (type == null) {
+                return null;
+            }
+            switch (type) {
+                case THIRTY_DAYS:
+                    return 30;
+                case SIXTY_DAYS:
+                    return 60;
+                case NINETY_DAYS:
+                    return 90;
+                default:
+                    return null;
+            }
+        }
+
+        private static String percent(int basisPoints) {
+            return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString() + "%";
+        }
+    }
+}
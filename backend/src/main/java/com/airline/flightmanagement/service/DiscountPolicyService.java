@@ -0,0 +1,65 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Holds the active discount policy and recompiles it when carriers or global rules change.
+ *
+ * The policy is immutable and published through a volatile field, so pricing never locks and a
+ * booking is always priced against one consistent set of rules even while a new policy is swapped in.
+ */
+@Service
+public class DiscountPolicyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiscountPolicyService.class);
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    private volatile DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of());
+
+    /**
+     * Calculate the discount for a booking with the active policy
+     */
+    public DiscountPolicy.Discount calculate(Carrier carrier, CustomerCategory customerCategory,
+                                             long daysInAdvance, int noOfSeats, long airFareCents) {
+        return policy.apply(carrier, customerCategory, daysInAdvance, noOfSeats, airFareCents);
+    }
+
+    /**
+     * Recompile the policy from the current carriers, keeping the active global rules
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        install(DiscountPolicy.compile(policy.getRules(), carrierRepository.findAll()));
+    }
+
+    /**
+     * Replace the global rules and recompile the policy
+     */
+    public void updateGlobalRules(DiscountPolicy.GlobalRules rules) {
+        install(DiscountPolicy.compile(rules, carrierRepository.findAll()));
+    }
+
+    /**
+     * Swap in a compiled policy; bookings priced from now on use it
+     */
+    public void install(DiscountPolicy newPolicy) {
+        policy = newPolicy;
+        logger.info("Discount policy compiled for {} carriers", newPolicy.getCarrierCount());
+    }
+
+    public DiscountPolicy getPolicy() {
+        return policy;
+    }
+}
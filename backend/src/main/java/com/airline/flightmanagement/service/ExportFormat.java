@@ -0,0 +1,42 @@
+package com.airline.flightmanagement.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats supported by the streaming export endpoints
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", java.nio.charset.StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Resolve the format named by a request parameter, case-insensitively
+     */
+    public static ExportFormat fromParameter(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new RuntimeException("Unsupported export format: " + format + " (expected ndjson or csv)");
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Content-Disposition value for downloading an export of the given name
+     */
+    public String attachment(String name) {
+        return "attachment; filename=\"" + name + "." + extension + "\"";
+    }
+}
@@ -0,0 +1,209 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams flights and bookings to the client as NDJSON or CSV.
+ *
+ * Rows are read through a repository {@link Stream} of DTO projections with a JDBC fetch size,
+ * so nothing is held in the persistence context, and each row is written out before the next
+ * one is read. Memory use therefore does not depend on how many rows are exported.
+ */
+@Service
+public class ExportService {
+
+    static final List<Column<FlightDTO>> FLIGHT_COLUMNS = List.of(
+            new Column<>("flightId", FlightDTO::getFlightId),
+            new Column<>("carrierId", FlightDTO::getCarrierId),
+            new Column<>("carrierName", FlightDTO::getCarrierName),
+            new Column<>("origin", FlightDTO::getOrigin),
+            new Column<>("destination", FlightDTO::getDestination),
+            new Column<>("airFare", FlightDTO::getAirFare),
+            new Column<>("seatCapacityBusiness", FlightDTO::getSeatCapacityBusiness),
+            new Column<>("seatCapacityEconomy", FlightDTO::getSeatCapacityEconomy),
+            new Column<>("seatCapacityExecutive", FlightDTO::getSeatCapacityExecutive)
+    );
+
+    static final List<Column<BookFlightResponse>> BOOKING_COLUMNS = List.of(
+            new Column<>("bookingId", BookFlightResponse::getBookingId),
+            new Column<>("flightId", BookFlightResponse::getFlightId),
+            new Column<>("userId", BookFlightResponse::getUserId),
+            new Column<>("noOfSeats", BookFlightResponse::getNoOfSeats),
+            new Column<>("seatCategory", BookFlightResponse::getSeatCategory),
+            new Column<>("dateOfTravel", BookFlightResponse::getDateOfTravel),
+            new Column<>("bookingAmount", BookFlightResponse::getBookingAmount),
+            new Column<>("discountAmount", BookFlightResponse::getDiscountAmount),
+            new Column<>("discountReason", BookFlightResponse::getDiscountReason),
+            new Column<>("bookingStatus", BookFlightResponse::getBookingStatus),
+            new Column<>("bookingDate", BookFlightResponse::getBookingDate),
+            new Column<>("origin", BookFlightResponse::getOrigin),
+            new Column<>("destination", BookFlightResponse::getDestination),
+            new Column<>("carrierName", BookFlightResponse::getCarrierName),
+            new Column<>("originalAirFare", BookFlightResponse::getOriginalAirFare)
+    );
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Export all flights in flight ID order
+     */
+    public StreamingResponseBody exportFlights(ExportFormat format) {
+        return out -> exportInReadOnlyTransaction(flightRepository::streamAllForExport, format, FLIGHT_COLUMNS, out);
+    }
+
+    /**
+     * Export all bookings, with their flight and carrier, in booking ID order
+     */
+    public StreamingResponseBody exportBookings(ExportFormat format) {
+        return out -> exportInReadOnlyTransaction(bookingRepository::streamAllForExport, format, BOOKING_COLUMNS, out);
+    }
+
+    /**
+     * The body is written after the controller returns, so the stream needs its own transaction
+     */
+    private <T> void exportInReadOnlyTransaction(Supplier<Stream<T>> rows, ExportFormat format,
+                                                 List<Column<T>> columns, OutputStream out) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get()) {
+                write(stream, format, columns, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Write rows to the output one at a time; the output is flushed but not closed
+     */
+    static <T> long write(Stream<T> rows, ExportFormat format, List<Column<T>> columns,
+                          OutputStream out) throws IOException {
+        return format == ExportFormat.CSV
+                ? writeCsv(rows.iterator(), columns, out)
+                : writeNdjson(rows.iterator(), columns, out);
+    }
+
+    private static <T> long writeNdjson(Iterator<T> rows, List<Column<T>> columns,
+                                        OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                T row = rows.next();
+                generator.writeStartObject();
+                for (Column<T> column : columns) {
+                    generator.writeFieldName(column.name());
+                    writeJsonValue(generator, column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+
+    private static <T> long writeCsv(Iterator<T> rows, List<Column<T>> columns,
+                                     OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writeCsvField(writer, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Quote a field when it contains a separator, quote or line break, doubling embedded quotes (RFC 4180)
+     */
+    private static void writeCsvField(Writer writer, String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * A named export column and how to read it from a row
+     */
+    record Column<T>(String name, Function<T, Object> value) {}
+}
@@ -0,0 +1,215 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.FareQuote;
+import com.airline.flightmanagement.dto.FareQuoteResult;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prices fares without booking, for showing prices next to search results.
+ *
+ * A quote only depends on the flight's fare and carrier, the advance-purchase bucket, the
+ * customer category and whether the booking is a bulk booking, so the discount rate is cached
+ * under exactly that key. Each cached rate remembers the flight and carrier versions it was
+ * computed from; updating a flight or carrier bumps its version, which invalidates precisely
+ * the quotes that depend on it.
+ */
+@Service
+public class FareQuoteService {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DiscountPolicyService discountPolicyService;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${quote.max-requests:500}")
+    private int maxRequests = 500;
+
+    private final BoundedExpiringCache<QuoteKey, CachedRate> cache;
+
+    private final Map<Long, AtomicLong> flightVersions = new ConcurrentHashMap<>();
+
+    private final Map<Long, AtomicLong> carrierVersions = new ConcurrentHashMap<>();
+
+    public FareQuoteService(@Value("${quote.cache-max-entries:50000}") int cacheMaxEntries,
+                            @Value("${quote.cache-ttl-seconds:3600}") long cacheTtlSeconds) {
+        this.cache = new BoundedExpiringCache<>(cacheMaxEntries, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Quote fares for a user. Every request gets its own result; an invalid request or unknown
+     * flight does not affect the others.
+     */
+    @Transactional(readOnly = true)
+    public List<FareQuoteResult> quoteFares(List<BookFlightRequest> requests, Long userId) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("Quote request must contain at least one fare");
+        }
+        if (requests.size() > maxRequests) {
+            throw new RuntimeException("Quote request cannot contain more than " + maxRequests + " fares");
+        }
+
+        CustomerCategory customerCategory = userRepository.findCustomerCategoryByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        DiscountPolicy policy = discountPolicyService.getPolicy();
+        LocalDate today = LocalDate.now();
+
+        FareQuoteResult[] results = new FareQuoteResult[requests.size()];
+        Map<Long, List<Integer>> misses = new LinkedHashMap<>();
+        Map<Long, Long> missFlightVersions = new HashMap<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            BookFlightRequest request = requests.get(index);
+            if (request == null) {
+                results[index] = FareQuoteResult.failed(index, "Quote request is required");
+                continue;
+            }
+
+            Set<ConstraintViolation<BookFlightRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[index] = FareQuoteResult.failed(index, violations.iterator().next().getMessage());
+                continue;
+            }
+
+            CachedRate cached = cache.get(quoteKey(policy, request, customerCategory, today));
+            if (cached != null && isCurrent(cached, policy, request.getFlightId())) {
+                results[index] = FareQuoteResult.quoted(index, buildQuote(request, cached));
+                continue;
+            }
+
+            // Versions are read before the flight is loaded, so an update racing the load leaves the entry stale
+            missFlightVersions.computeIfAbsent(request.getFlightId(), id -> version(flightVersions, id));
+            misses.computeIfAbsent(request.getFlightId(), id -> new ArrayList<>()).add(index);
+        }
+
+        if (!misses.isEmpty()) {
+            Map<Long, Long> missCarrierVersions = new HashMap<>();
+            Map<Long, Flight> flights = new HashMap<>();
+            for (Flight flight : flightRepository.findAllWithCarrierByFlightIdIn(misses.keySet())) {
+                flights.put(flight.getFlightId(), flight);
+            }
+
+            for (Map.Entry<Long, List<Integer>> miss : misses.entrySet()) {
+                Flight flight = flights.get(miss.getKey());
+                for (Integer index : miss.getValue()) {
+                    if (flight == null) {
+                        results[index] = FareQuoteResult.failed(index, "Flight not found with id: " + miss.getKey());
+                        continue;
+                    }
+
+                    BookFlightRequest request = requests.get(index);
+                    Long carrierId = flight.getCarrier().getCarrierId();
+                    long daysInAdvance = ChronoUnit.DAYS.between(today, request.getDateOfTravel());
+                    CachedRate rate = new CachedRate(policy.getRules(),
+                            missFlightVersions.get(flight.getFlightId()), carrierId,
+                            missCarrierVersions.computeIfAbsent(carrierId, id -> version(carrierVersions, id)),
+                            Money.toCents(flight.getAirFare()),
+                            policy.rate(flight.getCarrier(), customerCategory, daysInAdvance, request.getNoOfSeats()));
+                    cache.put(quoteKey(policy, request, customerCategory, today), rate);
+                    results[index] = FareQuoteResult.quoted(index, buildQuote(request, rate));
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Invalidate cached quotes for a flight whose fare or carrier changed
+     */
+    public void invalidateFlight(Long flightId) {
+        bumpVersion(flightVersions, flightId);
+    }
+
+    /**
+     * Invalidate cached quotes for every flight of a carrier whose discount rule changed
+     */
+    public void invalidateCarrier(Long carrierId) {
+        bumpVersion(carrierVersions, carrierId);
+    }
+
+    /**
+     * Bump a version now and, inside a transaction, again once it commits: a quote computed from
+     * the old row while the update was still uncommitted is then invalidated as well
+     */
+    private void bumpVersion(Map<Long, AtomicLong> versions, Long id) {
+        AtomicLong version = versions.computeIfAbsent(id, key -> new AtomicLong());
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private QuoteKey quoteKey(DiscountPolicy policy, BookFlightRequest request,
+                              CustomerCategory customerCategory, LocalDate today) {
+        long daysInAdvance = ChronoUnit.DAYS.between(today, request.getDateOfTravel());
+        return new QuoteKey(request.getFlightId(), policy.advanceBucket(daysInAdvance), customerCategory,
+                policy.isBulk(request.getNoOfSeats()));
+    }
+
+    private boolean isCurrent(CachedRate cached, DiscountPolicy policy, Long flightId) {
+        return cached.rules() == policy.getRules()
+                && cached.flightVersion() == version(flightVersions, flightId)
+                && cached.carrierVersion() == version(carrierVersions, cached.carrierId());
+    }
+
+    private static long version(Map<Long, AtomicLong> versions, Long id) {
+        AtomicLong version = versions.get(id);
+        return version == null ? 0 : version.get();
+    }
+
+    private FareQuote buildQuote(BookFlightRequest request, CachedRate rate) {
+        long originalCents = Money.times(rate.airFareCents(), request.getNoOfSeats());
+        DiscountPolicy.Discount discount = rate.rate().discount(rate.airFareCents(), request.getNoOfSeats());
+        return new FareQuote(
+                request.getFlightId(),
+                request.getDateOfTravel(),
+                request.getSeatCategory(),
+                request.getNoOfSeats(),
+                Money.toBigDecimal(originalCents),
+                discount.amount(),
+                Money.toBigDecimal(originalCents - discount.amountCents()),
+                discount.reason()
+        );
+    }
+
+    private record QuoteKey(Long flightId, int advanceBucket, CustomerCategory customerCategory, boolean bulk) {}
+
+    private record CachedRate(DiscountPolicy.GlobalRules rules, long flightVersion, Long carrierId,
+                              long carrierVersion, long airFareCents, DiscountPolicy.Rate rate) {}
+}
@@ -0,0 +1,502 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.AirportSuggestion;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of all flights by route, origin, destination and carrier, serving the flight
+ * search endpoints without touching the database.
+ *
+ * Each key maps to an array of flights sorted by flight ID. Arrays are never modified in place:
+ * a change replaces the affected arrays, so searches read without locking while changes are
+ * applied one at a time. Airport and carrier names are interned so every flight on a route
+ * shares the same strings. Airports are also kept in an array sorted by lower-cased name, so
+ * airports starting with a prefix are found with a binary search. Each route also keeps its
+ * flights sorted by fare next to an array of their fares in cents, so a fare range is sliced out
+ * with two binary searches. Changes made inside a transaction are applied once it commits.
+ * Returned lists and flights are shared by all callers and must not be modified.
+ */
+@Component
+public class FlightRouteIndex {
+
+    private static final FlightDTO[] NO_FLIGHTS = new FlightDTO[0];
+
+    private static final Airport[] NO_AIRPORTS = new Airport[0];
+
+    private static final FareIndex NO_FARES = new FareIndex(new long[0], NO_FLIGHTS);
+
+    private static final Comparator<FlightDTO> BY_FLIGHT_ID = Comparator.comparing(FlightDTO::getFlightId);
+
+    private static final Comparator<Airport> BY_KEY = Comparator.comparing(Airport::key).thenComparing(Airport::name);
+
+    private static final Comparator<Airport> BY_FLIGHTS = Comparator.comparingInt(Airport::flights).reversed()
+            .thenComparing(BY_KEY);
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    private volatile Tables tables = new Tables();
+
+    /**
+     * Flights from an origin to a destination
+     */
+    public List<FlightDTO> findByRoute(String origin, String destination) {
+        return view(lookup(tables.byRoute, new Route(origin, destination)));
+    }
+
+    /**
+     * Flights on a route with a fare from minCents to maxCents, both inclusive, ordered by fare and
+     * then flight ID, optionally only those of one carrier. Returns at most limit flights, starting
+     * after the given position in that order, or at the first flight when it is null.
+     */
+    public List<FlightDTO> findByRouteAndFare(String origin, String destination, long minCents, long maxCents,
+                                              Long carrierId, boolean descending, FareKey after, int limit) {
+        FareIndex index = tables.faresByRoute.get(new Route(origin, destination));
+        if (index == null) {
+            return List.of();
+        }
+        // Fares before minCents and fares up to maxCents, ignoring flight IDs
+        int from = index.countUpTo(minCents, Long.MIN_VALUE);
+        int to = index.countUpTo(maxCents, Long.MAX_VALUE);
+
+        List<FlightDTO> flights = new ArrayList<>(Math.max(0, Math.min(limit, to - from)));
+        if (descending) {
+            int start = after == null ? to : Math.min(to, index.countUpTo(after.fareCents(), after.flightId() - 1));
+            for (int i = start - 1; i >= from && flights.size() < limit; i--) {
+                collect(flights, index.flights()[i], carrierId);
+            }
+        } else {
+            int start = after == null ? from : Math.max(from, index.countUpTo(after.fareCents(), after.flightId()));
+            for (int i = start; i < to && flights.size() < limit; i++) {
+                collect(flights, index.flights()[i], carrierId);
+            }
+        }
+        return Collections.unmodifiableList(flights);
+    }
+
+    /**
+     * Flights departing from an origin
+     */
+    public List<FlightDTO> findByOrigin(String origin) {
+        return view(lookup(tables.byOrigin, origin));
+    }
+
+    /**
+     * Flights arriving at a destination
+     */
+    public List<FlightDTO> findByDestination(String destination) {
+        return view(lookup(tables.byDestination, destination));
+    }
+
+    /**
+     * Flights operated by a carrier
+     */
+    public List<FlightDTO> findByCarrierId(Long carrierId) {
+        return view(lookup(tables.byCarrier, carrierId));
+    }
+
+    /**
+     * Flights operated by the carrier with the given name
+     */
+    public List<FlightDTO> findByCarrierName(String carrierName) {
+        Long carrierId = lookup(tables.carrierIdsByName, carrierName);
+        return carrierId == null ? List.of() : findByCarrierId(carrierId);
+    }
+
+    /**
+     * Airports whose name starts with a prefix, ignoring case, ranked by the number of flights
+     * departing from or arriving at them
+     */
+    public List<AirportSuggestion> findAirports(String prefix, int limit) {
+        Airport[] airports = tables.airports;
+        String key = prefix.toLowerCase(Locale.ROOT);
+        int position = Arrays.binarySearch(airports, new Airport(key, "", 0), BY_KEY);
+        int start = position >= 0 ? position : -position - 1;
+        int end = start;
+        while (end < airports.length && airports[end].key().startsWith(key)) {
+            end++;
+        }
+        return Arrays.stream(airports, start, end)
+                .sorted(BY_FLIGHTS)
+                .limit(limit)
+                .map(airport -> new AirportSuggestion(airport.name(), airport.flights()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Look up one flight
+     */
+    public FlightDTO findById(Long flightId) {
+        return lookup(tables.flights, flightId);
+    }
+
+    /**
+     * Number of indexed flights
+     */
+    public int size() {
+        return tables.flights.size();
+    }
+
+    /**
+     * Index a registered or updated flight
+     */
+    public void flightSaved(FlightDTO flight) {
+        FlightDTO indexed = intern(flight);
+        afterCommit(() -> put(indexed));
+    }
+
+    /**
+     * Drop a deleted flight from the index
+     */
+    public void flightDeleted(Long flightId) {
+        afterCommit(() -> remove(flightId));
+    }
+
+    /**
+     * Re-index a renamed carrier's flights under its new name
+     */
+    public void carrierRenamed(Long carrierId, String carrierName) {
+        afterCommit(() -> rename(carrierId, carrierName));
+    }
+
+    /**
+     * Load every flight; runs once the application is ready, before searches are served
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Tables rebuilt = new Tables();
+        try (Stream<FlightDTO> flights = flightRepository.streamAllForExport()) {
+            flights.forEach(flight -> rebuilt.put(intern(flight)));
+        }
+        tables = rebuilt;
+    }
+
+    private synchronized void put(FlightDTO flight) {
+        tables.put(flight);
+    }
+
+    private synchronized void remove(Long flightId) {
+        tables.remove(flightId);
+    }
+
+    private synchronized void rename(Long carrierId, String carrierName) {
+        Tables current = tables;
+        String name = intern(carrierName);
+        for (FlightDTO flight : current.byCarrier.getOrDefault(carrierId, NO_FLIGHTS)) {
+            FlightDTO renamed = copy(flight);
+            renamed.setCarrierName(name);
+            current.put(renamed);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * A private copy of the flight sharing interned name strings
+     */
+    private FlightDTO intern(FlightDTO flight) {
+        FlightDTO indexed = copy(flight);
+        indexed.setOrigin(intern(flight.getOrigin()));
+        indexed.setDestination(intern(flight.getDestination()));
+        indexed.setCarrierName(intern(flight.getCarrierName()));
+        return indexed;
+    }
+
+    private String intern(String name) {
+        return name == null ? null : names.computeIfAbsent(name, Function.identity());
+    }
+
+    private static FlightDTO copy(FlightDTO flight) {
+        return new FlightDTO(flight.getFlightId(), flight.getCarrierId(), flight.getCarrierName(),
+                flight.getOrigin(), flight.getDestination(), flight.getAirFare(),
+                flight.getSeatCapacityBusiness(), flight.getSeatCapacityEconomy(), flight.getSeatCapacityExecutive());
+    }
+
+    private static void collect(List<FlightDTO> flights, FlightDTO flight, Long carrierId) {
+        if (carrierId == null || carrierId.equals(flight.getCarrierId())) {
+            flights.add(flight);
+        }
+    }
+
+    private static long fareCents(FlightDTO flight) {
+        return Money.toCents(flight.getAirFare());
+    }
+
+    private static <K, V> V lookup(Map<K, V> table, K key) {
+        return key == null ? null : table.get(key);
+    }
+
+    private static List<FlightDTO> view(FlightDTO[] flights) {
+        return flights == null ? List.of() : Collections.unmodifiableList(Arrays.asList(flights));
+    }
+
+    private record Route(String origin, String destination) {}
+
+    /**
+     * A position in fare order: the fare in cents and the flight ID of a flight
+     */
+    public record FareKey(long fareCents, long flightId) {
+
+        public static FareKey of(FlightDTO flight) {
+            return new FareKey(FlightRouteIndex.fareCents(flight), flight.getFlightId());
+        }
+    }
+
+    /**
+     * A route's flights sorted by fare and then flight ID, with their fares in cents at the same positions
+     */
+    private record FareIndex(long[] fareCents, FlightDTO[] flights) {
+
+        /**
+         * Number of flights whose fare and flight ID come at or before the given ones
+         */
+        int countUpTo(long cents, long flightId) {
+            int low = 0;
+            int high = fareCents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (fareCents[mid] < cents || (fareCents[mid] == cents && flights[mid].getFlightId() <= flightId)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * A copy with the flight inserted at the position of its fare and flight ID
+         */
+        FareIndex with(FlightDTO flight) {
+            long cents = FlightRouteIndex.fareCents(flight);
+            int position = countUpTo(cents, flight.getFlightId());
+            int length = flights.length;
+            long[] updatedCents = new long[length + 1];
+            FlightDTO[] updatedFlights = new FlightDTO[length + 1];
+            System.arraycopy(fareCents, 0, updatedCents, 0, position);
+            System.arraycopy(flights, 0, updatedFlights, 0, position);
+            updatedCents[position] = cents;
+            updatedFlights[position] = flight;
+            System.arraycopy(fareCents, position, updatedCents, position + 1, length - position);
+            System.arraycopy(flights, position, updatedFlights, position + 1, length - position);
+            return new FareIndex(updatedCents, updatedFlights);
+        }
+
+        /**
+         * A copy without an indexed flight, found by the fare it was indexed with
+         */
+        FareIndex without(FlightDTO flight) {
+            int position = countUpTo(FlightRouteIndex.fareCents(flight), flight.getFlightId()) - 1;
+            if (position < 0 || !flights[position].getFlightId().equals(flight.getFlightId())) {
+                return this;
+            }
+            int length = flights.length;
+            long[] updatedCents = new long[length - 1];
+            FlightDTO[] updatedFlights = new FlightDTO[length - 1];
+            System.arraycopy(fareCents, 0, updatedCents, 0, position);
+            System.arraycopy(flights, 0, updatedFlights, 0, position);
+            System.arraycopy(fareCents, position + 1, updatedCents, position, length - position - 1);
+            System.arraycopy(flights, position + 1, updatedFlights, position, length - position - 1);
+            return new FareIndex(updatedCents, updatedFlights);
+        }
+    }
+
+    /**
+     * An airport with the number of flights departing from or arriving at it
+     */
+    private record Airport(String key, String name, int flights) {}
+
+    /**
+     * The index tables; only modified while holding the index lock
+     */
+    private static final class Tables {
+
+        private final Map<Long, FlightDTO> flights = new ConcurrentHashMap<>();
+        private final Map<Route, FlightDTO[]> byRoute = new ConcurrentHashMap<>();
+        private final Map<Route, FareIndex> faresByRoute = new ConcurrentHashMap<>();
+        private final Map<String, FlightDTO[]> byOrigin = new ConcurrentHashMap<>();
+        private final Map<String, FlightDTO[]> byDestination = new ConcurrentHashMap<>();
+        private final Map<Long, FlightDTO[]> byCarrier = new ConcurrentHashMap<>();
+        private final Map<String, Long> carrierIdsByName = new ConcurrentHashMap<>();
+        private volatile Airport[] airports = NO_AIRPORTS;
+
+        /**
+         * Index a new or changed flight. Every key it is filed under gets its replacement array in
+         * a single write, so a concurrent reader sees the flight before or after the change but
+         * never without it. A flight that moved keys is added under the new key before it is
+         * dropped from the old one.
+         */
+        void put(FlightDTO flight) {
+            FlightDTO old = flights.put(flight.getFlightId(), flight);
+            Route route = new Route(flight.getOrigin(), flight.getDestination());
+            Route oldRoute = old == null ? null : new Route(old.getOrigin(), old.getDestination());
+            replace(byRoute, oldRoute, route, flight);
+            replaceFare(oldRoute, route, old, flight);
+            replace(byOrigin, old == null ? null : old.getOrigin(), flight.getOrigin(), flight);
+            replace(byDestination, old == null ? null : old.getDestination(), flight.getDestination(), flight);
+            replace(byCarrier, old == null ? null : old.getCarrierId(), flight.getCarrierId(), flight);
+
+            // Map the carrier's current name before dropping any earlier name it was known by
+            Long carrierId = flight.getCarrierId();
+            carrierIdsByName.put(flight.getCarrierName(), carrierId);
+            carrierIdsByName.entrySet().removeIf(entry -> entry.getValue().equals(carrierId)
+                    && !entry.getKey().equals(flight.getCarrierName()));
+            if (old != null && !old.getCarrierId().equals(carrierId) && !byCarrier.containsKey(old.getCarrierId())) {
+                carrierIdsByName.remove(old.getCarrierName(), old.getCarrierId());
+            }
+
+            countAirport(flight.getOrigin());
+            countAirport(flight.getDestination());
+            if (old != null) {
+                countAirport(old.getOrigin());
+                countAirport(old.getDestination());
+            }
+        }
+
+        void remove(Long flightId) {
+            FlightDTO flight = flights.remove(flightId);
+            if (flight == null) {
+                return;
+            }
+            Route route = new Route(flight.getOrigin(), flight.getDestination());
+            drop(byRoute, route, flightId);
+            dropFare(route, flight);
+            drop(byOrigin, flight.getOrigin(), flightId);
+            drop(byDestination, flight.getDestination(), flightId);
+            drop(byCarrier, flight.getCarrierId(), flightId);
+            if (!byCarrier.containsKey(flight.getCarrierId())) {
+                carrierIdsByName.remove(flight.getCarrierName(), flight.getCarrierId());
+            }
+            countAirport(flight.getOrigin());
+            countAirport(flight.getDestination());
+        }
+
+        /**
+         * File a flight in its route's fare index, replacing the entry it was indexed with before
+         */
+        private void replaceFare(Route oldRoute, Route route, FlightDTO old, FlightDTO flight) {
+            FareIndex current = faresByRoute.getOrDefault(route, NO_FARES);
+            if (route.equals(oldRoute)) {
+                current = current.without(old);
+            }
+            faresByRoute.put(route, current.with(flight));
+            if (oldRoute != null && !oldRoute.equals(route)) {
+                dropFare(oldRoute, old);
+            }
+        }
+
+        private void dropFare(Route route, FlightDTO flight) {
+            FareIndex current = faresByRoute.get(route);
+            if (current == null) {
+                return;
+            }
+            FareIndex updated = current.without(flight);
+            if (updated.flights().length == 0) {
+                faresByRoute.remove(route);
+            } else if (updated != current) {
+                faresByRoute.put(route, updated);
+            }
+        }
+
+        /**
+         * Update an airport's flight count, adding it to or dropping it from the sorted airports
+         */
+        private void countAirport(String name) {
+            int flights = byOrigin.getOrDefault(name, NO_FLIGHTS).length
+                    + byDestination.getOrDefault(name, NO_FLIGHTS).length;
+            Airport airport = new Airport(name.toLowerCase(Locale.ROOT), name, flights);
+            Airport[] current = airports;
+            int position = Arrays.binarySearch(current, airport, BY_KEY);
+            if (position >= 0 && flights > 0) {
+                Airport[] updated = current.clone();
+                updated[position] = airport;
+                airports = updated;
+            } else if (position >= 0) {
+                Airport[] updated = new Airport[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, position);
+                System.arraycopy(current, position + 1, updated, position, updated.length - position);
+                airports = updated;
+            } else if (flights > 0) {
+                int insertAt = -position - 1;
+                Airport[] updated = new Airport[current.length + 1];
+                System.arraycopy(current, 0, updated, 0, insertAt);
+                updated[insertAt] = airport;
+                System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+                airports = updated;
+            }
+        }
+
+        /**
+         * File a flight under a key, replacing its entry there if it has one, then drop it from the
+         * key it was filed under before if that differs
+         */
+        private static <K> void replace(Map<K, FlightDTO[]> table, K oldKey, K key, FlightDTO flight) {
+            FlightDTO[] current = table.getOrDefault(key, NO_FLIGHTS);
+            int position = Arrays.binarySearch(current, flight, BY_FLIGHT_ID);
+            FlightDTO[] updated;
+            if (position >= 0) {
+                updated = current.clone();
+                updated[position] = flight;
+            } else {
+                int insertAt = -position - 1;
+                updated = new FlightDTO[current.length + 1];
+                System.arraycopy(current, 0, updated, 0, insertAt);
+                updated[insertAt] = flight;
+                System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+            }
+            table.put(key, updated);
+            if (oldKey != null && !oldKey.equals(key)) {
+                drop(table, oldKey, flight.getFlightId());
+            }
+        }
+
+        private static <K> void drop(Map<K, FlightDTO[]> table, K key, Long flightId) {
+            FlightDTO[] current = table.get(key);
+            if (current == null) {
+                return;
+            }
+            FlightDTO[] updated = Arrays.stream(current)
+                    .filter(flight -> !flight.getFlightId().equals(flightId))
+                    .toArray(FlightDTO[]::new);
+            if (updated.length == 0) {
+                table.remove(key);
+            } else {
+                table.put(key, updated);
+            }
+        }
+    }
+}
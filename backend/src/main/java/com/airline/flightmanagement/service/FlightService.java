@@ -1,16 +1,31 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.config.CacheConfig;
+import com.airline.flightmanagement.dto.AirportSuggestion;
 import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.entity.Flight;
 import com.airline.flightmanagement.entity.Carrier;
 import com.airline.flightmanagement.repository.FlightRepository;
 import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +38,32 @@ public class FlightService {
     @Autowired
     private CarrierRepository carrierRepository;
     
+    @Autowired
+    private FareQuoteService fareQuoteService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+    
+    @Autowired
+    private SeatInventory seatInventory;
+    
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+    
+    @Autowired
+    private BookingStatsService bookingStatsService;
+    
+    private static final int MAX_SEATS = 10;
+    
+    @Value("${autocomplete.default-limit:10}")
+    private int defaultSuggestionLimit = 10;
+    
+    @Value("${autocomplete.max-limit:50}")
+    private int maxSuggestionLimit = 50;
+    
     // Register a new flight
     public FlightDTO registerFlight(FlightDTO flightDTO) {
         // Validate carrier exists
@@ -40,25 +81,29 @@ public class FlightService {
         );
         
         Flight savedFlight = flightRepository.save(flight);
-        return convertToDTO(savedFlight);
+        FlightDTO savedFlightDTO = convertToDTO(savedFlight);
+        flightRouteIndex.flightSaved(savedFlightDTO);
+        return savedFlightDTO;
     }
     
-    // Get all flights
+    // Get a page of flights in ID order; without a page token the first page is returned
     @Transactional(readOnly = true)
-    public List<FlightDTO> getAllFlights() {
-        return flightRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public KeysetPage<FlightDTO> getAllFlights(String pageToken, Integer pageSize) {
+        int size = keysetPagination.pageSize(pageSize);
+        long afterFlightId = keysetPagination.afterKey(KeysetPagination.FLIGHTS, pageToken);
+        List<FlightDTO> flights = flightRepository.findPageAfter(afterFlightId, keysetPagination.fetchLimit(size));
+        return keysetPagination.page(KeysetPagination.FLIGHTS, flights, size, FlightDTO::getFlightId, Function.identity());
     }
     
-    // Get flight by ID
+    // Get flight by ID; found flights are cached until they are updated or deleted
+    @Cacheable(cacheNames = CacheConfig.FLIGHTS, key = "#flightId", unless = "#result == null")
     @Transactional(readOnly = true)
     public Optional<FlightDTO> getFlightById(Long flightId) {
-        return flightRepository.findById(flightId)
-                .map(this::convertToDTO);
+        return flightRepository.findFlightDTO(flightId);
     }
     
     // Update flight
+    @CacheEvict(cacheNames = CacheConfig.FLIGHTS, key = "#flightId")
     public FlightDTO updateFlight(Long flightId, FlightDTO flightDTO) {
         Flight existingFlight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new RuntimeException("Flight not found with id: " + flightId));
@@ -67,6 +112,14 @@ public class FlightService {
         Carrier carrier = carrierRepository.findById(flightDTO.getCarrierId())
                 .orElseThrow(() -> new RuntimeException("Carrier not found with id: " + flightDTO.getCarrierId()));
         
+        boolean capacityChanged = !Objects.equals(existingFlight.getSeatCapacityEconomy(), flightDTO.getSeatCapacityEconomy())
+                || !Objects.equals(existingFlight.getSeatCapacityBusiness(), flightDTO.getSeatCapacityBusiness())
+                || !Objects.equals(existingFlight.getSeatCapacityExecutive(), flightDTO.getSeatCapacityExecutive());
+        
+        boolean moved = !Objects.equals(existingFlight.getCarrier().getCarrierId(), carrier.getCarrierId())
+                || !Objects.equals(existingFlight.getOrigin(), flightDTO.getOrigin())
+                || !Objects.equals(existingFlight.getDestination(), flightDTO.getDestination());
+        
         existingFlight.setCarrier(carrier);
         existingFlight.setOrigin(flightDTO.getOrigin());
         existingFlight.setDestination(flightDTO.getDestination());
@@ -76,55 +129,114 @@ public class FlightService {
         existingFlight.setSeatCapacityExecutive(flightDTO.getSeatCapacityExecutive());
         
         Flight updatedFlight = flightRepository.save(existingFlight);
-        return convertToDTO(updatedFlight);
+        fareQuoteService.invalidateFlight(flightId);
+        if (capacityChanged) {
+            // Departures already in the seat inventory keep their capacity until told otherwise
+            seatInventory.flightUpdated(updatedFlight);
+            availabilityCalendarService.invalidateFlight(flightId);
+        }
+        if (moved) {
+            // Booking statistics are bucketed by the flight's carrier and route
+            bookingStatsService.flightMoved();
+        }
+        FlightDTO updatedFlightDTO = convertToDTO(updatedFlight);
+        flightRouteIndex.flightSaved(updatedFlightDTO);
+        return updatedFlightDTO;
     }
     
     // Delete flight
+    @CacheEvict(cacheNames = CacheConfig.FLIGHTS, key = "#flightId")
     public void deleteFlight(Long flightId) {
         if (!flightRepository.existsById(flightId)) {
             throw new RuntimeException("Flight not found with id: " + flightId);
         }
         flightRepository.deleteById(flightId);
+        fareQuoteService.invalidateFlight(flightId);
+        flightRouteIndex.flightDeleted(flightId);
     }
     
-    // Search flights by origin and destination
-    @Transactional(readOnly = true)
+    // Search flights by origin and destination; searches are served from the route index without a transaction
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<FlightDTO> searchFlights(String origin, String destination) {
-        return flightRepository.findByOriginAndDestination(origin, destination).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return flightRouteIndex.findByRoute(origin, destination);
     }
     
-    // Get flights by carrier
+    // Search a route's flights within a fare range, optionally of one carrier, a page at a time in fare order
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public KeysetPage<FlightDTO> searchFlightsByFare(String origin, String destination, BigDecimal minFare,
+                                                     BigDecimal maxFare, Long carrierId, Sort.Direction direction,
+                                                     String pageToken, Integer pageSize) {
+        validateFareRange(minFare, maxFare);
+        int size = keysetPagination.pageSize(pageSize);
+        long[] after = keysetPagination.afterKeys(KeysetPagination.FLIGHT_FARES, pageToken, 2);
+        
+        // Partial cents narrow the range: the minimum rounds up and the maximum rounds down
+        List<FlightDTO> flights = flightRouteIndex.findByRouteAndFare(origin, destination,
+                minFare == null ? 0 : cents(minFare, RoundingMode.CEILING),
+                maxFare == null ? Long.MAX_VALUE : cents(maxFare, RoundingMode.FLOOR),
+                carrierId, direction == Sort.Direction.DESC,
+                after == null ? null : new FlightRouteIndex.FareKey(after[0], after[1]), size + 1);
+        return keysetPagination.compositePage(KeysetPagination.FLIGHT_FARES, flights, size, flight -> {
+            FlightRouteIndex.FareKey key = FlightRouteIndex.FareKey.of(flight);
+            return new long[]{key.fareCents(), key.flightId()};
+        });
+    }
+    
+    // Query flights by any combination of filters in one statement, a page at a time in ID order
     @Transactional(readOnly = true)
+    public KeysetPage<FlightDTO> queryFlights(FlightSearchCriteria criteria, String pageToken, Integer pageSize) {
+        validateFareRange(criteria.getMinFare(), criteria.getMaxFare());
+        if (criteria.getDateOfTravel() != null) {
+            if (criteria.getDateOfTravel().isBefore(LocalDate.now())) {
+                throw new RuntimeException("Date of travel must not be in the past");
+            }
+            if (criteria.getNoOfSeats() < 1 || criteria.getNoOfSeats() > MAX_SEATS) {
+                throw new RuntimeException("Number of seats must be between 1 and " + MAX_SEATS);
+            }
+        }
+        int size = keysetPagination.pageSize(pageSize);
+        long afterFlightId = keysetPagination.afterKey(KeysetPagination.FLIGHT_QUERY, pageToken);
+        List<Flight> flights = flightRepository.findBy(FlightSpecifications.matching(criteria, afterFlightId),
+                query -> query.sortBy(Sort.by("flightId")).limit(size + 1).all());
+        return keysetPagination.page(KeysetPagination.FLIGHT_QUERY, flights, size, Flight::getFlightId,
+                this::convertToDTO);
+    }
+    
+    // Get flights by carrier
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<FlightDTO> getFlightsByCarrier(Long carrierId) {
-        return flightRepository.findByCarrierCarrierId(carrierId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return flightRouteIndex.findByCarrierId(carrierId);
     }
     
     // Get flights by origin
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<FlightDTO> getFlightsByOrigin(String origin) {
-        return flightRepository.findByOrigin(origin).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return flightRouteIndex.findByOrigin(origin);
     }
     
     // Get flights by destination
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<FlightDTO> getFlightsByDestination(String destination) {
-        return flightRepository.findByDestination(destination).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return flightRouteIndex.findByDestination(destination);
     }
     
     // Get flights by carrier name
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<FlightDTO> getFlightsByCarrierName(String carrierName) {
-        return flightRepository.findByCarrierName(carrierName).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return flightRouteIndex.findByCarrierName(carrierName);
+    }
+    
+    // Suggest airports starting with a prefix, ignoring case, the ones with the most flights first
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<AirportSuggestion> suggestAirports(String prefix, Integer limit) {
+        String trimmed = prefix == null ? "" : prefix.trim();
+        if (trimmed.isEmpty()) {
+            throw new RuntimeException("Airport prefix must not be blank");
+        }
+        if (limit != null && (limit < 1 || limit > maxSuggestionLimit)) {
+            throw new RuntimeException("Limit must be between 1 and " + maxSuggestionLimit);
+        }
+        return flightRouteIndex.findAirports(trimmed, limit == null ? defaultSuggestionLimit : limit);
     }
     
     // Convert Entity to DTO
@@ -141,4 +253,17 @@ public class FlightService {
             flight.getSeatCapacityExecutive()
         );
     }
+    
+    private static void validateFareRange(BigDecimal minFare, BigDecimal maxFare) {
+        if ((minFare != null && minFare.signum() < 0) || (maxFare != null && maxFare.signum() < 0)) {
+            throw new RuntimeException("Fare must not be negative");
+        }
+        if (minFare != null && maxFare != null && minFare.compareTo(maxFare) > 0) {
+            throw new RuntimeException("Minimum fare must not be greater than maximum fare");
+        }
+    }
+    
+    private static long cents(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.setScale(2, roundingMode).unscaledValue().longValueExact();
+    }
 }
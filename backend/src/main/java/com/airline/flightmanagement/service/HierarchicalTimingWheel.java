@@ -0,0 +1,180 @@
+package com.airline.flightmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for expiring large numbers of deadlines.
+ *
+ * Four wheels of 512 slots each cover 2^36 ticks. A deadline is placed in the lowest wheel
+ * whose span reaches it, so scheduling and cancelling are constant time. Advancing the clock
+ * drains one level-0 slot per tick, and whenever a lower wheel wraps, the current slot of the
+ * wheel above is cascaded down. Cancelled entries are skipped when their slot is drained.
+ * All methods are synchronized; callers should process the expired tasks outside the wheel.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private final long tickMs;
+    private final long startMs;
+    // Slots of every wheel, level by level
+    private final List<Slot<T>> slots;
+
+    // Last tick whose level-0 slot has been drained
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMs = tickMs;
+        this.startMs = startMs;
+        this.slots = new ArrayList<>(LEVELS * WHEEL_SIZE);
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            slots.add(new Slot<>());
+        }
+    }
+
+    /**
+     * Schedule a task to expire at the given time. Deadlines that have already
+     * passed expire on the next advance.
+     */
+    public synchronized Timeout<T> schedule(T task, long deadlineMs) {
+        long deadlineTick = Math.max(currentTick + 1, ceilDiv(deadlineMs - startMs, tickMs));
+        Timeout<T> timeout = new Timeout<>(this, task, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Move the clock forward to the given time and return the tasks that expired
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMs - startMs, tickMs);
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            int slot = (int) (currentTick & WHEEL_MASK);
+            for (Timeout<T> timeout : slot(0, slot).drain()) {
+                if (!timeout.cancelled) {
+                    timeout.expired = true;
+                    size--;
+                    expired.add(timeout.task);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of scheduled tasks that have neither expired nor been cancelled
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled || timeout.expired) {
+            return false;
+        }
+        timeout.cancelled = true;
+        size--;
+        return true;
+    }
+
+    private void cascade() {
+        // Find the highest wheel that wraps on this tick, then pour its slots down level by level
+        int topLevel = 0;
+        while (topLevel + 1 < LEVELS && (currentTick & ((1L << (WHEEL_BITS * (topLevel + 1))) - 1)) == 0) {
+            topLevel++;
+        }
+
+        for (int level = topLevel; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+            for (Timeout<T> timeout : slot(level, slot).drain()) {
+                if (!timeout.cancelled) {
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = Math.min(timeout.deadlineTick - currentTick, MAX_DELTA);
+        long tick = currentTick + Math.max(delta, 0);
+
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+
+        int slot = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        slot(level, slot).add(timeout);
+    }
+
+    private Slot<T> slot(int level, int slot) {
+        return slots.get(level * WHEEL_SIZE + slot);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Timeouts due in one slot of a wheel; the list is only allocated while the slot is in use
+     */
+    private static final class Slot<T> {
+        private List<Timeout<T>> timeouts;
+
+        void add(Timeout<T> timeout) {
+            if (timeouts == null) {
+                timeouts = new ArrayList<>();
+            }
+            timeouts.add(timeout);
+        }
+
+        List<Timeout<T>> drain() {
+            List<Timeout<T>> drained = timeouts == null ? List.of() : timeouts;
+            timeouts = null;
+            return drained;
+        }
+    }
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timeout<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T task;
+        private final long deadlineTick;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T task, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        /**
+         * Cancel the task; returns false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
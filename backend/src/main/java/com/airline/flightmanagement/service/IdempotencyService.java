@@ -0,0 +1,191 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.entity.IdempotencyRecord;
+import com.airline.flightmanagement.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes write operations safe to retry with an Idempotency-Key.
+ *
+ * The first request with a key claims it by inserting a row into idempotency_keys in the same
+ * transaction as the operation, and stores the serialized result on commit. Retries with the
+ * same key and request are answered from a bounded in-memory cache, falling back to the stored
+ * row, without running the operation again. Reusing a key for a different request is rejected.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String BOOK_FLIGHT = "BOOK_FLIGHT";
+    public static final String CANCEL_BOOKING = "CANCEL_BOOKING";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.retention-hours:24}")
+    private long retentionHours = 24;
+
+    private final BoundedExpiringCache<String, CachedResult> cache;
+
+    private final Map<String, Object> keyLocks = new ConcurrentHashMap<>();
+
+    public IdempotencyService(@Value("${idempotency.cache-max-entries:10000}") int cacheMaxEntries,
+                              @Value("${idempotency.cache-ttl-seconds:600}") long cacheTtlSeconds) {
+        this.cache = new BoundedExpiringCache<>(cacheMaxEntries, cacheTtlSeconds * 1000);
+    }
+
+    /**
+     * Run an operation at most once per idempotency key. Without a key the operation simply runs.
+     */
+    public <T> T execute(String idempotencyKey, String operation, Object request,
+                         Class<T> resultType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hashRequest(operation, request);
+
+        CachedResult cached = cache.get(idempotencyKey);
+        if (cached != null) {
+            return cached.replay(idempotencyKey, operation, requestHash, resultType);
+        }
+
+        // Concurrent retries of the same key wait for the first one instead of racing it
+        Object lock = keyLocks.computeIfAbsent(idempotencyKey, key -> new Object());
+        try {
+            synchronized (lock) {
+                cached = cache.get(idempotencyKey);
+                if (cached != null) {
+                    return cached.replay(idempotencyKey, operation, requestHash, resultType);
+                }
+
+                Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(idempotencyKey);
+                if (stored.isPresent()) {
+                    return replayStored(stored.get(), operation, requestHash, resultType);
+                }
+
+                return claimAndRun(idempotencyKey, operation, requestHash, resultType, action);
+            }
+        } finally {
+            keyLocks.remove(idempotencyKey, lock);
+        }
+    }
+
+    /**
+     * Delete persisted keys that are older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public int purgeExpiredKeys() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.info("Purged {} expired idempotency keys", deleted);
+        }
+        return deleted;
+    }
+
+    private <T> T claimAndRun(String idempotencyKey, String operation, String requestHash,
+                              Class<T> resultType, Supplier<T> action) {
+        T result;
+        try {
+            result = new TransactionTemplate(transactionManager).execute(status -> {
+                IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(
+                        new IdempotencyRecord(idempotencyKey, operation, requestHash));
+                T value = action.get();
+                record.setResponseBody(serialize(value));
+                return value;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the key first; answer with its result once it is stored
+            return idempotencyRecordRepository.findById(idempotencyKey)
+                    .map(record -> replayStored(record, operation, requestHash, resultType))
+                    .orElseThrow(() -> e);
+        }
+
+        cache.put(idempotencyKey, new CachedResult(operation, requestHash, result));
+        return result;
+    }
+
+    private <T> T replayStored(IdempotencyRecord record, String operation, String requestHash, Class<T> resultType) {
+        if (record.getResponseBody() == null) {
+            throw new RuntimeException("A request with Idempotency-Key " + record.getIdempotencyKey()
+                    + " is still being processed");
+        }
+
+        T result;
+        try {
+            result = objectMapper.readValue(record.getResponseBody(), resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored result for Idempotency-Key " + record.getIdempotencyKey()
+                    + " cannot be read", e);
+        }
+
+        CachedResult cached = new CachedResult(record.getOperation(), record.getRequestHash(), result);
+        cache.put(record.getIdempotencyKey(), cached);
+        return cached.replay(record.getIdempotencyKey(), operation, requestHash, resultType);
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Result cannot be stored for idempotent replay", e);
+        }
+    }
+
+    private String hashRequest(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Request cannot be fingerprinted", e);
+        }
+    }
+
+    private record CachedResult(String operation, String requestHash, Object result) {
+
+        <T> T replay(String idempotencyKey, String expectedOperation, String expectedHash, Class<T> resultType) {
+            if (!operation.equals(expectedOperation) || !requestHash.equals(expectedHash)) {
+                throw new RuntimeException("Idempotency-Key " + idempotencyKey
+                        + " was already used for a different request");
+            }
+            return resultType.cast(result);
+        }
+    }
+}
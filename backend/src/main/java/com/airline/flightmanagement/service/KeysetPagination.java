@@ -0,0 +1,150 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.KeysetPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination over ascending primary keys.
+ *
+ * A page is read as "key greater than the last key seen, ordered by key, limit size + 1"; the
+ * extra row only tells whether another page exists. The last key of a page is handed to the
+ * client as an opaque token bound to the listing it came from, so a flight token cannot be
+ * replayed against the user listing. Listings ordered by something other than the primary key
+ * use a composite key ending in the primary key, such as a fare and a flight ID.
+ */
+@Component
+public class KeysetPagination {
+
+    /** Response header carrying the token of the next page, absent on the last page */
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    public static final String FLIGHTS = "flights";
+    public static final String USERS = "users";
+    public static final String CARRIERS = "carriers";
+    public static final String USER_BOOKINGS = "user-bookings";
+    public static final String FLIGHT_FARES = "flight-fares";
+    public static final String FLIGHT_QUERY = "flight-query";
+
+    /** Key before every generated id, used when no token is given */
+    public static final long FIRST_KEY = 0L;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public KeysetPagination(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                            @Value("${pagination.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Resolve the requested page size; missing means the default, larger than the cap means the cap
+     */
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    /**
+     * Limit for the page query: one row more than the page, to detect a following page
+     */
+    public Pageable fetchLimit(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    /**
+     * Decode the key after which a page starts; no token means the first page
+     */
+    public long afterKey(String listing, String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return FIRST_KEY;
+        }
+        try {
+            return Long.parseLong(decode(listing, pageToken));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page token");
+        }
+    }
+
+    /**
+     * Decode the composite key of the given length after which a page starts; no token means the first page
+     */
+    public long[] afterKeys(String listing, String pageToken, int length) {
+        if (pageToken == null || pageToken.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = decode(listing, pageToken).split(",");
+            if (parts.length != length) {
+                throw new RuntimeException("Invalid page token");
+            }
+            long[] keys = new long[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = Long.parseLong(parts[i]);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid page token");
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with {@link #fetchLimit(int)}, mapping them and issuing the next token
+     */
+    public <E, T> KeysetPage<T> page(String listing, List<E> rows, int pageSize,
+                                     Function<E, Long> key, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextPageToken = hasNext ? token(listing, key.apply(pageRows.get(pageSize - 1))) : null;
+        return new KeysetPage<>(pageRows.stream().map(mapper).toList(), nextPageToken);
+    }
+
+    /**
+     * Build a page from rows fetched one past the page size, issuing the next token from the composite key of the last row
+     */
+    public <T> KeysetPage<T> compositePage(String listing, List<T> rows, int pageSize, Function<T, long[]> keys) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextPageToken = null;
+        if (hasNext) {
+            nextPageToken = token(listing, Arrays.stream(keys.apply(pageRows.get(pageSize - 1)))
+                    .mapToObj(Long::toString)
+                    .collect(Collectors.joining(",")));
+        }
+        return new KeysetPage<>(List.copyOf(pageRows), nextPageToken);
+    }
+
+    /**
+     * The key text of a token, which must come from the given listing
+     */
+    private static String decode(String listing, String pageToken) {
+        String decoded = new String(DECODER.decode(pageToken), StandardCharsets.UTF_8);
+        int separator = decoded.lastIndexOf(':');
+        if (separator < 0 || !decoded.substring(0, separator).equals(listing)) {
+            throw new RuntimeException("Invalid page token");
+        }
+        return decoded.substring(separator + 1);
+    }
+
+    private static String token(String listing, Object key) {
+        return ENCODER.encodeToString((listing + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,288 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.DailyLoadFactor;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.WeeklyRouteLoadFactor;
+import com.airline.flightmanagement.entity.Booking;
+import com.airline.flightmanagement.entity.DailyFlightRollup;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.DailyFlightRollupRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load factor and revenue per flight per day and per route per week, read from the
+ * daily_flight_rollups table instead of the bookings.
+ *
+ * Each rollup row holds the bookings, seats and revenue of one departure that are not cancelled.
+ * Bookings and cancellations change the row inside their own transaction, so the rollups commit
+ * or roll back together with the bookings they count. A reconciliation job recounts the upcoming
+ * departures from the bookings and repairs any rollup that drifted, one departure at a time.
+ */
+@Service
+public class LoadFactorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadFactorService.class);
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    @Autowired
+    private DailyFlightRollupRepository dailyFlightRollupRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${rollup.max-days:366}")
+    private int maxDays = 366;
+
+    @Value("${rollup.reconcile-lookback-days:7}")
+    private int reconcileLookbackDays = 7;
+
+    /**
+     * Add saved bookings to the rollups of their departures; must run in the booking transaction
+     */
+    public void bookingsSaved(Collection<Booking> bookings) {
+        Map<Departure, Totals> totals = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            totals.computeIfAbsent(new Departure(booking.getFlightId(), booking.getDateOfTravel()),
+                    ignored -> new Totals()).add(booking);
+        }
+        totals.forEach((departure, total) -> addToRollup(departure.flightId(), departure.dateOfTravel(),
+                total.bookings, total.seats, total.revenue));
+    }
+
+    /**
+     * Remove a cancelled booking from the rollup of its departure; must run in the cancelling transaction
+     */
+    public void bookingCancelled(Booking booking) {
+        addToRollup(booking.getFlightId(), booking.getDateOfTravel(), -1, -booking.getNoOfSeats(),
+                booking.getBookingAmount().negate());
+    }
+
+    /**
+     * Get the load factor of a flight for every date from fromDate to toDate, both inclusive
+     */
+    @Transactional(readOnly = true)
+    public List<DailyLoadFactor> getFlightLoadFactors(Long flightId, LocalDate fromDate, LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        FlightDTO flight = flightRouteIndex.findById(flightId);
+        if (flight == null) {
+            throw new RuntimeException("Flight not found with id: " + flightId);
+        }
+
+        Map<LocalDate, DailyFlightRollup> rollups = new HashMap<>();
+        for (DailyFlightRollup rollup : dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(
+                flightId, fromDate, toDate)) {
+            rollups.put(rollup.getDateOfTravel(), rollup);
+        }
+
+        int capacity = capacity(flight);
+        List<DailyLoadFactor> days = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            DailyFlightRollup rollup = rollups.get(date);
+            int bookings = rollup == null ? 0 : rollup.getBookings();
+            int seats = rollup == null ? 0 : rollup.getSeatsBooked();
+            BigDecimal revenue = rollup == null ? BigDecimal.ZERO : rollup.getRevenue();
+            days.add(new DailyLoadFactor(flightId, date, bookings, seats, capacity,
+                    loadFactor(seats, capacity), amount(revenue)));
+        }
+        return days;
+    }
+
+    /**
+     * Get the load factor of every flight on a route per week, for the weeks from fromDate to toDate.
+     * Weeks start on Monday; the first and last week only cover the days inside the range.
+     */
+    @Transactional(readOnly = true)
+    public List<WeeklyRouteLoadFactor> getRouteLoadFactors(String origin, String destination,
+                                                           LocalDate fromDate, LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        List<FlightDTO> flights = flightRouteIndex.findByRoute(origin, destination);
+        int dailyCapacity = flights.stream().mapToInt(LoadFactorService::capacity).sum();
+
+        Map<LocalDate, Totals> weeks = new LinkedHashMap<>();
+        for (LocalDate week = weekStart(fromDate); !week.isAfter(toDate); week = week.plusWeeks(1)) {
+            weeks.put(week, new Totals());
+        }
+        if (!flights.isEmpty()) {
+            List<Long> flightIds = flights.stream().map(FlightDTO::getFlightId).toList();
+            for (Object[] row : dailyFlightRollupRepository.sumByDateOfTravel(flightIds, fromDate, toDate)) {
+                weeks.get(weekStart((LocalDate) row[0])).add(((Number) row[1]).intValue(),
+                        ((Number) row[2]).intValue(), (BigDecimal) row[3]);
+            }
+        }
+
+        List<WeeklyRouteLoadFactor> result = new ArrayList<>();
+        weeks.forEach((week, total) -> {
+            LocalDate start = week.isBefore(fromDate) ? fromDate : week;
+            LocalDate end = week.plusDays(6).isAfter(toDate) ? toDate : week.plusDays(6);
+            int capacity = dailyCapacity * (int) (ChronoUnit.DAYS.between(start, end) + 1);
+            result.add(new WeeklyRouteLoadFactor(origin, destination, start, end, total.bookings, total.seats,
+                    capacity, loadFactor(total.seats, capacity), amount(total.revenue)));
+        });
+        return result;
+    }
+
+    /**
+     * Recount the rollups of departures from the lookback window onwards and repair those that
+     * drifted from the bookings. The bookings are summed without holding any lock; each drifted
+     * departure is then recounted and repaired in a short transaction of its own.
+     */
+    @Scheduled(fixedDelayString = "${rollup.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        LocalDate fromDate = LocalDate.now().minusDays(reconcileLookbackDays);
+        Map<Departure, Totals> counted = new HashMap<>();
+        for (Object[] row : bookingRepository.sumActiveBookingsByDepartureFrom(fromDate)) {
+            Totals totals = new Totals();
+            totals.add(((Number) row[2]).intValue(), ((Number) row[3]).intValue(), (BigDecimal) row[4]);
+            counted.put(new Departure((Long) row[0], (LocalDate) row[1]), totals);
+        }
+
+        // Departures whose rollup differs from the count, including those without a rollup yet
+        List<Departure> drifted = new ArrayList<>();
+        for (DailyFlightRollup rollup : dailyFlightRollupRepository.findByDateOfTravelGreaterThanEqual(fromDate)) {
+            Departure departure = new Departure(rollup.getFlightId(), rollup.getDateOfTravel());
+            Totals totals = counted.remove(departure);
+            if (totals == null ? !matches(rollup, 0, 0, BigDecimal.ZERO)
+                    : !matches(rollup, totals.bookings, totals.seats, amount(totals.revenue))) {
+                drifted.add(departure);
+            }
+        }
+        drifted.addAll(counted.keySet());
+
+        int repaired = 0;
+        for (Departure departure : drifted) {
+            if (repair(departure)) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired {} drifted daily flight rollups from {}", repaired, fromDate);
+        }
+        return repaired;
+    }
+
+    /**
+     * Recount one departure and overwrite its rollup if it still differs. The flight is locked before
+     * the rollup, in the same order as first bookings take them, and bookings on the departure wait
+     * only for this recount.
+     */
+    private boolean repair(Departure departure) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            flightRepository.lockFlight(departure.flightId());
+            DailyFlightRollup rollup = dailyFlightRollupRepository.lockRollup(departure.flightId(),
+                    departure.dateOfTravel()).orElse(null);
+            Object[] row = bookingRepository.sumActiveBookingsOfDeparture(departure.flightId(),
+                    departure.dateOfTravel()).get(0);
+            int bookings = ((Number) row[0]).intValue();
+            int seats = ((Number) row[1]).intValue();
+            BigDecimal revenue = amount((BigDecimal) row[2]);
+            if (rollup == null ? bookings == 0 : matches(rollup, bookings, seats, revenue)) {
+                return false;
+            }
+            dailyFlightRollupRepository.setRollup(departure.flightId(), departure.dateOfTravel(),
+                    bookings, seats, revenue);
+            return true;
+        }));
+    }
+
+    /**
+     * Add to the rollup of a departure. Only the first booking of a departure inserts its rollup;
+     * it locks the flight first, so concurrent first bookings insert one at a time and the later
+     * ones add to the row the first one created.
+     */
+    private void addToRollup(Long flightId, LocalDate dateOfTravel, int bookings, int seats, BigDecimal revenue) {
+        if (dailyFlightRollupRepository.incrementRollup(flightId, dateOfTravel, bookings, seats, revenue) > 0) {
+            return;
+        }
+        flightRepository.lockFlight(flightId);
+        dailyFlightRollupRepository.addToRollup(flightId, dateOfTravel, bookings, seats, revenue);
+    }
+
+    private void validateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new RuntimeException("Travel date range start must not be after its end");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= maxDays) {
+            throw new RuntimeException("Travel date range cannot span more than " + maxDays + " days");
+        }
+    }
+
+    private static boolean matches(DailyFlightRollup rollup, int bookings, int seats, BigDecimal revenue) {
+        return rollup.getBookings() == bookings && rollup.getSeatsBooked() == seats
+                && rollup.getRevenue().compareTo(revenue) == 0;
+    }
+
+    private static int capacity(FlightDTO flight) {
+        return flight.getSeatCapacityEconomy() + flight.getSeatCapacityBusiness()
+                + flight.getSeatCapacityExecutive();
+    }
+
+    private static BigDecimal loadFactor(int seats, int capacity) {
+        if (capacity == 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return new BigDecimal(seats).multiply(HUNDRED).divide(new BigDecimal(capacity), 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal amount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Departure(Long flightId, LocalDate dateOfTravel) {}
+
+    /**
+     * Running totals of a departure or a week
+     */
+    private static final class Totals {
+
+        private int bookings;
+        private int seats;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(Booking booking) {
+            add(1, booking.getNoOfSeats(), booking.getBookingAmount());
+        }
+
+        void add(int bookings, int seats, BigDecimal revenue) {
+            this.bookings += bookings;
+            this.seats += seats;
+            this.revenue = this.revenue.add(revenue);
+        }
+    }
+}
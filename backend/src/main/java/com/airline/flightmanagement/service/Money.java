@@ -0,0 +1,60 @@
+package com.airline.flightmanagement.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money arithmetic used on the pricing and refund paths.
+ *
+ * Amounts are long cents and rates are basis points (1500 = 15%), so pricing works on primitives
+ * and allocates nothing. Amounts are converted from and to BigDecimal only where they enter or
+ * leave the service (entities and JSON), which store money with a scale of 2. Rounding is
+ * HALF_UP to the cent, the same as the BigDecimal calculations it replaces.
+ */
+public final class Money {
+
+    public static final int BASIS_POINTS_PER_UNIT = 10_000;
+
+    private Money() {}
+
+    /**
+     * Convert an amount to cents, rounding HALF_UP; exact for amounts stored with a scale of 2
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert a percentage such as 12.50 to basis points (1250)
+     */
+    public static int toBasisPoints(BigDecimal percentage) {
+        return percentage.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    /**
+     * Convert cents to an amount with a scale of 2
+     */
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Price of a quantity of items
+     */
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, (long) quantity);
+    }
+
+    /**
+     * The given basis points of an amount, rounded HALF_UP to the cent
+     */
+    public static long applyRate(long cents, long basisPoints) {
+        long product = Math.multiplyExact(cents, basisPoints);
+        long quotient = product / BASIS_POINTS_PER_UNIT;
+        long remainder = product % BASIS_POINTS_PER_UNIT;
+        if (Math.abs(remainder) * 2 >= BASIS_POINTS_PER_UNIT) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+}
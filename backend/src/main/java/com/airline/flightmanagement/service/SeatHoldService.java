@@ -0,0 +1,205 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.SeatHoldResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-phase seat reservation: a hold takes seats out of the seat inventory for a limited
+ * time, and is then either confirmed into a booking, released, or expired automatically.
+ *
+ * Holds live in memory only. Their seats are never written to bookings, so a restart frees
+ * them through the seat inventory's reconciliation. Expiry deadlines are kept in a
+ * hierarchical timing wheel that is advanced on every scheduler tick.
+ */
+@Service
+public class SeatHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @Value("${seat-hold.ttl-seconds:600}")
+    private long defaultTtlSeconds = 600;
+
+    @Value("${seat-hold.max-ttl-seconds:1800}")
+    private long maxTtlSeconds = 1800;
+
+    private final Map<String, SeatHold> holds = new ConcurrentHashMap<>();
+
+    private final HierarchicalTimingWheel<SeatHold> expiryWheel;
+
+    public SeatHoldService(@Value("${seat-hold.tick-ms:100}") long tickMs) {
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMs, System.currentTimeMillis());
+    }
+
+    /**
+     * Hold seats for a user, using the default TTL when none is given
+     */
+    public SeatHoldResponse createHold(BookFlightRequest request, Long userId, Long ttlSeconds) {
+        long ttl = ttlSeconds != null ? ttlSeconds : defaultTtlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new RuntimeException("Hold TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+
+        // Throws if the flight or user is missing or the seats are not available
+        bookingService.holdSeats(request, userId);
+
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), userId, request,
+                System.currentTimeMillis() + ttl * 1000);
+        holds.put(hold.holdId, hold);
+        hold.timeout = expiryWheel.schedule(hold, hold.expiresAtMs);
+
+        return toResponse(hold);
+    }
+
+    /**
+     * Get a live hold
+     */
+    public SeatHoldResponse getHold(String holdId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new RuntimeException("Seat hold not found or expired: " + holdId);
+        }
+        return toResponse(hold);
+    }
+
+    /**
+     * Turn a hold into a booking. If the booking transaction rolls back the hold is
+     * restored with its original expiry so the confirmation can be retried.
+     */
+    @Transactional
+    public BookFlightResponse confirmHold(String holdId, Long userId) {
+        SeatHold hold = takeHold(holdId, userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restoreHold(hold);
+                    }
+                }
+            });
+        }
+
+        return bookingService.bookHeldSeats(hold.request, hold.userId);
+    }
+
+    /**
+     * Give the seats of a hold back to the inventory
+     */
+    public void releaseHold(String holdId, Long userId) {
+        SeatHold hold = takeHold(holdId, userId);
+        releaseSeats(hold);
+    }
+
+    /**
+     * Release every hold whose TTL has run out
+     */
+    @Scheduled(fixedDelayString = "${seat-hold.tick-ms:100}")
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    int expireHolds(long nowMs) {
+        List<SeatHold> expired = expiryWheel.advance(nowMs);
+        int released = 0;
+        for (SeatHold hold : expired) {
+            if (holds.remove(hold.holdId, hold)) {
+                releaseSeats(hold);
+                released++;
+            }
+        }
+        if (released > 0) {
+            logger.debug("Released {} expired seat holds", released);
+        }
+        return released;
+    }
+
+    /**
+     * Number of holds that are currently live
+     */
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    private SeatHold takeHold(String holdId, Long userId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new RuntimeException("Seat hold not found or expired: " + holdId);
+        }
+        if (!hold.userId.equals(userId)) {
+            throw new RuntimeException("Seat hold " + holdId + " does not belong to user " + userId);
+        }
+        if (!holds.remove(holdId, hold)) {
+            throw new RuntimeException("Seat hold not found or expired: " + holdId);
+        }
+        if (hold.timeout != null) {
+            hold.timeout.cancel();
+        }
+        return hold;
+    }
+
+    private void restoreHold(SeatHold hold) {
+        holds.put(hold.holdId, hold);
+        hold.timeout = expiryWheel.schedule(hold, hold.expiresAtMs);
+    }
+
+    private void releaseSeats(SeatHold hold) {
+        seatInventory.release(hold.request.getFlightId(), hold.request.getDateOfTravel(),
+                hold.request.getSeatCategory(), hold.request.getNoOfSeats());
+        availabilityCalendarService.invalidateFlight(hold.request.getFlightId());
+    }
+
+    private SeatHoldResponse toResponse(SeatHold hold) {
+        return new SeatHoldResponse(
+                hold.holdId,
+                hold.request.getFlightId(),
+                hold.userId,
+                hold.request.getNoOfSeats(),
+                hold.request.getSeatCategory(),
+                hold.request.getDateOfTravel(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMs), ZoneId.systemDefault())
+        );
+    }
+
+    private static final class SeatHold {
+        final String holdId;
+        final Long userId;
+        final BookFlightRequest request;
+        final long expiresAtMs;
+        volatile HierarchicalTimingWheel.Timeout<SeatHold> timeout;
+
+        SeatHold(String holdId, Long userId, BookFlightRequest request, long expiresAtMs) {
+            this.holdId = holdId;
+            this.userId = userId;
+            this.request = request;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
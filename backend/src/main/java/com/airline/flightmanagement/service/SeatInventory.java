@@ -0,0 +1,451 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookingContext;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.FlightSchedule;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory seat inventory keyed by (flightId, dateOfTravel).
+ *
+ * The memory copy is the source of truth for seat admission: reservations and releases
+ * are applied under a striped lock and never wait on the database. Changed departures are
+ * written behind to flight_schedules in batches, and at startup the schedule counters are
+ * reconciled against the active bookings so a crash between commit and flush loses nothing.
+ */
+@Component
+public class SeatInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventory.class);
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FlightRouteIndex flightRouteIndex;
+
+    @Value("${seat-inventory.flush-batch-size:500}")
+    private int flushBatchSize = 500;
+
+    @Value("${seat-inventory.booking-horizon-days:366}")
+    private int bookingHorizonDays = 366;
+
+    private final Object[] stripes = new Object[STRIPES];
+
+    private final Map<DepartureKey, Departure> departures = new ConcurrentHashMap<>();
+
+    private final Set<DepartureKey> dirty = ConcurrentHashMap.newKeySet();
+
+    public SeatInventory() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Try to reserve seats for a departure. When called inside a transaction the
+     * reservation is handed back automatically if that transaction rolls back.
+     */
+    public boolean tryReserve(Flight flight, LocalDate dateOfTravel, SeatCategory seatCategory, int seats) {
+        DepartureKey key = new DepartureKey(flight.getFlightId(), dateOfTravel);
+        return reserve(key, getOrLoad(key, flight), seatCategory, seats);
+    }
+
+    /**
+     * Try to reserve seats for the departure of a booking context. A departure that is not
+     * in memory yet is seeded from the schedule row the context was loaded with.
+     */
+    public boolean tryReserve(BookingContext context, SeatCategory seatCategory, int seats) {
+        DepartureKey key = new DepartureKey(context.getFlight().getFlightId(), context.getDateOfTravel());
+        return reserve(key, getOrSeed(key, context), seatCategory, seats);
+    }
+
+    /**
+     * Release seats for a departure. Inside a transaction the seats only become
+     * available again once the transaction has committed.
+     */
+    public void release(Long flightId, LocalDate dateOfTravel, SeatCategory seatCategory, int seats) {
+        DepartureKey key = new DepartureKey(flightId, dateOfTravel);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRelease(key, seatCategory, seats);
+                }
+            });
+        } else {
+            applyRelease(key, seatCategory, seats);
+        }
+    }
+
+    /**
+     * Apply a flight's seat capacity to its upcoming departures once the update commits, both in
+     * memory and in flight_schedules. Departures that already flew keep the capacity they had.
+     */
+    public void flightUpdated(Flight flight) {
+        Long flightId = flight.getFlightId();
+        int[] capacity = {flight.getSeatCapacityEconomy(), flight.getSeatCapacityBusiness(),
+                          flight.getSeatCapacityExecutive()};
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCapacity(flightId, capacity);
+                }
+            });
+        } else {
+            applyCapacity(flightId, capacity);
+        }
+    }
+
+    /**
+     * Get the number of seats still available in a category
+     */
+    public int getAvailableSeats(Flight flight, LocalDate dateOfTravel, SeatCategory seatCategory) {
+        DepartureKey key = new DepartureKey(flight.getFlightId(), dateOfTravel);
+        return available(key, getOrLoad(key, flight), seatCategory);
+    }
+
+    /**
+     * Get the number of seats still available in a category for the departure of a booking context
+     */
+    public int getAvailableSeats(BookingContext context, SeatCategory seatCategory) {
+        DepartureKey key = new DepartureKey(context.getFlight().getFlightId(), context.getDateOfTravel());
+        return available(key, getOrSeed(key, context), seatCategory);
+    }
+
+    /**
+     * Get seat availability for every category of a departure without reading the database.
+     * A departure that is not in memory has nothing booked yet (see {@link #peekAvailableSeats}),
+     * so the flight's capacity is returned without loading it.
+     */
+    public SeatAvailabilityResponse getAvailability(Long flightId, LocalDate dateOfTravel) {
+        LocalDate today = LocalDate.now();
+        if (dateOfTravel.isBefore(today)) {
+            throw new RuntimeException("Date of travel must not be in the past");
+        }
+        if (dateOfTravel.isAfter(today.plusDays(bookingHorizonDays))) {
+            throw new RuntimeException("Date of travel cannot be more than " + bookingHorizonDays + " days ahead");
+        }
+
+        DepartureKey key = new DepartureKey(flightId, dateOfTravel);
+        Departure departure = departures.get(key);
+        if (departure != null) {
+            return availability(key, departure);
+        }
+        FlightDTO flight = flightRouteIndex.findById(flightId);
+        if (flight == null) {
+            throw new RuntimeException("Flight not found with id: " + flightId);
+        }
+        return new SeatAvailabilityResponse(flightId, dateOfTravel, flight.getSeatCapacityEconomy(),
+                flight.getSeatCapacityBusiness(), flight.getSeatCapacityExecutive());
+    }
+
+    /**
+     * Get seat availability for every category of a departure that is held in memory, or null if
+     * it is not. Counts in memory may not have been written to flight_schedules yet.
+     */
+    public SeatAvailabilityResponse peekAvailability(Long flightId, LocalDate dateOfTravel) {
+        DepartureKey key = new DepartureKey(flightId, dateOfTravel);
+        Departure departure = departures.get(key);
+        return departure == null ? null : availability(key, departure);
+    }
+
+    /**
+     * Get the number of seats available in a category without reading the database. Every upcoming
+     * departure with a schedule row is in memory after startup, so a departure that is not has
+     * nothing booked yet and the flight's capacity is available.
+     */
+    public int peekAvailableSeats(FlightDTO flight, LocalDate dateOfTravel, SeatCategory seatCategory) {
+        DepartureKey key = new DepartureKey(flight.getFlightId(), dateOfTravel);
+        Departure departure = departures.get(key);
+        if (departure != null) {
+            return available(key, departure, seatCategory);
+        }
+        return switch (seatCategory) {
+            case ECONOMY -> flight.getSeatCapacityEconomy();
+            case BUSINESS -> flight.getSeatCapacityBusiness();
+            case EXECUTIVE -> flight.getSeatCapacityExecutive();
+        };
+    }
+
+    /**
+     * Write changed departures behind to flight_schedules, one transaction per batch
+     */
+    @Scheduled(fixedDelayString = "${seat-inventory.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        while (!dirty.isEmpty()) {
+            List<DepartureKey> batch = new ArrayList<>(flushBatchSize);
+            Iterator<DepartureKey> iterator = dirty.iterator();
+            while (iterator.hasNext() && batch.size() < flushBatchSize) {
+                DepartureKey key = iterator.next();
+                iterator.remove();
+                batch.add(key);
+            }
+
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    for (DepartureKey key : batch) {
+                        writeDeparture(key);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Seat inventory flush failed for {} departures, will retry", batch.size(), e);
+                dirty.addAll(batch);
+                return;
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        departures.keySet().removeIf(key -> key.dateOfTravel().isBefore(today) && !dirty.contains(key));
+    }
+
+    /**
+     * Rebuild flight_schedules counters from active bookings and load upcoming departures
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        Map<DepartureKey, int[]> bookedSeats = new HashMap<>();
+        for (Object[] row : bookingRepository.sumBookedSeatsByDeparture()) {
+            DepartureKey key = new DepartureKey((Long) row[0], (LocalDate) row[1]);
+            int[] counts = bookedSeats.computeIfAbsent(key, k -> new int[SeatCategory.values().length]);
+            counts[((SeatCategory) row[2]).ordinal()] = ((Number) row[3]).intValue();
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int repaired = 0;
+            for (FlightSchedule schedule : flightScheduleRepository.findAll()) {
+                DepartureKey key = new DepartureKey(schedule.getFlightId(), schedule.getDateOfTravel());
+                int[] counts = bookedSeats.getOrDefault(key, new int[SeatCategory.values().length]);
+                if (schedule.getBookedCountEconomy() != counts[0]
+                        || schedule.getBookedCountBusiness() != counts[1]
+                        || schedule.getBookedCountExecutive() != counts[2]) {
+                    flightScheduleRepository.updateBookedCounts(key.flightId(), key.dateOfTravel(),
+                            counts[0], counts[1], counts[2]);
+                    repaired++;
+                }
+            }
+            if (repaired > 0) {
+                logger.info("Seat inventory reconciled {} drifted flight schedules", repaired);
+            }
+        });
+
+        for (FlightSchedule schedule : flightScheduleRepository.findByDateOfTravelGreaterThanEqual(LocalDate.now())) {
+            departures.putIfAbsent(new DepartureKey(schedule.getFlightId(), schedule.getDateOfTravel()),
+                    Departure.fromSchedule(schedule));
+        }
+
+        // Departures with bookings but no schedule row were lost before their first flush
+        for (DepartureKey key : bookedSeats.keySet()) {
+            if (!key.dateOfTravel().isBefore(LocalDate.now()) && !departures.containsKey(key)) {
+                flightRepository.findById(key.flightId()).ifPresent(flight -> {
+                    Departure departure = Departure.fromFlight(flight);
+                    System.arraycopy(bookedSeats.get(key), 0, departure.booked, 0, departure.booked.length);
+                    departures.putIfAbsent(key, departure);
+                    dirty.add(key);
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private boolean reserve(DepartureKey key, Departure departure, SeatCategory seatCategory, int seats) {
+        synchronized (stripeFor(key)) {
+            int index = seatCategory.ordinal();
+            if (departure.booked[index] + seats > departure.capacity[index]) {
+                return false;
+            }
+            departure.booked[index] += seats;
+        }
+        dirty.add(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        applyRelease(key, seatCategory, seats);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    private SeatAvailabilityResponse availability(DepartureKey key, Departure departure) {
+        synchronized (stripeFor(key)) {
+            return new SeatAvailabilityResponse(
+                    key.flightId(),
+                    key.dateOfTravel(),
+                    Math.max(0, departure.capacity[0] - departure.booked[0]),
+                    Math.max(0, departure.capacity[1] - departure.booked[1]),
+                    Math.max(0, departure.capacity[2] - departure.booked[2])
+            );
+        }
+    }
+
+    private int available(DepartureKey key, Departure departure, SeatCategory seatCategory) {
+        synchronized (stripeFor(key)) {
+            int index = seatCategory.ordinal();
+            return Math.max(0, departure.capacity[index] - departure.booked[index]);
+        }
+    }
+
+    private void writeDeparture(DepartureKey key) {
+        Departure departure = departures.get(key);
+        if (departure == null) {
+            return;
+        }
+
+        int[] booked;
+        synchronized (stripeFor(key)) {
+            booked = departure.booked.clone();
+        }
+
+        int updated = flightScheduleRepository.updateBookedCounts(key.flightId(), key.dateOfTravel(),
+                booked[0], booked[1], booked[2]);
+        if (updated == 0) {
+            flightScheduleRepository.mergeSchedule(key.flightId(), key.dateOfTravel(),
+                    departure.capacity[0], departure.capacity[1], departure.capacity[2]);
+            flightScheduleRepository.updateBookedCounts(key.flightId(), key.dateOfTravel(),
+                    booked[0], booked[1], booked[2]);
+        }
+    }
+
+    private void applyRelease(DepartureKey key, SeatCategory seatCategory, int seats) {
+        Departure departure = departures.get(key);
+        if (departure == null) {
+            // Not loaded yet; the counters are read from flight_schedules on first use
+            Flight flight = flightRepository.findById(key.flightId()).orElse(null);
+            if (flight == null) {
+                return;
+            }
+            departure = getOrLoad(key, flight);
+        }
+
+        synchronized (stripeFor(key)) {
+            int index = seatCategory.ordinal();
+            departure.booked[index] = Math.max(0, departure.booked[index] - seats);
+        }
+        dirty.add(key);
+    }
+
+    private void applyCapacity(Long flightId, int[] capacity) {
+        LocalDate today = LocalDate.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                flightScheduleRepository.updateTotalCapacity(flightId, today, capacity[0], capacity[1], capacity[2]));
+
+        // Rows are rewritten first, so a departure loaded from an old row meanwhile is corrected here
+        departures.forEach((key, departure) -> {
+            if (key.flightId().equals(flightId) && !key.dateOfTravel().isBefore(today)) {
+                synchronized (stripeFor(key)) {
+                    System.arraycopy(capacity, 0, departure.capacity, 0, capacity.length);
+                }
+            }
+        });
+    }
+
+    private Departure getOrLoad(DepartureKey key, Flight flight) {
+        Departure departure = departures.get(key);
+        if (departure != null) {
+            return departure;
+        }
+
+        Departure loaded = flightScheduleRepository.findByFlightIdAndDateOfTravel(key.flightId(), key.dateOfTravel())
+                .map(Departure::fromSchedule)
+                .orElseGet(() -> Departure.fromFlight(flight));
+        Departure existing = departures.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private Departure getOrSeed(DepartureKey key, BookingContext context) {
+        Departure departure = departures.get(key);
+        if (departure != null) {
+            return departure;
+        }
+
+        Departure seeded = context.getSchedule() != null
+                ? Departure.fromSchedule(context.getSchedule())
+                : Departure.fromFlight(context.getFlight());
+        Departure existing = departures.putIfAbsent(key, seeded);
+        return existing != null ? existing : seeded;
+    }
+
+    private Object stripeFor(DepartureKey key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private record DepartureKey(Long flightId, LocalDate dateOfTravel) {}
+
+    /**
+     * Capacity and booked counters indexed by SeatCategory ordinal
+     */
+    private static final class Departure {
+        final int[] capacity;
+        final int[] booked;
+
+        private Departure(int[] capacity, int[] booked) {
+            this.capacity = capacity;
+            this.booked = booked;
+        }
+
+        static Departure fromSchedule(FlightSchedule schedule) {
+            return new Departure(
+                    new int[] {schedule.getTotalCapacityEconomy(), schedule.getTotalCapacityBusiness(),
+                               schedule.getTotalCapacityExecutive()},
+                    new int[] {schedule.getBookedCountEconomy(), schedule.getBookedCountBusiness(),
+                               schedule.getBookedCountExecutive()});
+        }
+
+        static Departure fromFlight(Flight flight) {
+            return new Departure(
+                    new int[] {flight.getSeatCapacityEconomy(), flight.getSeatCapacityBusiness(),
+                               flight.getSeatCapacityExecutive()},
+                    new int[SeatCategory.values().length]);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.dto.UserDTO;
 import com.airline.flightmanagement.dto.LoginResponseDTO;
 import com.airline.flightmanagement.entity.User;
@@ -12,7 +13,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,6 +21,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
     /**
      * Register a new user
      */
@@ -128,13 +131,15 @@ public class UserService {
     }
     
     /**
-     * Get all users
+     * Get a page of users in ID order; without a page token the first page is returned
      */
-    public List<UserDTO> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getAllUsers(String pageToken, Integer pageSize) {
+        int size = keysetPagination.pageSize(pageSize);
+        long afterUserId = keysetPagination.afterKey(KeysetPagination.USERS, pageToken);
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(afterUserId,
+                keysetPagination.fetchLimit(size));
+        return keysetPagination.page(KeysetPagination.USERS, users, size, User::getUserId, this::convertToDTO);
     }
     
     /**
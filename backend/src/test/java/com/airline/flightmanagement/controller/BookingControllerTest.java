@@ -1,9 +1,26 @@
 package com.airline.flightmanagement.controller;
 
+import com.airline.flightmanagement.dto.BatchBookingResponse;
+import com.airline.flightmanagement.dto.BatchBookingResult;
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookingStatsCounts;
+import com.airline.flightmanagement.dto.BookingStatsResponse;
 import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.dto.FareQuote;
+import com.airline.flightmanagement.dto.FareQuoteResult;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.dto.SeatHoldResponse;
 import com.airline.flightmanagement.entity.BookingStatus;
 import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.service.AvailabilityCalendarService;
 import com.airline.flightmanagement.service.BookingService;
+import com.airline.flightmanagement.service.BookingStatsService;
+import com.airline.flightmanagement.service.ExportService;
+import com.airline.flightmanagement.service.FareQuoteService;
+import com.airline.flightmanagement.service.IdempotencyService;
+import com.airline.flightmanagement.service.KeysetPagination;
+import com.airline.flightmanagement.service.SeatHoldService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +29,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +61,24 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private FareQuoteService fareQuoteService;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @MockBean
+    private BookingStatsService bookingStatsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -53,6 +101,112 @@ class BookingControllerTest {
                 "Los Angeles", // destination
                 "Test Airlines" // carrierName
         );
+
+        // Without a stored result the idempotency layer simply runs the operation
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(4)).get());
+    }
+
+    @Test
+    void testGetUserBookings_WithFilters() throws Exception {
+        // Mock filtered bookings
+        when(bookingService.getUserBookings(1L, BookingStatus.BOOKED,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31), null, null))
+                .thenReturn(new KeysetPage<>(Arrays.asList(), null));
+
+        mockMvc.perform(get("/api/bookings/user/1")
+                .param("status", "BOOKED")
+                .param("fromDate", "2030-01-01")
+                .param("toDate", "2030-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data").isArray())
+                .andExpect(header().doesNotExist(KeysetPagination.NEXT_PAGE_TOKEN_HEADER));
+    }
+
+    @Test
+    void testGetUserBookings_InvalidDateRange() throws Exception {
+        // Mock rejected date range
+        when(bookingService.getUserBookings(eq(1L), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Travel date range start must not be after its end"));
+
+        mockMvc.perform(get("/api/bookings/user/1")
+                .param("fromDate", "2030-02-01")
+                .param("toDate", "2030-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Travel date range start must not be after its end"));
+    }
+
+    @Test
+    void testExportBookings_UnsupportedFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/bookings/export").param("format", "xml"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xml (expected ndjson or csv)"));
+
+        verify(exportService, never()).exportBookings(any());
+    }
+
+    @Test
+    void testGetAvailabilityCalendar_Success() throws Exception {
+        // Mock a two-day calendar
+        LocalDate fromDate = LocalDate.now().plusDays(5);
+        when(availabilityCalendarService.getCalendar(1L, fromDate, fromDate.plusDays(1))).thenReturn(Arrays.asList(
+                new SeatAvailabilityResponse(1L, fromDate, 150, 20, 10),
+                new SeatAvailabilityResponse(1L, fromDate.plusDays(1), 148, 0, 10)));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/bookings/availability/calendar")
+                .param("flightId", "1")
+                .param("fromDate", fromDate.toString())
+                .param("toDate", fromDate.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[1].availableEconomy").value(148))
+                .andExpect(jsonPath("$.data[1].availableBusiness").value(0));
+    }
+
+    @Test
+    void testGetAvailabilityCalendar_InvalidRange() throws Exception {
+        // Mock a rejected range
+        LocalDate fromDate = LocalDate.now().plusDays(5);
+        when(availabilityCalendarService.getCalendar(1L, fromDate, fromDate.minusDays(1)))
+                .thenThrow(new RuntimeException("Travel date range start must not be after its end"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/bookings/availability/calendar")
+                .param("flightId", "1")
+                .param("fromDate", fromDate.toString())
+                .param("toDate", fromDate.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Travel date range start must not be after its end"));
+    }
+
+    @Test
+    void testGetBookingStats_Success() throws Exception {
+        // Mock stats for one carrier
+        BookingStatsCounts counts = new BookingStatsCounts(3L, 1L, 4L, new BigDecimal("400.00"),
+                new BigDecimal("40.00"));
+        when(bookingStatsService.getStats()).thenReturn(new BookingStatsResponse(counts,
+                Map.of("Test Airlines", counts), Map.of("New York -> Chicago", counts),
+                Map.of(SeatCategory.ECONOMY, counts), Map.of(LocalDate.of(2030, 1, 15), counts)));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/bookings/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.total.bookings").value(3))
+                .andExpect(jsonPath("$.data.total.revenue").value(400.00))
+                .andExpect(jsonPath("$.data.byCarrier['Test Airlines'].cancellations").value(1))
+                .andExpect(jsonPath("$.data.bySeatCategory.ECONOMY.seatsBooked").value(4))
+                .andExpect(jsonPath("$.data.byTravelDate['2030-01-15'].discounts").value(40.00));
     }
 
     @Test
@@ -88,6 +242,23 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.data.bookingStatus").value("CANCELLED"));
     }
 
+    @Test
+    void testCancelBooking_WithIdempotencyKey() throws Exception {
+        // Mock a retry whose result was already recorded for this key
+        doReturn(testCancelResponse).when(idempotencyService).execute(eq("cancel-1"),
+                eq(IdempotencyService.CANCEL_BOOKING), eq(1L), eq(CancelBookingResponse.class), any());
+
+        // Perform PUT request with the Idempotency-Key header
+        mockMvc.perform(put("/api/bookings/1/cancel")
+                .header(BookingController.IDEMPOTENCY_KEY_HEADER, "cancel-1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.bookingStatus").value("CANCELLED"));
+
+        verify(bookingService, never()).cancelBooking(any());
+    }
+
     @Test
     void testCancelBooking_BookingNotFound() throws Exception {
         // Mock service error - booking not found
@@ -157,4 +328,102 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Unexpected service error"));
     }
+
+    @Test
+    void testBookFlights_ReturnsPerRequestResults() throws Exception {
+        // Mock a batch where one of two requests is rejected
+        BookFlightRequest request = new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, LocalDate.now().plusDays(30));
+        BatchBookingResponse batchResponse = new BatchBookingResponse(Arrays.asList(
+                BatchBookingResult.booked(0, null),
+                BatchBookingResult.failed(1, "Insufficient seats available. Requested: 2, Available: 1")));
+        when(bookingService.bookFlights(anyList(), eq(1L))).thenReturn(batchResponse);
+
+        // Perform POST request to batch endpoint
+        mockMvc.perform(post("/api/bookings/batch")
+                .param("userId", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(request, request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("1 of 2 bookings succeeded"))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.results[1].success").value(false))
+                .andExpect(jsonPath("$.data.results[1].index").value(1));
+    }
+
+    @Test
+    void testBookFlights_BatchTooLarge() throws Exception {
+        // Mock the service rejecting the whole batch
+        when(bookingService.bookFlights(anyList(), eq(1L)))
+                .thenThrow(new RuntimeException("Batch cannot contain more than 500 booking requests"));
+
+        // Perform POST request to batch endpoint
+        mockMvc.perform(post("/api/bookings/batch")
+                .param("userId", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Batch cannot contain more than 500 booking requests"));
+    }
+
+    @Test
+    void testQuoteFares_ReturnsPerRequestResults() throws Exception {
+        // Mock one priced fare and one unknown flight
+        LocalDate dateOfTravel = LocalDate.now().plusDays(30);
+        FareQuote quote = new FareQuote(1L, dateOfTravel, SeatCategory.ECONOMY, 2,
+                new BigDecimal("599.98"), new BigDecimal("90.00"), new BigDecimal("509.98"),
+                "Advance booking (30+ days): 15%");
+        when(fareQuoteService.quoteFares(anyList(), eq(1L))).thenReturn(Arrays.asList(
+                FareQuoteResult.quoted(0, quote),
+                FareQuoteResult.failed(1, "Flight not found with id: 99")));
+
+        // Perform POST request to quotes endpoint
+        mockMvc.perform(post("/api/bookings/quotes")
+                .param("userId", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(
+                        new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, dateOfTravel),
+                        new BookFlightRequest(99L, 1, SeatCategory.ECONOMY, dateOfTravel)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("1 of 2 fares quoted"))
+                .andExpect(jsonPath("$.data[0].quote.bookingAmount").value(509.98))
+                .andExpect(jsonPath("$.data[1].success").value(false))
+                .andExpect(jsonPath("$.data[1].message").value("Flight not found with id: 99"));
+    }
+
+    @Test
+    void testCreateHold_Success() throws Exception {
+        // Mock a successful hold
+        BookFlightRequest request = new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, LocalDate.now().plusDays(30));
+        SeatHoldResponse hold = new SeatHoldResponse("hold-1", 1L, 1L, 2, SeatCategory.ECONOMY,
+                request.getDateOfTravel(), LocalDateTime.now().plusMinutes(10));
+        when(seatHoldService.createHold(any(BookFlightRequest.class), eq(1L), eq(300L))).thenReturn(hold);
+
+        // Perform POST request to holds endpoint
+        mockMvc.perform(post("/api/bookings/holds")
+                .param("userId", "1")
+                .param("ttlSeconds", "300")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("Seats held successfully"))
+                .andExpect(jsonPath("$.data.holdId").value("hold-1"));
+    }
+
+    @Test
+    void testConfirmHold_Expired() throws Exception {
+        // Mock confirming a hold that has already expired
+        when(seatHoldService.confirmHold("hold-1", 1L))
+                .thenThrow(new RuntimeException("Seat hold not found or expired: hold-1"));
+
+        // Perform POST request to confirm endpoint
+        mockMvc.perform(post("/api/bookings/holds/hold-1/confirm")
+                .param("userId", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Seat hold not found or expired: hold-1"));
+    }
 }
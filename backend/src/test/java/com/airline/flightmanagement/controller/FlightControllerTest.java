@@ -1,20 +1,43 @@
 package com.airline.flightmanagement.controller;
 
+import com.airline.flightmanagement.dto.AirportSuggestion;
+import com.airline.flightmanagement.dto.ConnectionItinerary;
+import com.airline.flightmanagement.dto.ConnectionLeg;
+import com.airline.flightmanagement.dto.DailyLoadFactor;
 import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.service.ConnectionSearchService;
+import com.airline.flightmanagement.service.ExportFormat;
+import com.airline.flightmanagement.service.ExportService;
 import com.airline.flightmanagement.service.FlightService;
+import com.airline.flightmanagement.service.KeysetPagination;
+import com.airline.flightmanagement.service.LoadFactorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -27,6 +50,15 @@ class FlightControllerTest {
     @MockBean
     private FlightService flightService;
 
+    @MockBean
+    private ConnectionSearchService connectionSearchService;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private LoadFactorService loadFactorService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,6 +76,237 @@ class FlightControllerTest {
         testFlightDTO.setSeatCapacityExecutive(10);
     }
 
+    @Test
+    void testGetAllFlights_ReturnsNextPageTokenHeader() throws Exception {
+        // Mock a page with a following page
+        testFlightDTO.setFlightId(1L);
+        when(flightService.getAllFlights("abc", 1)).thenReturn(new KeysetPage<>(List.of(testFlightDTO), "def"));
+
+        // Perform GET request for the page
+        mockMvc.perform(get("/api/flights")
+                .param("pageToken", "abc")
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, "def"))
+                .andExpect(jsonPath("$.data[0].flightId").value(1));
+    }
+
+    @Test
+    void testGetAllFlights_InvalidPageToken() throws Exception {
+        // Mock a rejected token
+        when(flightService.getAllFlights("bogus", null)).thenThrow(new RuntimeException("Invalid page token"));
+
+        // Perform GET request with the token
+        mockMvc.perform(get("/api/flights").param("pageToken", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid page token"));
+    }
+
+    @Test
+    void testExportFlights_StreamsCsvAttachment() throws Exception {
+        // Mock a streamed body
+        StreamingResponseBody body = out -> out.write("flightId\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+        when(exportService.exportFlights(ExportFormat.CSV)).thenReturn(body);
+
+        // Perform GET request; the body is written asynchronously
+        MvcResult result = mockMvc.perform(get("/api/flights/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"flights.csv\""))
+                .andExpect(content().string("flightId\r\n1\r\n"));
+    }
+
+    @Test
+    void testSearchFlightsByFare_ReturnsNextPageTokenHeader() throws Exception {
+        // Mock the cheapest flight under a fare cap, with a following page
+        testFlightDTO.setFlightId(1L);
+        when(flightService.searchFlightsByFare("New York", "Los Angeles", null, new BigDecimal("300"), 1L,
+                Sort.Direction.ASC, null, 1)).thenReturn(new KeysetPage<>(List.of(testFlightDTO), "next"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/fares")
+                .param("origin", "New York")
+                .param("destination", "Los Angeles")
+                .param("maxFare", "300")
+                .param("carrierId", "1")
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, "next"))
+                .andExpect(jsonPath("$.data[0].airFare").value(299.99));
+    }
+
+    @Test
+    void testSearchFlightsByFare_InvalidRange() throws Exception {
+        // Mock a rejected fare range
+        when(flightService.searchFlightsByFare("New York", "Los Angeles", new BigDecimal("300"),
+                new BigDecimal("200"), null, Sort.Direction.DESC, null, null))
+                .thenThrow(new RuntimeException("Minimum fare must not be greater than maximum fare"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/fares")
+                .param("origin", "New York")
+                .param("destination", "Los Angeles")
+                .param("minFare", "300")
+                .param("maxFare", "200")
+                .param("sort", "DESC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Minimum fare must not be greater than maximum fare"));
+    }
+
+    @Test
+    void testQueryFlights_CombinesFilters() throws Exception {
+        // Mock a combined query
+        testFlightDTO.setFlightId(1L);
+        LocalDate dateOfTravel = LocalDate.now().plusDays(5);
+        when(flightService.queryFlights(argThat(criteria -> "New York".equals(criteria.getOrigin())
+                && criteria.getDestination() == null && Long.valueOf(1L).equals(criteria.getCarrierId())
+                && new BigDecimal("300").equals(criteria.getMaxFare()) && criteria.isActiveCarriersOnly()
+                && dateOfTravel.equals(criteria.getDateOfTravel())
+                && criteria.getSeatCategory() == SeatCategory.BUSINESS && criteria.getNoOfSeats() == 2),
+                isNull(), eq(1))).thenReturn(new KeysetPage<>(List.of(testFlightDTO), "next"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/query")
+                .param("origin", "New York")
+                .param("carrierId", "1")
+                .param("maxFare", "300")
+                .param("activeCarriersOnly", "true")
+                .param("dateOfTravel", dateOfTravel.toString())
+                .param("seatCategory", "BUSINESS")
+                .param("noOfSeats", "2")
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPagination.NEXT_PAGE_TOKEN_HEADER, "next"))
+                .andExpect(jsonPath("$.data[0].flightId").value(1));
+    }
+
+    @Test
+    void testQueryFlights_InvalidCriteria() throws Exception {
+        // Mock a rejected query
+        when(flightService.queryFlights(any(), isNull(), isNull()))
+                .thenThrow(new RuntimeException("Date of travel must not be in the past"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/query")
+                .param("destination", "Chicago")
+                .param("dateOfTravel", "2020-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Date of travel must not be in the past"));
+    }
+
+    @Test
+    void testSuggestAirports_Success() throws Exception {
+        // Mock suggestions ranked by flights
+        when(flightService.suggestAirports("new", 2)).thenReturn(List.of(
+                new AirportSuggestion("Newark", 12), new AirportSuggestion("New York", 9)));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/airports")
+                .param("prefix", "new")
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].name").value("Newark"))
+                .andExpect(jsonPath("$.data[1].flightCount").value(9));
+    }
+
+    @Test
+    void testSuggestAirports_BlankPrefix() throws Exception {
+        // Mock a rejected prefix
+        when(flightService.suggestAirports(" ", null)).thenThrow(new RuntimeException("Airport prefix must not be blank"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/airports")
+                .param("prefix", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Airport prefix must not be blank"));
+    }
+
+    @Test
+    void testSearchConnections_Success() throws Exception {
+        // Mock a one-stop itinerary
+        LocalDate date = LocalDate.now().plusDays(7);
+        List<ConnectionLeg> legs = List.of(
+                new ConnectionLeg(1L, 1L, "Test Airlines", "New York", "Chicago", new BigDecimal("120.00"), 150),
+                new ConnectionLeg(2L, 1L, "Test Airlines", "Chicago", "Los Angeles", new BigDecimal("130.00"), 90));
+        ConnectionItinerary itinerary = new ConnectionItinerary("New York", "Los Angeles", date,
+                SeatCategory.ECONOMY, 1, new BigDecimal("250.00"), legs);
+        when(connectionSearchService.findConnections("New York", "Los Angeles", date, SeatCategory.ECONOMY, 2, 1))
+                .thenReturn(List.of(itinerary));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/connections")
+                .param("origin", "New York")
+                .param("destination", "Los Angeles")
+                .param("dateOfTravel", date.toString())
+                .param("noOfSeats", "2")
+                .param("maxStops", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].stops").value(1))
+                .andExpect(jsonPath("$.data[0].totalAirFare").value(250.00))
+                .andExpect(jsonPath("$.data[0].legs[1].origin").value("Chicago"));
+    }
+
+    @Test
+    void testSearchConnections_InvalidRequest() throws Exception {
+        // Mock a rejected search
+        LocalDate date = LocalDate.now().plusDays(7);
+        when(connectionSearchService.findConnections("New York", "New York", date, SeatCategory.ECONOMY, 1, null))
+                .thenThrow(new RuntimeException("Origin and destination must be different"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/connections")
+                .param("origin", "New York")
+                .param("destination", "New York")
+                .param("dateOfTravel", date.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Origin and destination must be different"));
+    }
+
+    @Test
+    void testGetFlightLoadFactors_Success() throws Exception {
+        // Mock one day of a flight at 40% load
+        LocalDate date = LocalDate.now().plusDays(7);
+        when(loadFactorService.getFlightLoadFactors(1L, date, date)).thenReturn(List.of(
+                new DailyLoadFactor(1L, date, 3, 72, 180, new BigDecimal("40.00"), new BigDecimal("2159.93"))));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/1/load-factor")
+                .param("fromDate", date.toString())
+                .param("toDate", date.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].seatsBooked").value(72))
+                .andExpect(jsonPath("$.data[0].loadFactorPercentage").value(40.00));
+    }
+
+    @Test
+    void testGetRouteLoadFactors_InvalidRange() throws Exception {
+        // Mock a rejected date range
+        LocalDate date = LocalDate.now().plusDays(7);
+        when(loadFactorService.getRouteLoadFactors("New York", "Los Angeles", date, date.minusDays(1)))
+                .thenThrow(new RuntimeException("Travel date range start must not be after its end"));
+
+        // Perform GET request
+        mockMvc.perform(get("/api/flights/route-load-factor")
+                .param("origin", "New York")
+                .param("destination", "Los Angeles")
+                .param("fromDate", date.toString())
+                .param("toDate", date.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Travel date range start must not be after its end"));
+    }
+
     @Test
     void testRegisterFlight_Success() throws Exception {
         // Mock successful flight registration
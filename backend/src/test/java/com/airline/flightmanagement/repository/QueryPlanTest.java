@@ -0,0 +1,317 @@
+package com.airline.flightmanagement.repository;
+
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.SeatCategory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN in H2 for the SQL of every derived and @Query method of the flight, booking,
+ * flight schedule and user repositories, and fails when a hot query no longer reads through an
+ * index. Queries that read a whole table by design are listed as full scans. A repository method
+ * without a plan expectation fails the build too, so new queries have to be classified. The
+ * combined flight query is explained for each common mix of filters.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.airline.flightmanagement.repository.QueryPlanTest$CapturingInspector")
+class QueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, FlightRepository.class,
+            FlightScheduleRepository.class, UserRepository.class, DailyFlightRollupRepository.class);
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyFlightRollupRepository dailyFlightRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testEveryRepositoryQueryHasAPlanExpectation() {
+        // Arrange
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isDefault() && !Modifier.isStatic(method.getModifiers())) {
+                    declared.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        // Act
+        Set<String> expected = new TreeSet<>(plans().keySet());
+
+        // Assert
+        assertEquals(declared, expected);
+    }
+
+    @Test
+    void testHotQueriesUseIndexes() {
+        List<String> regressions = new ArrayList<>();
+        plans().forEach((name, plan) -> {
+            // Act
+            List<String> explained = explain(plan.query());
+
+            // Assert
+            assertFalse(explained.isEmpty(), name + " issued no SQL");
+            for (String text : explained) {
+                if (!plan.fullScan() && text.contains(TABLE_SCAN)) {
+                    regressions.add(name + " scans a table:\n" + text);
+                }
+                for (String index : plan.indexes()) {
+                    if (!text.toUpperCase().contains("PUBLIC." + index.toUpperCase())) {
+                        regressions.add(name + " does not use " + index + ":\n" + text);
+                    }
+                }
+            }
+        });
+        assertTrue(regressions.isEmpty(), String.join("\n\n", regressions));
+    }
+
+    @Test
+    void testFlightQueryFilterMixesUseIndexes() {
+        List<String> regressions = new ArrayList<>();
+        flightQueryPlans().forEach((name, plan) -> {
+            // Act
+            List<String> explained = explain(plan.query());
+
+            // Assert - each filter mix is one statement
+            assertEquals(1, explained.size(), name);
+            String text = explained.get(0);
+            if (text.contains(TABLE_SCAN)) {
+                regressions.add(name + " scans a table:\n" + text);
+            }
+            for (String index : plan.indexes()) {
+                if (!text.toUpperCase().contains("PUBLIC." + index.toUpperCase())) {
+                    regressions.add(name + " does not use " + index + ":\n" + text);
+                }
+            }
+        });
+        assertTrue(regressions.isEmpty(), String.join("\n\n", regressions));
+    }
+
+    private Map<String, Plan> plans() {
+        LocalDate date = LocalDate.now().plusDays(30);
+        PageRequest page = PageRequest.ofSize(10);
+        Map<String, Plan> plans = new LinkedHashMap<>();
+
+        // Bookings
+        plans.put("BookingRepository.findByFlightIdAndDateOfTravel", indexed(
+                () -> bookingRepository.findByFlightIdAndDateOfTravel(1L, date), "idx_bookings_departure"));
+        plans.put("BookingRepository.findByUserId", indexed(
+                () -> bookingRepository.findByUserId(1L), "idx_bookings_user"));
+        plans.put("BookingRepository.findUserBookingResponses", indexed(
+                () -> bookingRepository.findUserBookingResponses(1L, BookingStatus.BOOKED, date, date, 0L, page),
+                "idx_bookings_user"));
+        plans.put("BookingRepository.findByFlightId", indexed(
+                () -> bookingRepository.findByFlightId(1L), "idx_bookings_departure"));
+        plans.put("BookingRepository.findByFlightIdAndUserIdAndDateOfTravel", indexed(
+                () -> bookingRepository.findByFlightIdAndUserIdAndDateOfTravel(1L, 1L, date)));
+        plans.put("BookingRepository.countByFlightIdAndDateOfTravelAndSeatCategory", indexed(
+                () -> bookingRepository.countByFlightIdAndDateOfTravelAndSeatCategory(1L, date, SeatCategory.ECONOMY),
+                "idx_bookings_departure"));
+        plans.put("BookingRepository.streamAllForExport", fullScan(
+                () -> first(bookingRepository.streamAllForExport())));
+        plans.put("BookingRepository.findActiveBookings", fullScan(
+                () -> bookingRepository.findActiveBookings()));
+        plans.put("BookingRepository.sumBookedSeatsByDeparture", fullScan(
+                () -> bookingRepository.sumBookedSeatsByDeparture()));
+        plans.put("BookingRepository.aggregateBookingStats", fullScan(
+                () -> bookingRepository.aggregateBookingStats()));
+        plans.put("BookingRepository.sumActiveBookingsByDepartureFrom", fullScan(
+                () -> bookingRepository.sumActiveBookingsByDepartureFrom(date)));
+        plans.put("BookingRepository.sumActiveBookingsOfDeparture", indexed(
+                () -> bookingRepository.sumActiveBookingsOfDeparture(1L, date), "idx_bookings_departure"));
+
+        // Flights
+        plans.put("FlightRepository.findFlightDTO", indexed(
+                () -> flightRepository.findFlightDTO(1L)));
+        plans.put("FlightRepository.findBookingContext", indexed(
+                () -> flightRepository.findBookingContext(1L, 1L, date)));
+        plans.put("FlightRepository.findPageAfter", indexed(
+                () -> flightRepository.findPageAfter(0L, page)));
+        plans.put("FlightRepository.streamAllForExport", fullScan(
+                () -> first(flightRepository.streamAllForExport())));
+        plans.put("FlightRepository.findAllWithCarrierByFlightIdIn", indexed(
+                () -> flightRepository.findAllWithCarrierByFlightIdIn(List.of(1L, 2L))));
+        plans.put("FlightRepository.lockFlight", indexed(
+                () -> flightRepository.lockFlight(1L)));
+
+        // Flight schedules
+        plans.put("FlightScheduleRepository.findByFlightIdAndDateOfTravel", indexed(
+                () -> flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, date)));
+        plans.put("FlightScheduleRepository.findByFlightId", indexed(
+                () -> flightScheduleRepository.findByFlightId(1L)));
+        plans.put("FlightScheduleRepository.findByFlightIdAndDateOfTravelBetween", indexed(
+                () -> flightScheduleRepository.findByFlightIdAndDateOfTravelBetween(1L, date, date.plusDays(7))));
+        plans.put("FlightScheduleRepository.findByDateOfTravel", indexed(
+                () -> flightScheduleRepository.findByDateOfTravel(date), "idx_flight_schedules_date"));
+        plans.put("FlightScheduleRepository.findByDateOfTravelGreaterThanEqual", indexed(
+                () -> flightScheduleRepository.findByDateOfTravelGreaterThanEqual(date),
+                "idx_flight_schedules_date"));
+        plans.put("FlightScheduleRepository.findAvailableSchedule", indexed(
+                () -> flightScheduleRepository.findAvailableSchedule(1L, date, SeatCategory.ECONOMY.name())));
+        plans.put("FlightScheduleRepository.existsByFlightIdAndDateOfTravel", indexed(
+                () -> flightScheduleRepository.existsByFlightIdAndDateOfTravel(1L, date)));
+        plans.put("FlightScheduleRepository.mergeSchedule", indexed(
+                () -> flightScheduleRepository.mergeSchedule(1L, date, 10, 4, 2)));
+        plans.put("FlightScheduleRepository.updateBookedCounts", indexed(
+                () -> flightScheduleRepository.updateBookedCounts(1L, date, 1, 1, 1)));
+        plans.put("FlightScheduleRepository.updateTotalCapacity", indexed(
+                () -> flightScheduleRepository.updateTotalCapacity(1L, date, 10, 4, 2)));
+
+        // Daily rollups
+        plans.put("DailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween", indexed(
+                () -> dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(1L, date, date.plusDays(6)),
+                "uk_daily_flight_rollup_departure"));
+        plans.put("DailyFlightRollupRepository.sumByDateOfTravel", indexed(
+                () -> dailyFlightRollupRepository.sumByDateOfTravel(List.of(1L, 2L), date, date.plusDays(6))));
+        plans.put("DailyFlightRollupRepository.findByDateOfTravelGreaterThanEqual", indexed(
+                () -> dailyFlightRollupRepository.findByDateOfTravelGreaterThanEqual(date),
+                "idx_daily_flight_rollups_date"));
+        plans.put("DailyFlightRollupRepository.lockRollup", indexed(
+                () -> dailyFlightRollupRepository.lockRollup(1L, date), "uk_daily_flight_rollup_departure"));
+        plans.put("DailyFlightRollupRepository.incrementRollup", indexed(
+                () -> dailyFlightRollupRepository.incrementRollup(1L, date, 1, 1, BigDecimal.TEN),
+                "uk_daily_flight_rollup_departure"));
+        plans.put("DailyFlightRollupRepository.addToRollup", indexed(
+                () -> dailyFlightRollupRepository.addToRollup(1L, date, 1, 1, BigDecimal.TEN),
+                "uk_daily_flight_rollup_departure"));
+        plans.put("DailyFlightRollupRepository.setRollup", indexed(
+                () -> dailyFlightRollupRepository.setRollup(1L, date, 1, 1, BigDecimal.TEN)));
+
+        // Users
+        plans.put("UserRepository.findByUserName", indexed(
+                () -> userRepository.findByUserName("john_doe")));
+        plans.put("UserRepository.findByEmailId", indexed(
+                () -> userRepository.findByEmailId("john@example.com")));
+        plans.put("UserRepository.existsByUserName", indexed(
+                () -> userRepository.existsByUserName("john_doe")));
+        plans.put("UserRepository.existsByEmailId", indexed(
+                () -> userRepository.existsByEmailId("john@example.com")));
+        plans.put("UserRepository.findByUserIdGreaterThanOrderByUserIdAsc", indexed(
+                () -> userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0L, page)));
+        plans.put("UserRepository.findCustomerCategoryByUserId", indexed(
+                () -> userRepository.findCustomerCategoryByUserId(1L)));
+        return plans;
+    }
+
+    /**
+     * The combined flight query for the common filter mixes, with the indexes each should read through
+     */
+    private Map<String, Plan> flightQueryPlans() {
+        LocalDate date = LocalDate.now().plusDays(30);
+        BigDecimal min = new BigDecimal("100");
+        BigDecimal max = new BigDecimal("300");
+        Map<String, Plan> plans = new LinkedHashMap<>();
+        plans.put("no filter", flightQuery(new FlightSearchCriteria()));
+        plans.put("route", flightQuery(new FlightSearchCriteria("New York", "Chicago", null, null, null, false,
+                null, SeatCategory.ECONOMY, 1), "idx_flights_route"));
+        plans.put("route and fare", flightQuery(new FlightSearchCriteria("New York", "Chicago", null, min, max,
+                false, null, SeatCategory.ECONOMY, 1), "idx_flights_route"));
+        plans.put("origin and active carriers", flightQuery(new FlightSearchCriteria("New York", null, null, null,
+                null, true, null, SeatCategory.ECONOMY, 1), "idx_flights_route"));
+        plans.put("destination and fare", flightQuery(new FlightSearchCriteria(null, "Chicago", null, min, max,
+                false, null, SeatCategory.ECONOMY, 1), "idx_flights_destination"));
+        plans.put("carrier and fare", flightQuery(new FlightSearchCriteria(null, null, 1L, min, max, false, null,
+                SeatCategory.ECONOMY, 1), "idx_flights_carrier_fare"));
+        plans.put("route with seats", flightQuery(new FlightSearchCriteria("New York", "Chicago", null, null, null,
+                false, date, SeatCategory.BUSINESS, 2), "idx_flights_route", "uk_flight_schedule_departure"));
+        plans.put("every filter", flightQuery(new FlightSearchCriteria("New York", "Chicago", 1L, min, max, true,
+                date, SeatCategory.ECONOMY, 2), "idx_flights_route", "uk_flight_schedule_departure"));
+        return plans;
+    }
+
+    private Plan flightQuery(FlightSearchCriteria criteria, String... indexes) {
+        return indexed(() -> flightRepository.findBy(FlightSpecifications.matching(criteria, 0L),
+                query -> query.sortBy(Sort.by("flightId")).limit(51).all()), indexes);
+    }
+
+    /**
+     * Run a repository method and EXPLAIN every statement it issued
+     */
+    private List<String> explain(Runnable query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+        return statements.stream()
+                .map(sql -> String.join("\n", jdbcTemplate.query(con -> {
+                    var explain = con.prepareStatement("EXPLAIN " + sql);
+                    for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                        explain.setObject(i, null);
+                    }
+                    return explain;
+                }, (rs, row) -> rs.getString(1))))
+                .collect(Collectors.toList());
+    }
+
+    private static void first(Stream<?> rows) {
+        try (rows) {
+            rows.findFirst();
+        }
+    }
+
+    private static Plan indexed(Runnable query, String... indexes) {
+        return new Plan(query, false, Arrays.asList(indexes));
+    }
+
+    private static Plan fullScan(Runnable query) {
+        return new Plan(query, true, List.of());
+    }
+
+    /**
+     * How a repository method is expected to read: through the given indexes, or a full scan by design
+     */
+    private record Plan(Runnable query, boolean fullScan, List<String> indexes) {}
+
+    /**
+     * Records the SQL Hibernate sends, so it can be explained afterwards
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.entity.FlightSchedule;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityCalendarServiceTest {
+
+    @Mock
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Spy
+    private FlightRouteIndex flightRouteIndex = new FlightRouteIndex();
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @InjectMocks
+    private AvailabilityCalendarService availabilityCalendarService = new AvailabilityCalendarService(100, 60);
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    @BeforeEach
+    void setUp() {
+        FlightDTO flight = new FlightDTO();
+        flight.setFlightId(1L);
+        flight.setCarrierId(1L);
+        flight.setCarrierName("Test Airlines");
+        flight.setOrigin("New York");
+        flight.setDestination("Los Angeles");
+        flight.setAirFare(new BigDecimal("299.99"));
+        flight.setSeatCapacityEconomy(150);
+        flight.setSeatCapacityBusiness(20);
+        flight.setSeatCapacityExecutive(10);
+        flightRouteIndex.flightSaved(flight);
+
+        fromDate = LocalDate.now().plusDays(5);
+        toDate = fromDate.plusDays(2);
+    }
+
+    @Test
+    void testGetCalendar_MergesInventoryScheduleRowsAndCapacity() {
+        // Arrange
+        FlightSchedule schedule = new FlightSchedule(1L, fromDate.plusDays(1), 150, 20, 10);
+        schedule.setBookedCountEconomy(50);
+        schedule.setBookedCountExecutive(10);
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate))
+                .thenReturn(List.of(schedule));
+        when(seatInventory.peekAvailability(1L, fromDate))
+                .thenReturn(new SeatAvailabilityResponse(1L, fromDate, 140, 18, 10));
+
+        // Act
+        List<SeatAvailabilityResponse> calendar = availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+
+        // Assert
+        assertEquals(3, calendar.size());
+        assertEquals(140, calendar.get(0).getAvailableEconomy()); // Held by the seat inventory
+        assertEquals(100, calendar.get(1).getAvailableEconomy()); // From its schedule row
+        assertEquals(0, calendar.get(1).getAvailableExecutive());
+        assertEquals(150, calendar.get(2).getAvailableEconomy()); // No schedule row
+        assertEquals(toDate, calendar.get(2).getDateOfTravel());
+        verify(flightScheduleRepository, times(1)).findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate);
+    }
+
+    @Test
+    void testGetCalendar_ServedFromCacheUntilInvalidated() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate))
+                .thenReturn(List.of());
+
+        // Act
+        List<SeatAvailabilityResponse> first = availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+        List<SeatAvailabilityResponse> second = availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+        availabilityCalendarService.invalidateFlight(1L);
+        availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+
+        // Assert
+        assertSame(first, second);
+        verify(flightScheduleRepository, times(2)).findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate);
+    }
+
+    @Test
+    void testGetCalendar_InvalidationOnlyAffectsItsFlight() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate))
+                .thenReturn(List.of());
+        availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+
+        // Act
+        availabilityCalendarService.invalidateFlight(2L);
+        availabilityCalendarService.getCalendar(1L, fromDate, toDate);
+
+        // Assert
+        verify(flightScheduleRepository, times(1)).findByFlightIdAndDateOfTravelBetween(1L, fromDate, toDate);
+    }
+
+    @Test
+    void testGetCalendar_FlightNotFound() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            availabilityCalendarService.getCalendar(99L, fromDate, toDate);
+        });
+
+        assertEquals("Flight not found with id: 99", exception.getMessage());
+        verifyNoInteractions(flightScheduleRepository);
+    }
+
+    @Test
+    void testGetCalendar_InvalidRange() {
+        // Act & Assert
+        RuntimeException reversed = assertThrows(RuntimeException.class,
+                () -> availabilityCalendarService.getCalendar(1L, toDate, fromDate));
+        assertEquals("Travel date range start must not be after its end", reversed.getMessage());
+
+        RuntimeException tooLong = assertThrows(RuntimeException.class,
+                () -> availabilityCalendarService.getCalendar(1L, fromDate, fromDate.plusDays(62)));
+        assertEquals("Travel date range cannot span more than 62 days", tooLong.getMessage());
+        verifyNoInteractions(flightScheduleRepository);
+    }
+}
@@ -0,0 +1,103 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BatchBookingResponse;
+import com.airline.flightmanagement.dto.BatchBookingResult;
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=25",
+        "seat-inventory.flush-interval-ms=3600000"
+})
+class BatchBookingTest {
+
+    private static final int ECONOMY_CAPACITY = 40;
+    private static final int REQUESTS_PER_DEPARTURE = 45;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Flight flight;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Carrier carrier = carrierRepository.findAll().get(0);
+        flight = flightRepository.save(new Flight(carrier, "Batch Origin", "Batch Destination",
+                new BigDecimal("100.00"), 5, ECONOMY_CAPACITY, 2));
+        user = userRepository.findAll().get(0);
+    }
+
+    @Test
+    void testBookFlights_InsertsInJdbcBatches() {
+        // Arrange - two departures, each asked for more seats than it has
+        LocalDate firstDate = LocalDate.now().plusDays(40);
+        LocalDate secondDate = LocalDate.now().plusDays(41);
+        List<BookFlightRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS_PER_DEPARTURE; i++) {
+            requests.add(new BookFlightRequest(flight.getFlightId(), 1, SeatCategory.ECONOMY, firstDate));
+            requests.add(new BookFlightRequest(flight.getFlightId(), 1, SeatCategory.ECONOMY, secondDate));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        BatchBookingResponse response = bookingService.bookFlights(requests, user.getUserId());
+
+        // Assert - every request has a result and only the overflow was rejected
+        assertEquals(2 * REQUESTS_PER_DEPARTURE, response.getRequested());
+        assertEquals(2 * ECONOMY_CAPACITY, response.getSucceeded());
+        for (BatchBookingResult result : response.getResults()) {
+            if (!result.isSuccess()) {
+                assertTrue(result.getMessage().startsWith("Insufficient seats available"));
+            } else {
+                assertNotNull(result.getBooking().getBookingId());
+            }
+        }
+
+        // One context query per departure, 80 inserts sent as 4 batches of 25, and a few sequence fetches,
+        // plus one rollup write per departure: a missed update, the flight lock and a merge for a new one
+        assertEquals(2 * ECONOMY_CAPACITY, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2 + 4 + 3 + 2 * 3,
+                "Expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+
+        assertEquals(ECONOMY_CAPACITY, bookingRepository.findByFlightIdAndDateOfTravel(
+                flight.getFlightId(), firstDate).size());
+        assertEquals(ECONOMY_CAPACITY, bookingRepository.findByFlightIdAndDateOfTravel(
+                flight.getFlightId(), secondDate).size());
+    }
+}
@@ -0,0 +1,256 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.DailyFlightRollupRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int ECONOMY_CAPACITY = 50;
+    private static final int BOOKING_ATTEMPTS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyFlightRollupRepository dailyFlightRollupRepository;
+
+    @Autowired
+    private SeatInventory seatInventory;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private Flight flight;
+    private User user;
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        Carrier carrier = carrierRepository.findAll().get(0);
+
+        flight = flightRepository.save(new Flight(carrier, "Stress Origin", "Stress Destination",
+                new BigDecimal("100.00"), 5, ECONOMY_CAPACITY, 2));
+
+        user = userRepository.findAll().get(0);
+
+        dateOfTravel = LocalDate.now().plusDays(3);
+    }
+
+    @Test
+    void testConcurrentBookings_NeverOversell() throws Exception {
+        // Arrange - schedule row exists so every booking contends on the same counters
+        flightScheduleRepository.save(new FlightSchedule(flight.getFlightId(), dateOfTravel,
+                ECONOMY_CAPACITY, 5, 2));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKING_ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                            SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (e.getMessage() != null && e.getMessage().startsWith("Insufficient seats available")) {
+                        rejected.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(ECONOMY_CAPACITY, succeeded.get());
+        assertEquals(BOOKING_ATTEMPTS - ECONOMY_CAPACITY, rejected.get());
+        assertEquals(0, seatInventory.getAvailability(flight.getFlightId(), dateOfTravel).getAvailableEconomy());
+
+        seatInventory.flush();
+
+        FlightSchedule schedule = flightScheduleRepository
+                .findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel).orElseThrow();
+        assertEquals(ECONOMY_CAPACITY, schedule.getBookedCountEconomy());
+        assertEquals(ECONOMY_CAPACITY, bookingRepository.findByFlightIdAndDateOfTravel(
+                flight.getFlightId(), dateOfTravel).size());
+    }
+
+    @Test
+    void testConcurrentFirstBookings_CreateSingleSchedule() throws Exception {
+        // Arrange - no schedule row exists yet for this departure
+        int firstBookings = ECONOMY_CAPACITY - 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act - every thread races to make the first booking of the date
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < firstBookings; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                        SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - exactly one schedule row carrying every seat
+        seatInventory.flush();
+        List<FlightSchedule> schedules = flightScheduleRepository.findByFlightId(flight.getFlightId());
+        assertEquals(1, schedules.size());
+        assertEquals(firstBookings, schedules.get(0).getBookedCountEconomy());
+        assertEquals(ECONOMY_CAPACITY, schedules.get(0).getTotalCapacityEconomy());
+        assertTrue(flightScheduleRepository.findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel).isPresent());
+
+        // ...and exactly one rollup row counting every booking
+        List<DailyFlightRollup> rollups = dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(
+                flight.getFlightId(), dateOfTravel, dateOfTravel);
+        assertEquals(1, rollups.size());
+        assertEquals(firstBookings, rollups.get(0).getBookings());
+        assertEquals(firstBookings, rollups.get(0).getSeatsBooked());
+    }
+
+    @Test
+    void testConcurrentBookAndCancel_CountersStayConsistent() throws Exception {
+        // Arrange - fill half the flight, then cancel and rebook concurrently
+        flightScheduleRepository.save(new FlightSchedule(flight.getFlightId(), dateOfTravel,
+                ECONOMY_CAPACITY, 5, 2));
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < ECONOMY_CAPACITY / 2; i++) {
+            bookingIds.add(bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                    SeatCategory.ECONOMY, dateOfTravel), user.getUserId()).getBookingId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            futures.add(executor.submit(() -> bookingService.cancelBooking(bookingId)));
+        }
+        for (int i = 0; i < ECONOMY_CAPACITY; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                            SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+                } catch (RuntimeException e) {
+                    // Rejected when the flight was momentarily full
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - counter matches the bookings that are still active
+        seatInventory.flush();
+        long activeSeats = bookingRepository.findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel)
+                .stream()
+                .filter(booking -> booking.getBookingStatus() == BookingStatus.BOOKED)
+                .mapToInt(Booking::getNoOfSeats)
+                .sum();
+        FlightSchedule schedule = flightScheduleRepository
+                .findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel).orElseThrow();
+        assertEquals(activeSeats, schedule.getBookedCountEconomy().longValue());
+        assertTrue(schedule.getBookedCountEconomy() <= ECONOMY_CAPACITY);
+
+        // The rollup counts the same seats without any repair
+        DailyFlightRollup rollup = dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(
+                flight.getFlightId(), dateOfTravel, dateOfTravel).get(0);
+        assertEquals(activeSeats, rollup.getSeatsBooked().longValue());
+    }
+
+    @Test
+    void testConcurrentRetriesWithSameIdempotencyKey_BookOnce() throws Exception {
+        // Arrange - a client retrying one booking request many times at once
+        String idempotencyKey = UUID.randomUUID().toString();
+        BookFlightRequest request = new BookFlightRequest(flight.getFlightId(), 2, SeatCategory.ECONOMY, dateOfTravel);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<BookFlightResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.execute(idempotencyKey, IdempotencyService.BOOK_FLIGHT,
+                        List.of(user.getUserId(), request), BookFlightResponse.class,
+                        () -> bookingService.bookFlight(request, user.getUserId()));
+            }));
+        }
+        start.countDown();
+        Set<Long> bookingIds = ConcurrentHashMap.newKeySet();
+        for (Future<BookFlightResponse> future : futures) {
+            bookingIds.add(future.get(60, TimeUnit.SECONDS).getBookingId());
+        }
+        executor.shutdown();
+
+        // Assert - every retry got the same booking and only one was created
+        assertEquals(1, bookingIds.size());
+        assertEquals(1, bookingRepository.findByFlightIdAndDateOfTravel(flight.getFlightId(), dateOfTravel).size());
+        assertEquals(ECONOMY_CAPACITY - 2, seatInventory.getAvailability(flight.getFlightId(), dateOfTravel)
+                .getAvailableEconomy());
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> idempotencyService.execute(
+                idempotencyKey, IdempotencyService.BOOK_FLIGHT,
+                List.of(user.getUserId(), new BookFlightRequest(flight.getFlightId(), 3, SeatCategory.ECONOMY, dateOfTravel)),
+                BookFlightResponse.class, () -> bookingService.bookFlight(request, user.getUserId())));
+        assertEquals("Idempotency-Key " + idempotencyKey + " was already used for a different request",
+                exception.getMessage());
+    }
+}
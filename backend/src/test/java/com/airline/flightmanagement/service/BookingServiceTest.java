@@ -1,28 +1,41 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.dto.BatchBookingResponse;
 import com.airline.flightmanagement.dto.BookFlightRequest;
 import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.BookingContext;
 import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
 import com.airline.flightmanagement.entity.*;
 import com.airline.flightmanagement.repository.BookingRepository;
 import com.airline.flightmanagement.repository.FlightRepository;
-import com.airline.flightmanagement.repository.FlightScheduleRepository;
-import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,10 +48,25 @@ class BookingServiceTest {
     private FlightRepository flightRepository;
 
     @Mock
-    private FlightScheduleRepository flightScheduleRepository;
+    private SeatInventory seatInventory;
 
     @Mock
-    private UserRepository userRepository;
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @Mock
+    private BookingStatsService bookingStatsService;
+
+    @Mock
+    private LoadFactorService loadFactorService;
+
+    @Spy
+    private DiscountPolicyService discountPolicyService = new DiscountPolicyService();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(50, 500);
 
     @InjectMocks
     private BookingService bookingService;
@@ -46,7 +74,6 @@ class BookingServiceTest {
     private Flight testFlight;
     private User testUser;
     private BookFlightRequest testRequest;
-    private FlightSchedule testSchedule;
     private Booking testBooking;
 
     @BeforeEach
@@ -79,18 +106,6 @@ class BookingServiceTest {
         testRequest.setSeatCategory(SeatCategory.ECONOMY);
         testRequest.setDateOfTravel(LocalDate.now().plusDays(30));
 
-        // Setup test schedule
-        testSchedule = new FlightSchedule();
-        testSchedule.setScheduleId(1L);
-        testSchedule.setFlightId(1L);
-        testSchedule.setDateOfTravel(testRequest.getDateOfTravel());
-        testSchedule.setTotalCapacityEconomy(150);
-        testSchedule.setTotalCapacityBusiness(20);
-        testSchedule.setTotalCapacityExecutive(10);
-        testSchedule.setBookedCountEconomy(50);
-        testSchedule.setBookedCountBusiness(5);
-        testSchedule.setBookedCountExecutive(2);
-
         // Setup test booking
         testBooking = new Booking();
         testBooking.setBookingId(1L);
@@ -108,12 +123,11 @@ class BookingServiceTest {
     @Test
     void testBookFlight_Success() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
 
         // Act
         BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
@@ -131,17 +145,22 @@ class BookingServiceTest {
         assertEquals("Test Airlines", result.getCarrierName());
         assertEquals(new BigDecimal("299.99"), result.getOriginalAirFare());
 
-        verify(flightRepository, times(2)).findById(1L); // Called in bookFlight and checkSeatAvailability
-        verify(userRepository).findById(1L);
-        verify(flightScheduleRepository, times(2)).findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()); // Called in checkSeatAvailability and getOrCreateFlightSchedule
+        verify(flightRepository).findBookingContext(1L, 1L, testRequest.getDateOfTravel());
         verify(bookingRepository).save(any(Booking.class));
-        verify(flightScheduleRepository).save(any(FlightSchedule.class)); // Called in bookFlight
+        verify(flightRepository, never()).findById(any(Long.class)); // Carrier and user came with the context
+        verify(seatInventory).tryReserve(argThat(context -> context.getFlight() == testFlight),
+                eq(SeatCategory.ECONOMY), eq(2)); // Admitted from memory
+        verify(availabilityCalendarService).invalidateFlight(1L);
+        verify(bookingStatsService).bookingSaved(testBooking, testFlight, testFlight.getCarrier());
+        verify(loadFactorService).bookingsSaved(List.of(testBooking));
     }
 
     @Test
     void testBookFlight_FlightNotFound() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.empty());
+        when(flightRepository.existsById(1L)).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -149,15 +168,16 @@ class BookingServiceTest {
         });
 
         assertEquals("Flight not found with id: 1", exception.getMessage());
-        verify(flightRepository).findById(1L);
-        verify(userRepository, never()).findById(any(Long.class));
+        verify(flightRepository).existsById(1L);
+        verifyNoInteractions(seatInventory, bookingRepository);
     }
 
     @Test
     void testBookFlight_UserNotFound() {
-        // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        // Arrange - flight exists, so the empty context means the user is missing
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.empty());
+        when(flightRepository.existsById(1L)).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -165,18 +185,20 @@ class BookingServiceTest {
         });
 
         assertEquals("User not found with id: 1", exception.getMessage());
-        verify(flightRepository).findById(1L);
-        verify(userRepository).findById(1L);
+        verify(flightRepository).existsById(1L);
+        verifyNoInteractions(seatInventory, bookingRepository);
     }
 
     @Test
     void testBookFlight_InsufficientSeats() {
         // Arrange
         testRequest.setNoOfSeats(150); // Try to book more seats than available
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(150)))
+                .thenReturn(false);
+        when(seatInventory.getAvailableSeats(any(BookingContext.class), eq(SeatCategory.ECONOMY)))
+                .thenReturn(100);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -184,21 +206,19 @@ class BookingServiceTest {
         });
 
         assertEquals("Insufficient seats available. Requested: 150, Available: 100", exception.getMessage());
-        verify(flightRepository, times(2)).findById(1L); // Called in bookFlight and checkSeatAvailability
-        verify(userRepository).findById(1L);
-        verify(flightScheduleRepository).findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()); // Only called in checkSeatAvailability when exception is thrown
+        verify(flightRepository).findBookingContext(1L, 1L, testRequest.getDateOfTravel());
+        verify(bookingRepository, never()).save(any(Booking.class)); // Rejected before anything is written
     }
 
     @Test
     void testBookFlight_WithAdvanceBookingDiscount() {
         // Arrange - Book 30+ days in advance for 15% discount
         testRequest.setDateOfTravel(LocalDate.now().plusDays(35));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
 
         // Act
         BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
@@ -213,12 +233,11 @@ class BookingServiceTest {
     void testBookFlight_WithCustomerCategoryDiscount() {
         // Arrange - GOLD customer gets 15% discount
         testUser.setCustomerCategory(CustomerCategory.PLATINUM); // 20% discount
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
 
         // Act
         BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
@@ -234,12 +253,11 @@ class BookingServiceTest {
     void testBookFlight_WithBulkBookingDiscount() {
         // Arrange - Book 5+ seats for 10% bulk discount
         testRequest.setNoOfSeats(6);
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
 
         // Act
         BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
@@ -257,12 +275,11 @@ class BookingServiceTest {
         testUser.setCustomerCategory(CustomerCategory.REGULAR);
         testRequest.setDateOfTravel(LocalDate.now().plusDays(5)); // 5 days = 5% advance booking discount
         testRequest.setNoOfSeats(1);
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.of(testSchedule));
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
+        when(flightRepository.findBookingContext(1L, 1L, testRequest.getDateOfTravel()))
+                .thenReturn(Optional.of(bookingContext()));
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
 
         // Act
         BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
@@ -274,21 +291,110 @@ class BookingServiceTest {
     }
 
     @Test
-    void testBookFlight_CreateNewFlightSchedule() {
-        // Arrange - No existing schedule, should create new one
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, testRequest.getDateOfTravel()))
-                .thenReturn(Optional.empty());
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(testSchedule);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+    void testBookFlights_GroupsRequestsByDeparture() {
+        // Arrange - two requests share a departure, the third travels a day later
+        LocalDate firstDate = testRequest.getDateOfTravel();
+        LocalDate secondDate = firstDate.plusDays(1);
+        List<BookFlightRequest> requests = Arrays.asList(
+                new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, firstDate),
+                new BookFlightRequest(1L, 1, SeatCategory.BUSINESS, secondDate),
+                new BookFlightRequest(1L, 3, SeatCategory.ECONOMY, firstDate));
+        when(flightRepository.findBookingContext(1L, 1L, firstDate)).thenReturn(Optional.of(
+                new BookingContext(testFlight, testFlight.getCarrier(), CustomerCategory.GOLD, firstDate, null)));
+        when(flightRepository.findBookingContext(1L, 1L, secondDate)).thenReturn(Optional.of(
+                new BookingContext(testFlight, testFlight.getCarrier(), CustomerCategory.GOLD, secondDate, null)));
+        when(seatInventory.tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt()))
+                .thenReturn(true);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        BookFlightResponse result = bookingService.bookFlight(testRequest, 1L);
+        BatchBookingResponse result = bookingService.bookFlights(requests, 1L);
 
         // Assert
-        assertNotNull(result);
-        verify(flightScheduleRepository, times(2)).save(any(FlightSchedule.class)); // Called in getOrCreateFlightSchedule and bookFlight
+        assertEquals(3, result.getRequested());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(0, result.getFailed());
+        assertEquals(2, result.getResults().get(0).getBooking().getNoOfSeats());
+        assertEquals(SeatCategory.BUSINESS, result.getResults().get(1).getBooking().getSeatCategory());
+        assertEquals(3, result.getResults().get(2).getBooking().getNoOfSeats());
+
+        verify(flightRepository, times(1)).findBookingContext(1L, 1L, firstDate); // Once per departure
+        verify(flightRepository, times(1)).findBookingContext(1L, 1L, secondDate);
+        verify(bookingRepository, times(1)).saveAll(argThat(bookings -> ((List<Booking>) bookings).size() == 3));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(seatInventory, times(1)).tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(5));
+        verify(seatInventory, times(1)).tryReserve(any(BookingContext.class), eq(SeatCategory.BUSINESS), eq(1));
+        verify(seatInventory, times(2)).tryReserve(any(BookingContext.class), any(SeatCategory.class), anyInt());
+        verify(availabilityCalendarService, times(2)).invalidateFlight(1L); // Once per departure
+    }
+
+    @Test
+    void testBookFlights_AdmitsRequestsSinglyWhenCategoryTotalDoesNotFit() {
+        // Arrange - 6 economy seats are requested in total but only the 4-seat request fits
+        LocalDate dateOfTravel = testRequest.getDateOfTravel();
+        List<BookFlightRequest> requests = Arrays.asList(
+                new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(1L, 4, SeatCategory.ECONOMY, dateOfTravel));
+        when(flightRepository.findBookingContext(1L, 1L, dateOfTravel))
+                .thenReturn(Optional.of(bookingContext()));
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(6))).thenReturn(false);
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(2))).thenReturn(false);
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(4))).thenReturn(true);
+        when(seatInventory.getAvailableSeats(any(BookingContext.class), eq(SeatCategory.ECONOMY))).thenReturn(0);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BatchBookingResponse result = bookingService.bookFlights(requests, 1L);
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertEquals("Insufficient seats available. Requested: 2, Available: 0",
+                result.getResults().get(0).getMessage());
+        assertEquals(4, result.getResults().get(1).getBooking().getNoOfSeats());
+        verify(availabilityCalendarService, times(1)).invalidateFlight(1L);
+    }
+
+    @Test
+    void testBookFlights_ReportsFailuresPerRequest() {
+        // Arrange
+        LocalDate dateOfTravel = testRequest.getDateOfTravel();
+        List<BookFlightRequest> requests = Arrays.asList(
+                new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(1L, 10, SeatCategory.EXECUTIVE, dateOfTravel),
+                new BookFlightRequest(1L, null, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(99L, 1, SeatCategory.ECONOMY, dateOfTravel));
+        when(flightRepository.findBookingContext(1L, 1L, dateOfTravel))
+                .thenReturn(Optional.of(bookingContext()));
+        when(flightRepository.findBookingContext(99L, 1L, dateOfTravel)).thenReturn(Optional.empty());
+        when(flightRepository.existsById(99L)).thenReturn(false);
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.ECONOMY), eq(2))).thenReturn(true);
+        when(seatInventory.tryReserve(any(BookingContext.class), eq(SeatCategory.EXECUTIVE), eq(10))).thenReturn(false);
+        when(seatInventory.getAvailableSeats(any(BookingContext.class), eq(SeatCategory.EXECUTIVE))).thenReturn(4);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BatchBookingResponse result = bookingService.bookFlights(requests, 1L);
+
+        // Assert
+        assertEquals(1, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals("Insufficient seats available. Requested: 10, Available: 4",
+                result.getResults().get(1).getMessage());
+        assertEquals("Number of seats is required", result.getResults().get(2).getMessage());
+        assertEquals("Flight not found with id: 99", result.getResults().get(3).getMessage());
+        assertEquals(3, result.getResults().get(3).getIndex());
+    }
+
+    @Test
+    void testBookFlights_EmptyBatch() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            bookingService.bookFlights(Collections.emptyList(), 1L);
+        });
+
+        assertEquals("Batch must contain at least one booking request", exception.getMessage());
+        verifyNoInteractions(flightRepository, seatInventory, bookingRepository);
     }
 
     @Test
@@ -310,61 +416,112 @@ class BookingServiceTest {
     @Test
     void testGetUserBookings_Success() {
         // Arrange
-        when(bookingRepository.findByUserId(1L)).thenReturn(Arrays.asList(testBooking));
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        BookFlightResponse projected = new BookFlightResponse(
+                testBooking.getBookingId(), testBooking.getFlightId(), testBooking.getUserId(),
+                testBooking.getNoOfSeats(), testBooking.getSeatCategory(), testBooking.getDateOfTravel(),
+                testBooking.getBookingAmount(), testBooking.getDiscountAmount(), testBooking.getDiscountReason(),
+                testBooking.getBookingStatus(), testBooking.getBookingDate(), testFlight.getOrigin(),
+                testFlight.getDestination(), testFlight.getCarrier().getCarrierName(), testFlight.getAirFare());
+        when(bookingRepository.findUserBookingResponses(1L, null, null, null, 0L, PageRequest.ofSize(51)))
+                .thenReturn(Arrays.asList(projected));
 
         // Act
-        java.util.List<BookFlightResponse> result = bookingService.getUserBookings(1L);
+        KeysetPage<BookFlightResponse> result = bookingService.getUserBookings(1L, null, null, null, null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.hasNextPage());
         
-        BookFlightResponse firstBooking = result.get(0);
+        BookFlightResponse firstBooking = result.getItems().get(0);
         assertEquals(testBooking.getBookingId(), firstBooking.getBookingId());
-        assertEquals(testBooking.getFlightId(), firstBooking.getFlightId());
-        assertEquals(testBooking.getUserId(), firstBooking.getUserId());
-        assertEquals(testBooking.getNoOfSeats(), firstBooking.getNoOfSeats());
-        assertEquals(testBooking.getSeatCategory(), firstBooking.getSeatCategory());
-        assertEquals(testBooking.getDateOfTravel(), firstBooking.getDateOfTravel());
-        assertEquals(testBooking.getBookingAmount(), firstBooking.getBookingAmount());
         assertEquals(testFlight.getOrigin(), firstBooking.getOrigin());
         assertEquals(testFlight.getDestination(), firstBooking.getDestination());
         assertEquals(testFlight.getCarrier().getCarrierName(), firstBooking.getCarrierName());
 
-        verify(bookingRepository).findByUserId(1L);
-        verify(flightRepository).findById(1L);
+        verify(flightRepository, never()).findById(any(Long.class));
     }
 
     @Test
     void testGetUserBookings_EmptyList() {
         // Arrange
-        when(bookingRepository.findByUserId(1L)).thenReturn(Arrays.asList());
+        when(bookingRepository.findUserBookingResponses(eq(1L), isNull(), isNull(), isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList());
 
         // Act
-        java.util.List<BookFlightResponse> result = bookingService.getUserBookings(1L);
+        KeysetPage<BookFlightResponse> result = bookingService.getUserBookings(1L, null, null, null, null, null);
 
         // Assert
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(bookingRepository).findByUserId(1L);
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextPageToken());
         verify(flightRepository, never()).findById(any(Long.class));
     }
 
     @Test
-    void testGetUserBookings_FlightNotFound() {
+    void testGetUserBookings_WithFilters() {
         // Arrange
-        when(bookingRepository.findByUserId(1L)).thenReturn(Arrays.asList(testBooking));
-        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+        LocalDate fromDate = LocalDate.now();
+        LocalDate toDate = fromDate.plusDays(30);
+        when(bookingRepository.findUserBookingResponses(eq(1L), eq(BookingStatus.BOOKED), eq(fromDate), eq(toDate),
+                eq(0L), any(Pageable.class))).thenReturn(Arrays.asList());
 
+        // Act
+        KeysetPage<BookFlightResponse> result =
+                bookingService.getUserBookings(1L, BookingStatus.BOOKED, fromDate, toDate, null, null);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+    }
+
+    @Test
+    void testGetUserBookings_InvalidDateRange() {
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            bookingService.getUserBookings(1L);
+            bookingService.getUserBookings(1L, null, LocalDate.now().plusDays(1), LocalDate.now(), null, null);
         });
 
-        assertEquals("Flight not found", exception.getMessage());
-        verify(bookingRepository).findByUserId(1L);
-        verify(flightRepository).findById(1L);
+        assertEquals("Travel date range start must not be after its end", exception.getMessage());
+        verify(bookingRepository, never()).findUserBookingResponses(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetUserBookings_NextPageStartsAfterLastBooking() {
+        // Arrange - a page of one plus the look-ahead row
+        BookFlightResponse first = new BookFlightResponse();
+        first.setBookingId(7L);
+        BookFlightResponse second = new BookFlightResponse();
+        second.setBookingId(9L);
+        when(bookingRepository.findUserBookingResponses(1L, null, null, null, 0L, PageRequest.ofSize(2)))
+                .thenReturn(Arrays.asList(first, second));
+        when(bookingRepository.findUserBookingResponses(1L, null, null, null, 7L, PageRequest.ofSize(2)))
+                .thenReturn(Arrays.asList(second));
+
+        // Act
+        KeysetPage<BookFlightResponse> firstPage = bookingService.getUserBookings(1L, null, null, null, null, 1);
+        KeysetPage<BookFlightResponse> secondPage =
+                bookingService.getUserBookings(1L, null, null, null, firstPage.getNextPageToken(), 1);
+
+        // Assert
+        assertEquals(List.of(7L), firstPage.getItems().stream().map(BookFlightResponse::getBookingId).toList());
+        assertEquals(List.of(9L), secondPage.getItems().stream().map(BookFlightResponse::getBookingId).toList());
+        assertFalse(secondPage.hasNextPage());
+    }
+
+    @Test
+    void testGetSeatAvailability() {
+        // Arrange
+        SeatAvailabilityResponse availability = new SeatAvailabilityResponse(1L, testRequest.getDateOfTravel(), 100, 15, 8);
+        when(seatInventory.getAvailability(1L, testRequest.getDateOfTravel())).thenReturn(availability);
+
+        // Act
+        SeatAvailabilityResponse result = bookingService.getSeatAvailability(1L, testRequest.getDateOfTravel());
+
+        // Assert
+        assertEquals(100, result.getAvailableEconomy());
+        assertEquals(15, result.getAvailableBusiness());
+        assertEquals(8, result.getAvailableExecutive());
+        verifyNoInteractions(bookingRepository, flightRepository);
     }
 
     @Test
@@ -396,20 +553,10 @@ class BookingServiceTest {
         booking.setBookingAmount(new BigDecimal("200.00"));
         booking.setBookingStatus(BookingStatus.BOOKED);
         
-        FlightSchedule schedule = new FlightSchedule();
-        schedule.setScheduleId(1L);
-        schedule.setFlightId(flightId);
-        schedule.setDateOfTravel(LocalDate.now().plusDays(30));
-        schedule.setBookedCountEconomy(5);
-        schedule.setTotalCapacityEconomy(100);
-        
         // Mock repository calls
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         when(flightRepository.findById(flightId)).thenReturn(Optional.of(flight));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(flightId, LocalDate.now().plusDays(30)))
-                .thenReturn(Optional.of(schedule));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(schedule);
         
         // When
         CancelBookingResponse response = bookingService.cancelBooking(bookingId);
@@ -426,9 +573,11 @@ class BookingServiceTest {
         verify(bookingRepository).save(argThat(bookingArg -> 
             bookingArg.getBookingStatus() == BookingStatus.CANCELLED));
         
-        // Verify flight schedule was updated
-        verify(flightScheduleRepository).save(argThat(scheduleArg -> 
-            scheduleArg.getBookedCountEconomy() == 3)); // 5 - 2 = 3
+        // Verify the seats were handed back to the seat inventory
+        verify(seatInventory).release(flightId, booking.getDateOfTravel(), SeatCategory.ECONOMY, 2);
+        verify(availabilityCalendarService).invalidateFlight(flightId);
+        verify(bookingStatsService).bookingCancelled(booking, flight);
+        verify(loadFactorService).bookingCancelled(booking);
     }
     
     @Test
@@ -452,16 +601,10 @@ class BookingServiceTest {
         booking.setBookingAmount(new BigDecimal("1500.00")); // 3 seats * $500
         booking.setBookingStatus(BookingStatus.BOOKED);
         
-        FlightSchedule schedule = new FlightSchedule();
-        schedule.setBookedCountBusiness(8);
-        
         // Mock repository calls
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
-        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, LocalDate.now().plusDays(30)))
-                .thenReturn(Optional.of(schedule));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-        when(flightScheduleRepository.save(any(FlightSchedule.class))).thenReturn(schedule);
         
         // When
         CancelBookingResponse response = bookingService.cancelBooking(bookingId);
@@ -471,9 +614,8 @@ class BookingServiceTest {
         assertEquals(new BigDecimal("1132.50"), response.getRefundAmount());
         assertEquals(new BigDecimal("75.50"), response.getRefundPercentage());
         
-        // Verify booked count was decremented correctly
-        verify(flightScheduleRepository).save(argThat(scheduleArg -> 
-            scheduleArg.getBookedCountBusiness() == 5)); // 8 - 3 = 5
+        // Verify booked count was released for the booked category
+        verify(seatInventory).release(1L, booking.getDateOfTravel(), SeatCategory.BUSINESS, 3);
     }
     
     @Test
@@ -496,7 +638,7 @@ class BookingServiceTest {
         
         // Verify no updates were made
         verify(bookingRepository, never()).save(any(Booking.class));
-        verify(flightScheduleRepository, never()).save(any(FlightSchedule.class));
+        verify(seatInventory, never()).release(any(), any(), any(), anyInt());
     }
     
     @Test
@@ -512,4 +654,9 @@ class BookingServiceTest {
         
         assertEquals("Booking not found with id: 999", exception.getMessage());
     }
+
+    private BookingContext bookingContext() {
+        return new BookingContext(testFlight, testFlight.getCarrier(), testUser.getCustomerCategory(),
+                testRequest.getDateOfTravel(), null);
+    }
 }
@@ -0,0 +1,165 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of JDBC statements issued by bookFlight: one joined query for the
+ * booking context, one insert for the booking and one update of the departure's daily rollup,
+ * whether or not the departure is in memory. The first booking of a departure finds no rollup to
+ * update, so it locks the flight and merges the rollup in as well.
+ * Listing a page of a user's bookings is a single joined query regardless of how many bookings they have.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "seat-inventory.flush-interval-ms=3600000"
+})
+class BookingStatementCountTest {
+
+    private static final long BOOKING_STATEMENTS = 3;
+    private static final long FIRST_BOOKING_STATEMENTS = BOOKING_STATEMENTS + 2;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Flight flight;
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Carrier carrier = carrierRepository.findAll().get(0);
+        flight = flightRepository.save(new Flight(carrier, "Count Origin", "Count Destination",
+                new BigDecimal("100.00"), 10, 20, 5));
+        user = userRepository.findAll().get(0);
+
+        // Draw a block of booking ids up front so sequence fetches do not count against the booking path
+        book(LocalDate.now().plusDays(60));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testBookFlight_FirstBookingOfDeparture() {
+        // Arrange - no schedule row and nothing in memory for this departure
+        LocalDate dateOfTravel = LocalDate.now().plusDays(20);
+        statistics.clear();
+
+        // Act
+        BookFlightResponse response = book(dateOfTravel);
+
+        // Assert
+        assertEquals("Count Origin", response.getOrigin());
+        assertNotNull(response.getCarrierName());
+        assertEquals(FIRST_BOOKING_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testBookFlight_ScheduleLoadedWithContext() {
+        // Arrange - schedule row exists but the departure has not been loaded into memory
+        LocalDate dateOfTravel = LocalDate.now().plusDays(21);
+        FlightSchedule schedule = new FlightSchedule(flight.getFlightId(), dateOfTravel, 20, 10, 5);
+        schedule.setBookedCountEconomy(19);
+        flightScheduleRepository.save(schedule);
+        statistics.clear();
+
+        // Act
+        book(dateOfTravel);
+
+        // Assert - the existing counters were honoured without a separate schedule lookup
+        assertEquals(FIRST_BOOKING_STATEMENTS, statistics.getPrepareStatementCount());
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> book(dateOfTravel));
+        assertEquals("Insufficient seats available. Requested: 1, Available: 0", exception.getMessage());
+    }
+
+    @Test
+    void testBookFlight_DepartureAlreadyInMemory() {
+        // Arrange
+        LocalDate dateOfTravel = LocalDate.now().plusDays(22);
+        book(dateOfTravel);
+        statistics.clear();
+
+        // Act
+        book(dateOfTravel);
+
+        // Assert
+        assertEquals(BOOKING_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetUserBookings_SingleQueryForManyBookings() {
+        // Arrange - bookings spread over several departures
+        for (int day = 30; day < 38; day++) {
+            book(LocalDate.now().plusDays(day));
+        }
+        statistics.clear();
+
+        // Act
+        List<BookFlightResponse> bookings = bookingService.getUserBookings(user.getUserId(),
+                null, null, null, null, null).getItems();
+
+        // Assert
+        assertTrue(bookings.size() >= 9);
+        assertTrue(bookings.stream().allMatch(booking -> booking.getCarrierName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetUserBookings_FiltersByStatusAndTravelDate() {
+        // Arrange
+        LocalDate fromDate = LocalDate.now().plusDays(40);
+        BookFlightResponse first = book(fromDate);
+        book(fromDate.plusDays(1));
+        book(fromDate.plusDays(5));
+        bookingService.cancelBooking(first.getBookingId());
+        statistics.clear();
+
+        // Act
+        List<BookFlightResponse> bookings = bookingService.getUserBookings(user.getUserId(),
+                BookingStatus.BOOKED, fromDate, fromDate.plusDays(2), null, null).getItems();
+
+        // Assert
+        assertEquals(1, bookings.size());
+        assertEquals(fromDate.plusDays(1), bookings.get(0).getDateOfTravel());
+        assertEquals("Count Origin", bookings.get(0).getOrigin());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private BookFlightResponse book(LocalDate dateOfTravel) {
+        return bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+    }
+}
@@ -0,0 +1,201 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookingStatsCounts;
+import com.airline.flightmanagement.dto.BookingStatsResponse;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingStatsServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private BookingStatsService bookingStatsService;
+
+    private Carrier carrier;
+    private Flight flight;
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        carrier = new Carrier("Test Airlines", new BigDecimal("10.00"), new BigDecimal("50.00"),
+                DiscountType.SILVER, RefundType.TEN_DAYS);
+        carrier.setCarrierId(1L);
+        flight = new Flight(carrier, "New York", "Chicago", new BigDecimal("100.00"), 10, 20, 5);
+        flight.setFlightId(1L);
+        dateOfTravel = LocalDate.now().plusDays(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuild_SeedsRollupsFromAggregateRows() {
+        // Arrange
+        when(bookingRepository.aggregateBookingStats()).thenReturn(List.of(
+                new Object[]{1L, "Test Airlines", "New York", "Chicago", SeatCategory.ECONOMY, dateOfTravel,
+                        BookingStatus.BOOKED, 3L, 5L, new BigDecimal("450.00"), new BigDecimal("50.00")},
+                new Object[]{1L, "Test Airlines", "New York", "Chicago", SeatCategory.ECONOMY, dateOfTravel,
+                        BookingStatus.CANCELLED, 2L, 2L, new BigDecimal("200.00"), new BigDecimal("0.00")},
+                new Object[]{2L, "Other Air", "Boston", "Miami", SeatCategory.BUSINESS, dateOfTravel.plusDays(1),
+                        BookingStatus.BOOKED, 1L, 1L, new BigDecimal("300.00"), new BigDecimal("0")}));
+
+        // Act
+        bookingStatsService.rebuild();
+        BookingStatsResponse stats = bookingStatsService.getStats();
+
+        // Assert
+        assertCounts(stats.getTotal(), 6, 2, 6, "750.00", "50.00");
+        assertCounts(stats.getByCarrier().get("Test Airlines"), 5, 2, 5, "450.00", "50.00");
+        assertCounts(stats.getByRoute().get("Boston -> Miami"), 1, 0, 1, "300.00", "0.00");
+        assertCounts(stats.getBySeatCategory().get(SeatCategory.ECONOMY), 5, 2, 5, "450.00", "50.00");
+        assertCounts(stats.getByTravelDate().get(dateOfTravel.plusDays(1)), 1, 0, 1, "300.00", "0.00");
+    }
+
+    @Test
+    void testBookAndCancel_UpdateEveryDimension() {
+        // Arrange
+        Booking booking = booking(2, "180.00", "20.00");
+
+        // Act
+        bookingStatsService.bookingSaved(booking, flight, carrier);
+        bookingStatsService.bookingSaved(booking(1, "100.00", null), flight, carrier);
+        bookingStatsService.bookingCancelled(booking, flight);
+        BookingStatsResponse stats = bookingStatsService.getStats();
+
+        // Assert
+        assertCounts(stats.getTotal(), 2, 1, 1, "100.00", "0.00");
+        assertCounts(stats.getByCarrier().get("Test Airlines"), 2, 1, 1, "100.00", "0.00");
+        assertCounts(stats.getByRoute().get("New York -> Chicago"), 2, 1, 1, "100.00", "0.00");
+        assertCounts(stats.getBySeatCategory().get(SeatCategory.ECONOMY), 2, 1, 1, "100.00", "0.00");
+        assertCounts(stats.getByTravelDate().get(dateOfTravel), 2, 1, 1, "100.00", "0.00");
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testBookingSaved_CountedOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        bookingStatsService.bookingSaved(booking(2, "180.00", "20.00"), flight, carrier);
+
+        // Assert - nothing is counted until the booking commits
+        assertEquals(0L, bookingStatsService.getStats().getTotal().getBookings());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertCounts(bookingStatsService.getStats().getTotal(), 1, 0, 2, "180.00", "20.00");
+    }
+
+    @Test
+    void testRebuild_NotHeldBackByOpenBookingTransactions() throws InterruptedException {
+        // Arrange - a booking counted in a transaction that has not started to commit
+        TransactionSynchronizationManager.initSynchronization();
+        bookingStatsService.bookingSaved(booking(2, "180.00", "20.00"), flight, carrier);
+        when(bookingRepository.aggregateBookingStats()).thenReturn(List.of());
+        Thread seeding = new Thread(bookingStatsService::rebuild);
+
+        // Act
+        seeding.start();
+        seeding.join(5_000);
+
+        // Assert
+        assertFalse(seeding.isAlive());
+        verify(bookingRepository).aggregateBookingStats();
+    }
+
+    @Test
+    void testRebuild_WaitsForCommittingBookings() throws InterruptedException {
+        // Arrange - a booking whose transaction is committing, which the aggregate includes once committed
+        TransactionSynchronizationManager.initSynchronization();
+        bookingStatsService.bookingSaved(booking(2, "180.00", "20.00"), flight, carrier);
+        when(bookingRepository.aggregateBookingStats()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Test Airlines", "New York", "Chicago", SeatCategory.ECONOMY, dateOfTravel,
+                        BookingStatus.BOOKED, 1L, 2L, new BigDecimal("180.00"), new BigDecimal("20.00")}));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        Thread seeding = new Thread(bookingStatsService::rebuild);
+
+        // Act
+        seeding.start();
+        verify(bookingRepository, after(200).never()).aggregateBookingStats();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        seeding.join(5_000);
+
+        // Assert - counted once, by the aggregate
+        assertFalse(seeding.isAlive());
+        assertCounts(bookingStatsService.getStats().getTotal(), 1, 0, 2, "180.00", "20.00");
+    }
+
+    @Test
+    void testFlightMoved_CancellationLeavesTheBucketHoldingTheBooking() {
+        // Arrange - a booking counted on the old route, then the flight moves to another route
+        Booking booking = booking(2, "180.00", "20.00");
+        bookingStatsService.bookingSaved(booking, flight, carrier);
+        flight.setDestination("Boston");
+        when(bookingRepository.aggregateBookingStats()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Test Airlines", "New York", "Boston", SeatCategory.ECONOMY, dateOfTravel,
+                        BookingStatus.BOOKED, 1L, 2L, new BigDecimal("180.00"), new BigDecimal("20.00")}));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        bookingStatsService.flightMoved();
+        verify(bookingRepository, never()).aggregateBookingStats();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        bookingStatsService.bookingCancelled(booking, flight);
+
+        // Assert
+        BookingStatsResponse stats = bookingStatsService.getStats();
+        assertNull(stats.getByRoute().get("New York -> Chicago"));
+        assertCounts(stats.getByRoute().get("New York -> Boston"), 1, 1, 0, "0.00", "0.00");
+    }
+
+    private Booking booking(int seats, String amount, String discount) {
+        Booking booking = new Booking();
+        booking.setFlightId(1L);
+        booking.setNoOfSeats(seats);
+        booking.setSeatCategory(SeatCategory.ECONOMY);
+        booking.setDateOfTravel(dateOfTravel);
+        booking.setBookingAmount(new BigDecimal(amount));
+        booking.setDiscountAmount(discount == null ? null : new BigDecimal(discount));
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        return booking;
+    }
+
+    private static void assertCounts(BookingStatsCounts counts, long bookings, long cancellations, long seats,
+                                     String revenue, String discounts) {
+        assertNotNull(counts);
+        assertEquals(bookings, counts.getBookings());
+        assertEquals(cancellations, counts.getCancellations());
+        assertEquals(seats, counts.getSeatsBooked());
+        assertEquals(new BigDecimal(revenue), counts.getRevenue());
+        assertEquals(new BigDecimal(discounts), counts.getDiscounts());
+    }
+}
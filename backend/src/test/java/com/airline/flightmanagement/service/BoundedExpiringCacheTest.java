@@ -0,0 +1,84 @@
+package com.airline.flightmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedExpiringCacheTest {
+
+    private AtomicLong now;
+    private BoundedExpiringCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000);
+        cache = new BoundedExpiringCache<>(3, 500, now::get);
+    }
+
+    @Test
+    void testGet_ExpiresAfterTtl() {
+        // Arrange
+        cache.put("a", "first");
+
+        // Act & Assert
+        now.addAndGet(499);
+        assertEquals("first", cache.get("a"));
+        now.addAndGet(1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testPut_EvictsOldestWhenFull() {
+        // Arrange
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        // Act
+        cache.put("d", "4");
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("4", cache.get("d"));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testPut_RefreshesTtlOfExistingKey() {
+        // Arrange
+        cache.put("a", "1");
+        now.addAndGet(100);
+        cache.put("b", "2");
+        now.addAndGet(200);
+
+        // Act - rewriting "a" gives it a fresh TTL and moves it behind "b"
+        cache.put("a", "1b");
+        now.addAndGet(300);
+
+        // Assert - "b" has expired while the rewritten "a" is still live
+        assertNull(cache.get("b"));
+        assertEquals("1b", cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInvalidateAndClear() {
+        // Arrange
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        // Act & Assert
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.evictionCount());
+    }
+}
@@ -1,6 +1,7 @@
 package com.airline.flightmanagement.service;
 
 import com.airline.flightmanagement.dto.CarrierDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.entity.Carrier;
 import com.airline.flightmanagement.entity.DiscountType;
 import com.airline.flightmanagement.entity.RefundType;
@@ -10,7 +11,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -27,6 +32,21 @@ class CarrierServiceTest {
     @Mock
     private CarrierRepository carrierRepository;
 
+    @Mock
+    private DiscountPolicyService discountPolicyService;
+
+    @Mock
+    private FareQuoteService fareQuoteService;
+
+    @Mock
+    private FlightRouteIndex flightRouteIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(50, 500);
+
     @InjectMocks
     private CarrierService carrierService;
 
@@ -75,6 +95,7 @@ class CarrierServiceTest {
 
         verify(carrierRepository).existsByCarrierName("Test Airlines");
         verify(carrierRepository).save(any(Carrier.class));
+        verify(discountPolicyService).reload();
     }
 
     @Test
@@ -190,17 +211,19 @@ class CarrierServiceTest {
         carrier2.setIsActive(true);
 
         List<Carrier> carriers = Arrays.asList(testCarrier, carrier2);
-        when(carrierRepository.findAll()).thenReturn(carriers);
+        when(carrierRepository.findByCarrierIdGreaterThanOrderByCarrierIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(carriers);
 
         // Act
-        List<CarrierDTO> result = carrierService.getAllCarriers();
+        KeysetPage<CarrierDTO> result = carrierService.getAllCarriers(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Test Airlines", result.get(0).getCarrierName());
-        assertEquals("Another Airlines", result.get(1).getCarrierName());
-        verify(carrierRepository).findAll();
+        assertEquals(2, result.getItems().size());
+        assertEquals("Test Airlines", result.getItems().get(0).getCarrierName());
+        assertEquals("Another Airlines", result.getItems().get(1).getCarrierName());
+        assertFalse(result.hasNextPage());
+        verify(carrierRepository, never()).findAll();
     }
 
     @Test
@@ -242,6 +265,9 @@ class CarrierServiceTest {
         verify(carrierRepository).findById(1L);
         verify(carrierRepository).existsByCarrierName("Updated Airlines");
         verify(carrierRepository).save(any(Carrier.class));
+        verify(discountPolicyService).reload();
+        verify(fareQuoteService).invalidateCarrier(1L);
+        verify(flightRouteIndex).carrierRenamed(1L, "Updated Airlines");
     }
 
     @Test
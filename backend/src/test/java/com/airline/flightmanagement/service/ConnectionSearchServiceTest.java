@@ -0,0 +1,158 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.ConnectionItinerary;
+import com.airline.flightmanagement.dto.ConnectionLeg;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.entity.SeatCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionSearchServiceTest {
+
+    @Spy
+    private FlightRouteIndex flightRouteIndex = new FlightRouteIndex();
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @InjectMocks
+    private ConnectionSearchService connectionSearchService;
+
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        dateOfTravel = LocalDate.now().plusDays(10);
+
+        flightRouteIndex.flightSaved(flight(1L, "New York", "Los Angeles", "500.00"));
+        flightRouteIndex.flightSaved(flight(2L, "New York", "Chicago", "120.00"));
+        flightRouteIndex.flightSaved(flight(3L, "Chicago", "Los Angeles", "130.00"));
+        flightRouteIndex.flightSaved(flight(4L, "New York", "Denver", "100.00"));
+        flightRouteIndex.flightSaved(flight(5L, "Denver", "Chicago", "30.00"));
+        flightRouteIndex.flightSaved(flight(6L, "Chicago", "New York", "5.00"));
+
+        lenient().when(seatInventory.peekAvailableSeats(any(FlightDTO.class), eq(dateOfTravel), eq(SeatCategory.ECONOMY)))
+                .thenAnswer(invocation -> invocation.getArgument(0, FlightDTO.class).getSeatCapacityEconomy());
+    }
+
+    @Test
+    void testFindConnections_SortedByTotalFare() {
+        // Act
+        List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(
+                "New York", "Los Angeles", dateOfTravel, SeatCategory.ECONOMY, 2, 2);
+
+        // Assert
+        assertEquals(List.of(List.of(2L, 3L), List.of(4L, 5L, 3L), List.of(1L)),
+                itineraries.stream().map(this::flightIds).collect(Collectors.toList()));
+        assertEquals(new BigDecimal("250.00"), itineraries.get(0).getTotalAirFare());
+        assertEquals(1, itineraries.get(0).getStops());
+        assertEquals(2, itineraries.get(1).getStops());
+        assertEquals(0, itineraries.get(2).getStops());
+        assertEquals("Chicago", itineraries.get(0).getLegs().get(1).getOrigin());
+        assertEquals(150, itineraries.get(0).getLegs().get(0).getAvailableSeats());
+    }
+
+    @Test
+    void testFindConnections_RespectsMaxStops() {
+        // Act
+        List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(
+                "New York", "Los Angeles", dateOfTravel, SeatCategory.ECONOMY, 1, 1);
+
+        // Assert
+        assertEquals(List.of(List.of(2L, 3L), List.of(1L)),
+                itineraries.stream().map(this::flightIds).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFindConnections_SkipsLegsWithoutEnoughSeats() {
+        // Arrange
+        when(seatInventory.peekAvailableSeats(flightRouteIndex.findById(3L), dateOfTravel, SeatCategory.ECONOMY))
+                .thenReturn(1);
+
+        // Act
+        List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(
+                "New York", "Los Angeles", dateOfTravel, SeatCategory.ECONOMY, 2, 2);
+
+        // Assert
+        assertEquals(List.of(List.of(1L)),
+                itineraries.stream().map(this::flightIds).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFindConnections_FollowsRouteChanges() {
+        // Arrange
+        flightRouteIndex.flightDeleted(2L);
+        flightRouteIndex.flightDeleted(5L);
+        flightRouteIndex.flightSaved(flight(7L, "Denver", "Los Angeles", "50.00"));
+
+        // Act
+        List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(
+                "New York", "Los Angeles", dateOfTravel, SeatCategory.ECONOMY, 1, 1);
+
+        // Assert
+        assertEquals(List.of(List.of(4L, 7L), List.of(1L)),
+                itineraries.stream().map(this::flightIds).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFindConnections_NoRoute() {
+        // Act
+        List<ConnectionItinerary> itineraries = connectionSearchService.findConnections(
+                "Los Angeles", "New York", dateOfTravel, SeatCategory.ECONOMY, 1, 2);
+
+        // Assert
+        assertTrue(itineraries.isEmpty());
+    }
+
+    @Test
+    void testFindConnections_InvalidRequests() {
+        // Act & Assert
+        RuntimeException sameAirport = assertThrows(RuntimeException.class, () -> connectionSearchService
+                .findConnections("New York", "New York", dateOfTravel, SeatCategory.ECONOMY, 1, 1));
+        assertEquals("Origin and destination must be different", sameAirport.getMessage());
+
+        RuntimeException pastDate = assertThrows(RuntimeException.class, () -> connectionSearchService
+                .findConnections("New York", "Chicago", LocalDate.now().minusDays(1), SeatCategory.ECONOMY, 1, 1));
+        assertEquals("Date of travel must not be in the past", pastDate.getMessage());
+
+        RuntimeException tooManySeats = assertThrows(RuntimeException.class, () -> connectionSearchService
+                .findConnections("New York", "Chicago", dateOfTravel, SeatCategory.ECONOMY, 11, 1));
+        assertEquals("Number of seats must be between 1 and 10", tooManySeats.getMessage());
+
+        RuntimeException tooManyStops = assertThrows(RuntimeException.class, () -> connectionSearchService
+                .findConnections("New York", "Chicago", dateOfTravel, SeatCategory.ECONOMY, 1, 3));
+        assertEquals("Maximum stops must be between 0 and 2", tooManyStops.getMessage());
+    }
+
+    private List<Long> flightIds(ConnectionItinerary itinerary) {
+        return itinerary.getLegs().stream().map(ConnectionLeg::getFlightId).collect(Collectors.toList());
+    }
+
+    private static FlightDTO flight(Long flightId, String origin, String destination, String airFare) {
+        FlightDTO flight = new FlightDTO();
+        flight.setFlightId(flightId);
+        flight.setCarrierId(1L);
+        flight.setCarrierName("Test Airlines");
+        flight.setOrigin(origin);
+        flight.setDestination(destination);
+        flight.setAirFare(new BigDecimal(airFare));
+        flight.setSeatCapacityEconomy(150);
+        flight.setSeatCapacityBusiness(20);
+        flight.setSeatCapacityExecutive(10);
+        return flight;
+    }
+}
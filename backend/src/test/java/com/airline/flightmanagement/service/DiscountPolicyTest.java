@@ -0,0 +1,200 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.entity.DiscountType;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DiscountPolicyTest {
+
+    private static final BigDecimal FARE = new BigDecimal("299.99");
+    private static final long FARE_CENTS = 29_999;
+
+    @Test
+    void testApply_MatchesLegacyRulesWhenCarrierRuleDoesNotFire() {
+        // Arrange - a 90-day carrier rule never fires below 90 days, leaving only the global rules
+        Carrier carrier = carrier(1L, DiscountType.NINETY_DAYS, "12.00");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+
+        // Act & Assert - every tier, category and seat count prices exactly as the old switch-based code
+        for (long days = 0; days < 90; days++) {
+            for (CustomerCategory category : CustomerCategory.values()) {
+                for (int seats = 1; seats <= 10; seats++) {
+                    DiscountPolicy.Discount discount = policy.apply(carrier, category, days, seats, FARE_CENTS);
+
+                    assertEquals(legacyAmount(days, category, seats), discount.amount(),
+                            "days=" + days + " category=" + category + " seats=" + seats);
+                    assertEquals(legacyReason(days, category, seats), discount.reason(),
+                            "days=" + days + " category=" + category + " seats=" + seats);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testApply_AdvanceCarrierRule() {
+        // Arrange
+        Carrier carrier = carrier(2L, DiscountType.SIXTY_DAYS, "12.50");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+
+        // Act
+        DiscountPolicy.Discount before = policy.apply(carrier, CustomerCategory.REGULAR, 59, 2, FARE_CENTS);
+        DiscountPolicy.Discount after = policy.apply(carrier, CustomerCategory.REGULAR, 60, 2, FARE_CENTS);
+
+        // Assert - 15% advance only, then 15% advance + 12.5% carrier
+        assertEquals(new BigDecimal("90.00"), before.amount());
+        assertEquals("Advance booking (30+ days): 15%", before.reason());
+        assertEquals(new BigDecimal("164.99"), after.amount());
+        assertEquals("Advance booking (30+ days): 15%, Carrier discount (60 Days): 12.5%", after.reason());
+    }
+
+    @Test
+    void testApply_CategoryCarrierRuleCoversHigherCategories() {
+        // Arrange
+        Carrier carrier = carrier(3L, DiscountType.GOLD, "5.00");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+
+        // Act & Assert
+        assertEquals("Customer category (SILVER): 10%",
+                policy.apply(carrier, CustomerCategory.SILVER, 0, 1, FARE_CENTS).reason());
+        assertEquals("Customer category (GOLD): 15%, Carrier discount (Gold): 5%",
+                policy.apply(carrier, CustomerCategory.GOLD, 0, 1, FARE_CENTS).reason());
+        assertEquals("Customer category (PLATINUM): 20%, Carrier discount (Gold): 5%",
+                policy.apply(carrier, CustomerCategory.PLATINUM, 0, 1, FARE_CENTS).reason());
+    }
+
+    @Test
+    void testApply_BulkCarrierRule() {
+        // Arrange
+        Carrier carrier = carrier(4L, DiscountType.BULK, "8.00");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+
+        // Act
+        DiscountPolicy.Discount single = policy.apply(carrier, CustomerCategory.REGULAR, 0, 4, FARE_CENTS);
+        DiscountPolicy.Discount bulk = policy.apply(carrier, CustomerCategory.REGULAR, 0, 5, FARE_CENTS);
+
+        // Assert
+        assertSame(DiscountPolicy.Discount.NONE, single);
+        assertEquals(new BigDecimal("269.99"), bulk.amount());
+        assertEquals("Bulk booking (5+ seats): 10%, Carrier discount (Bulk): 8%", bulk.reason());
+    }
+
+    @Test
+    void testApply_DiscountCappedAtFare() {
+        // Arrange - 15% + 25% + 10% + 60% exceeds the fare
+        Carrier carrier = carrier(5L, DiscountType.THIRTY_DAYS, "60.00");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+
+        // Act
+        DiscountPolicy.Discount discount = policy.apply(carrier, CustomerCategory.PREMIUM, 45, 6, FARE_CENTS);
+
+        // Assert
+        assertEquals(new BigDecimal("1799.94"), discount.amount());
+    }
+
+    @Test
+    void testApply_ChangedCarrierIsNotPricedFromStaleTable() {
+        // Arrange - policy compiled before the carrier's rule was changed
+        Carrier carrier = carrier(6L, DiscountType.THIRTY_DAYS, "10.00");
+        DiscountPolicy policy = DiscountPolicy.compile(DiscountPolicy.GlobalRules.DEFAULT, List.of(carrier));
+        carrier.setDiscountPercentage(new BigDecimal("20.00"));
+        Carrier added = carrier(7L, DiscountType.THIRTY_DAYS, "5.00");
+
+        // Act & Assert
+        assertEquals("Advance booking (30+ days): 15%, Carrier discount (30 Days): 20%",
+                policy.apply(carrier, CustomerCategory.REGULAR, 30, 1, FARE_CENTS).reason());
+        assertEquals("Advance booking (30+ days): 15%, Carrier discount (30 Days): 5%",
+                policy.apply(added, CustomerCategory.REGULAR, 30, 1, FARE_CENTS).reason());
+    }
+
+    @Test
+    void testUpdateGlobalRules_SwapsPolicyAtRuntime() {
+        // Arrange
+        CarrierRepository carrierRepository = mock(CarrierRepository.class);
+        Carrier carrier = carrier(8L, null, null);
+        when(carrierRepository.findAll()).thenReturn(List.of(carrier));
+        DiscountPolicyService service = new DiscountPolicyService();
+        ReflectionTestUtils.setField(service, "carrierRepository", carrierRepository);
+        service.reload();
+
+        // Act
+        service.updateGlobalRules(new DiscountPolicy.GlobalRules(Map.of(3, 300), Map.of(), 2, 0));
+
+        // Assert
+        DiscountPolicy.Discount discount = service.calculate(carrier, CustomerCategory.GOLD, 3, 2, FARE_CENTS);
+        assertEquals(new BigDecimal("18.00"), discount.amount());
+        assertEquals("Advance booking (3+ days): 3%", discount.reason());
+        assertEquals(1, service.getPolicy().getCarrierCount());
+    }
+
+    private Carrier carrier(Long id, DiscountType discountType, String discountPercentage) {
+        Carrier carrier = new Carrier();
+        carrier.setCarrierId(id);
+        carrier.setCarrierName("Carrier " + id);
+        carrier.setDiscountType(discountType);
+        carrier.setDiscountPercentage(discountPercentage == null ? null : new BigDecimal(discountPercentage));
+        return carrier;
+    }
+
+    /**
+     * The discount calculation the policy replaced, kept as the reference for the global rules
+     */
+    private BigDecimal legacyAmount(long days, CustomerCategory category, int seats) {
+        BigDecimal total = BigDecimal.ZERO;
+        if (days >= 30) {
+            total = total.add(FARE.multiply(BigDecimal.valueOf(0.15)));
+        } else if (days >= 14) {
+            total = total.add(FARE.multiply(BigDecimal.valueOf(0.10)));
+        } else if (days >= 7) {
+            total = total.add(FARE.multiply(BigDecimal.valueOf(0.05)));
+        }
+        switch (category) {
+            case PLATINUM -> total = total.add(FARE.multiply(BigDecimal.valueOf(0.20)));
+            case GOLD -> total = total.add(FARE.multiply(BigDecimal.valueOf(0.15)));
+            case SILVER -> total = total.add(FARE.multiply(BigDecimal.valueOf(0.10)));
+            case PREMIUM -> total = total.add(FARE.multiply(BigDecimal.valueOf(0.25)));
+            default -> { }
+        }
+        if (seats >= 5) {
+            total = total.add(FARE.multiply(BigDecimal.valueOf(0.10)));
+        }
+        total = total.multiply(BigDecimal.valueOf(seats)).min(FARE.multiply(BigDecimal.valueOf(seats)));
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private String legacyReason(long days, CustomerCategory category, int seats) {
+        StringBuilder reason = new StringBuilder();
+        if (days >= 30) {
+            reason.append("Advance booking (30+ days): 15%");
+        } else if (days >= 14) {
+            reason.append("Advance booking (14+ days): 10%");
+        } else if (days >= 7) {
+            reason.append("Advance booking (7+ days): 5%");
+        }
+        if (category != CustomerCategory.REGULAR) {
+            if (reason.length() > 0) reason.append(", ");
+            reason.append("Customer category (").append(category).append("): ").append(switch (category) {
+                case PLATINUM -> "20%";
+                case GOLD -> "15%";
+                case SILVER -> "10%";
+                default -> "25%";
+            });
+        }
+        if (seats >= 5) {
+            if (reason.length() > 0) reason.append(", ");
+            reason.append("Bulk booking (5+ seats): 10%");
+        }
+        return reason.length() == 0 ? DiscountPolicy.NO_DISCOUNT_REASON : reason.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.FlightManagementApplication;
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.entity.User;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "seat-inventory.flush-interval-ms=3600000")
+class ExportServiceTest {
+
+    private static final long SYNTHETIC_BOOKINGS = 5_000_000L;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testExportBookings_StreamsEveryBookingAsNdjson() throws Exception {
+        // Arrange
+        Carrier carrier = carrierRepository.findAll().get(0);
+        Flight flight = flightRepository.save(new Flight(carrier, "Export Origin", "Export Destination",
+                new BigDecimal("120.00"), 10, 20, 5));
+        User user = userRepository.findAll().get(0);
+        BookFlightResponse booked = bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 2,
+                SeatCategory.ECONOMY, LocalDate.now().plusDays(45)), user.getUserId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportBookings(ExportFormat.NDJSON).writeTo(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(bookingRepository.count(), lines.length);
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals(booked.getBookingId(), last.get("bookingId").asLong());
+        assertEquals("Export Origin", last.get("origin").asText());
+        assertEquals(carrier.getCarrierName(), last.get("carrierName").asText());
+        assertEquals(0, booked.getBookingAmount().compareTo(last.get("bookingAmount").decimalValue()));
+    }
+
+    @Test
+    void testExportFlights_StreamsEveryFlightAsCsv() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportFlights(ExportFormat.CSV).writeTo(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("flightId,carrierId,carrierName,origin,destination,airFare,"
+                + "seatCapacityBusiness,seatCapacityEconomy,seatCapacityExecutive", lines[0]);
+        assertEquals(flightRepository.count(), lines.length - 1);
+    }
+
+    @Test
+    void testWriteCsv_QuotesSeparatorsAndQuotes() throws IOException {
+        // Arrange
+        BookFlightResponse row = syntheticBooking(1L);
+        row.setDiscountReason("Advance booking (30+ days): 15%, \"GOLD\": 15%");
+        row.setDiscountAmount(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = ExportService.write(Stream.of(row), ExportFormat.CSV, ExportService.BOOKING_COLUMNS, out);
+
+        // Assert
+        String line = out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertEquals(1, count);
+        assertTrue(line.contains(",,\"Advance booking (30+ days): 15%, \"\"GOLD\"\": 15%\","), line);
+    }
+
+    @Test
+    void testWriteNdjson_TypesAndNulls() throws IOException {
+        // Arrange
+        BookFlightResponse row = syntheticBooking(7L);
+        row.setDiscountReason(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ExportService.write(Stream.of(row, syntheticBooking(8L)), ExportFormat.NDJSON, ExportService.BOOKING_COLUMNS, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertTrue(first.get("bookingId").isIntegralNumber());
+        assertEquals(new BigDecimal("199.98"), first.get("bookingAmount").decimalValue());
+        assertTrue(first.get("discountReason").isNull());
+        assertEquals("BOOKED", first.get("bookingStatus").asText());
+        assertEquals(LocalDate.of(2030, 1, 1).toString(), first.get("dateOfTravel").asText());
+    }
+
+    @Test
+    void testFromParameter() {
+        // Act & Assert
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter("CSV"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("ndjson"));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ExportFormat.fromParameter("xml"));
+        assertEquals("Unsupported export format: xml (expected ndjson or csv)", exception.getMessage());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testExportFiveMillionBookings_InSmallHeap() throws Exception {
+        // Arrange - a separate JVM with a heap that just fits the application context and could not hold
+        // the export if rows were accumulated, backed by a file database so the rows live on disk
+        Path databaseDir = Files.createTempDirectory("export-test");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx128m", "-XX:+UseSerialGC", "-Dspring.devtools.restart.enabled=false",
+                "-cp", System.getProperty("java.class.path"),
+                SmallHeapExport.class.getName(), Long.toString(SYNTHETIC_BOOKINGS),
+                databaseDir.resolve("flightdb").toString())
+                .redirectErrorStream(true)
+                .redirectOutput(databaseDir.resolve("export.log").toFile())
+                .start();
+
+        // Act
+        boolean finished = process.waitFor(10, TimeUnit.MINUTES);
+        if (!finished) {
+            process.destroyForcibly().waitFor();
+        }
+        String output = Files.readString(databaseDir.resolve("export.log"));
+        FileSystemUtils.deleteRecursively(databaseDir);
+
+        // Assert
+        assertTrue(finished, "export did not finish");
+        assertEquals(0, process.exitValue(), output);
+        String[] counts = output.lines().filter(line -> line.startsWith("bookings=")).findFirst()
+                .orElseThrow(() -> new AssertionError(output)).split(" ");
+        long bookings = Long.parseLong(counts[0].substring("bookings=".length()));
+        assertTrue(bookings >= SYNTHETIC_BOOKINGS, output);
+        assertEquals("ndjson=" + bookings, counts[1]);
+        assertEquals("csv=" + bookings, counts[2]);
+    }
+
+    private static BookFlightResponse syntheticBooking(long bookingId) {
+        return new BookFlightResponse(bookingId, 1 + bookingId % 50, 1 + bookingId % 1000, 2,
+                SeatCategory.ECONOMY, LocalDate.of(2030, 1, 1), new BigDecimal("199.98"), new BigDecimal("20.00"),
+                "Advance booking (30+ days): 15%", BookingStatus.BOOKED, LocalDateTime.of(2029, 12, 1, 10, 30),
+                "New York", "Los Angeles", "Test Airlines", new BigDecimal("109.99"));
+    }
+
+    /**
+     * Seeds synthetic bookings into a file database, exports them in both formats through
+     * {@link ExportService#exportBookings} to a discarding stream and prints the row counts
+     */
+    static class SmallHeapExport {
+
+        private static final long SEED_CHUNK = 100_000L;
+
+        public static void main(String[] args) throws IOException {
+            long rows = Long.parseLong(args[0]);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FlightManagementApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:file:" + args[1] + ";CACHE_SIZE=2048",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.main.banner-mode=off",
+                            "--logging.level.root=WARN",
+                            "--seat-inventory.flush-interval-ms=3600000")) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                Long flightId = jdbcTemplate.queryForObject("SELECT MIN(flight_id) FROM flights", Long.class);
+                Long userId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+                Long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings", Long.class);
+                for (long from = 0; from < rows; from += SEED_CHUNK) {
+                    jdbcTemplate.update("INSERT INTO bookings (booking_id, flight_id, user_id, no_of_seats, seat_category, "
+                                    + "date_of_travel, booking_amount, booking_status, booking_date, discount_amount, discount_reason) "
+                                    + "SELECT X, ?, ?, 2, 'ECONOMY', DATE '2030-01-01', 199.98, 'BOOKED', "
+                                    + "TIMESTAMP '2029-12-01 10:30:00', 20.00, 'Advance booking (30+ days): 15%' "
+                                    + "FROM SYSTEM_RANGE(?, ?)",
+                            flightId, userId, firstId + from, firstId + Math.min(from + SEED_CHUNK, rows) - 1);
+                }
+                Long bookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+
+                ExportService exportService = context.getBean(ExportService.class);
+                LineCounter ndjson = new LineCounter();
+                exportService.exportBookings(ExportFormat.NDJSON).writeTo(ndjson);
+                LineCounter csv = new LineCounter();
+                exportService.exportBookings(ExportFormat.CSV).writeTo(csv);
+                System.out.println("bookings=" + bookings + " ndjson=" + ndjson.lines + " csv=" + (csv.lines - 1));
+            }
+        }
+    }
+
+    /**
+     * Discards everything written to it, counting line feeds
+     */
+    static class LineCounter extends OutputStream {
+
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.FareQuoteResult;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.CustomerCategory;
+import com.airline.flightmanagement.entity.DiscountType;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FareQuoteServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private DiscountPolicyService discountPolicyService = new DiscountPolicyService();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private FareQuoteService fareQuoteService = new FareQuoteService(1000, 3600);
+
+    private Carrier testCarrier;
+    private Flight testFlight;
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        testCarrier = new Carrier();
+        testCarrier.setCarrierId(1L);
+        testCarrier.setCarrierName("Test Airlines");
+        testCarrier.setDiscountType(DiscountType.THIRTY_DAYS);
+        testCarrier.setDiscountPercentage(new BigDecimal("10.00"));
+
+        testFlight = new Flight();
+        testFlight.setFlightId(1L);
+        testFlight.setCarrier(testCarrier);
+        testFlight.setOrigin("New York");
+        testFlight.setDestination("Los Angeles");
+        testFlight.setAirFare(new BigDecimal("299.99"));
+
+        dateOfTravel = LocalDate.now().plusDays(35);
+
+        lenient().when(userRepository.findCustomerCategoryByUserId(1L)).thenReturn(Optional.of(CustomerCategory.GOLD));
+    }
+
+    @Test
+    void testQuoteFares_PricesLikeBooking() {
+        // Arrange
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection())).thenReturn(List.of(testFlight));
+
+        // Act
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(List.of(
+                new BookFlightRequest(1L, 2, SeatCategory.ECONOMY, dateOfTravel)), 1L);
+
+        // Assert - 15% advance + 15% GOLD + 10% carrier on 2 x 299.99
+        FareQuoteResult result = results.get(0);
+        assertTrue(result.isSuccess());
+        assertEquals(new BigDecimal("599.98"), result.getQuote().getOriginalAmount());
+        assertEquals(new BigDecimal("239.99"), result.getQuote().getDiscountAmount());
+        assertEquals(new BigDecimal("359.99"), result.getQuote().getBookingAmount());
+        assertEquals("Advance booking (30+ days): 15%, Customer category (GOLD): 15%, Carrier discount (30 Days): 10%",
+                result.getQuote().getDiscountReason());
+    }
+
+    @Test
+    void testQuoteFares_SameBucketsServedFromCache() {
+        // Arrange
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection())).thenReturn(List.of(testFlight));
+
+        // Act - different dates and seat counts that fall in the same advance and seat buckets
+        fareQuoteService.quoteFares(List.of(new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel)), 1L);
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(Arrays.asList(
+                new BookFlightRequest(1L, 3, SeatCategory.BUSINESS, dateOfTravel.plusDays(10)),
+                new BookFlightRequest(1L, 4, SeatCategory.ECONOMY, dateOfTravel.plusDays(20))), 1L);
+
+        // Assert
+        verify(flightRepository, times(1)).findAllWithCarrierByFlightIdIn(anyCollection());
+        assertEquals(new BigDecimal("359.99"), results.get(0).getQuote().getDiscountAmount());
+        assertEquals(new BigDecimal("479.98"), results.get(1).getQuote().getDiscountAmount());
+    }
+
+    @Test
+    void testQuoteFares_DifferentBucketsComputedSeparately() {
+        // Arrange
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection())).thenReturn(List.of(testFlight));
+
+        // Act
+        fareQuoteService.quoteFares(List.of(new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel)), 1L);
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(Arrays.asList(
+                new BookFlightRequest(1L, 6, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, LocalDate.now().plusDays(8))), 1L);
+
+        // Assert - bulk and 7-day quotes were not cached yet
+        verify(flightRepository, times(2)).findAllWithCarrierByFlightIdIn(anyCollection());
+        assertTrue(results.get(0).getQuote().getDiscountReason().contains("Bulk booking (5+ seats): 10%"));
+        assertEquals("Advance booking (7+ days): 5%, Customer category (GOLD): 15%",
+                results.get(1).getQuote().getDiscountReason());
+    }
+
+    @Test
+    void testInvalidateFlight_RepricesOnlyThatFlight() {
+        // Arrange
+        Flight otherFlight = new Flight();
+        otherFlight.setFlightId(2L);
+        otherFlight.setCarrier(testCarrier);
+        otherFlight.setAirFare(new BigDecimal("150.00"));
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection()))
+                .thenReturn(List.of(testFlight, otherFlight));
+        List<BookFlightRequest> requests = Arrays.asList(
+                new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(2L, 1, SeatCategory.ECONOMY, dateOfTravel));
+        fareQuoteService.quoteFares(requests, 1L);
+
+        // Act - the fare of flight 1 changes
+        testFlight.setAirFare(new BigDecimal("399.99"));
+        fareQuoteService.invalidateFlight(1L);
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(requests, 1L);
+
+        // Assert
+        verify(flightRepository).findAllWithCarrierByFlightIdIn(argThat(ids -> ids.size() == 1 && ids.contains(1L)));
+        assertEquals(new BigDecimal("399.99"), results.get(0).getQuote().getOriginalAmount());
+        assertEquals(new BigDecimal("150.00"), results.get(1).getQuote().getOriginalAmount());
+    }
+
+    @Test
+    void testInvalidateCarrier_RepricesCarrierFlights() {
+        // Arrange
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection())).thenReturn(List.of(testFlight));
+        List<BookFlightRequest> requests = List.of(new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel));
+        fareQuoteService.quoteFares(requests, 1L);
+
+        // Act - the carrier's discount rule changes
+        testCarrier.setDiscountPercentage(new BigDecimal("20.00"));
+        fareQuoteService.invalidateCarrier(1L);
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(requests, 1L);
+
+        // Assert
+        verify(flightRepository, times(2)).findAllWithCarrierByFlightIdIn(anyCollection());
+        assertTrue(results.get(0).getQuote().getDiscountReason().endsWith("Carrier discount (30 Days): 20%"));
+    }
+
+    @Test
+    void testQuoteFares_ReportsInvalidRequestsAndUnknownFlights() {
+        // Arrange
+        when(flightRepository.findAllWithCarrierByFlightIdIn(anyCollection())).thenReturn(List.of(testFlight));
+
+        // Act
+        List<FareQuoteResult> results = fareQuoteService.quoteFares(Arrays.asList(
+                new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(99L, 1, SeatCategory.ECONOMY, dateOfTravel),
+                new BookFlightRequest(1L, 11, SeatCategory.ECONOMY, dateOfTravel)), 1L);
+
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Flight not found with id: 99", results.get(1).getMessage());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Cannot book more than 10 seats at once", results.get(2).getMessage());
+    }
+
+    @Test
+    void testQuoteFares_UserNotFound() {
+        // Arrange
+        when(userRepository.findCustomerCategoryByUserId(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            fareQuoteService.quoteFares(List.of(new BookFlightRequest(1L, 1, SeatCategory.ECONOMY, dateOfTravel)), 2L);
+        });
+
+        assertEquals("User not found with id: 2", exception.getMessage());
+        verify(flightRepository, never()).findAllWithCarrierByFlightIdIn(any());
+    }
+}
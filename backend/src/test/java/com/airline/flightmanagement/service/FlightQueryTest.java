@@ -0,0 +1,202 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.dto.KeysetPage;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the combined flight query against a few thousand flights: every filter mix returns exactly
+ * the flights it describes across pages. Index use and statement counts are asserted by
+ * QueryPlanTest and FlightStatementCountTest; the timing benchmark only runs with -DexcludedGroups=.
+ */
+@SpringBootTest(properties = "seat-inventory.flush-interval-ms=3600000")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FlightQueryTest {
+
+    private static final int FLIGHTS = 2_000;
+    private static final int CITIES = 10;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    private final List<Flight> flights = new ArrayList<>();
+    private final List<FlightSchedule> schedules = new ArrayList<>();
+    private Carrier activeCarrier;
+    private Carrier inactiveCarrier;
+    private LocalDate dateOfTravel;
+
+    @BeforeAll
+    void seed() {
+        activeCarrier = carrierRepository.findAll().get(0);
+        inactiveCarrier = new Carrier("Query Grounded Air", new BigDecimal("5.00"), new BigDecimal("10.00"),
+                DiscountType.SILVER, RefundType.TEN_DAYS);
+        inactiveCarrier.setIsActive(false);
+        inactiveCarrier = carrierRepository.save(inactiveCarrier);
+
+        // 100 routes of 20 flights each, with fares from 100 to 480 and every third flight grounded
+        for (int i = 0; i < FLIGHTS; i++) {
+            int routeFlight = i / (CITIES * CITIES);
+            flights.add(new Flight(routeFlight % 3 == 0 ? inactiveCarrier : activeCarrier,
+                    "Query Origin " + (i % CITIES), "Query Destination " + (i / CITIES % CITIES),
+                    new BigDecimal(100 + routeFlight * 20), 4, 20, 2));
+        }
+        flightRepository.saveAll(flights);
+
+        // Every third flight out of the first origin is sold out in economy on the date of travel
+        dateOfTravel = LocalDate.now().plusDays(20);
+        for (Flight flight : flights) {
+            if (flight.getOrigin().equals("Query Origin 0") && flight.getFlightId() % 3 == 0) {
+                FlightSchedule schedule = new FlightSchedule(flight.getFlightId(), dateOfTravel, 20, 4, 2);
+                schedule.setBookedCountEconomy(20);
+                schedules.add(schedule);
+            }
+        }
+        flightScheduleRepository.saveAll(schedules);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        flightScheduleRepository.deleteAllInBatch(schedules);
+        flightRepository.deleteAllInBatch(flights);
+        carrierRepository.delete(inactiveCarrier);
+    }
+
+    @Test
+    void testQueryFlights_EveryFilterMixMatchesAcrossPages() {
+        mixes().forEach((name, mix) -> {
+            // Act
+            List<Long> found = new ArrayList<>();
+            String pageToken = null;
+            do {
+                KeysetPage<FlightDTO> page = flightService.queryFlights(mix.criteria(), pageToken, 37);
+                page.getItems().forEach(flight -> found.add(flight.getFlightId()));
+                pageToken = page.getNextPageToken();
+            } while (pageToken != null);
+
+            // Assert
+            List<Long> expected = flights.stream().filter(mix.expected()).map(Flight::getFlightId).toList();
+            assertFalse(expected.isEmpty(), name);
+            assertEquals(expected, found, name);
+        });
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testQueryFlights_FilterMixBenchmark() {
+        int queries = 200;
+        mixes().forEach((name, mix) -> {
+            // Arrange - warm up the statement and plan caches
+            flightService.queryFlights(mix.criteria(), null, 50);
+
+            // Act
+            long start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                assertFalse(flightService.queryFlights(mix.criteria(), null, 50).getItems().isEmpty());
+            }
+            long averageNanos = (System.nanoTime() - start) / queries;
+
+            // Assert
+            assertTrue(averageNanos < 20_000_000, name + ": average query took " + averageNanos + " ns");
+        });
+    }
+
+    @Test
+    void testQueryFlights_InvalidSeats() {
+        // Arrange
+        FlightSearchCriteria criteria = criteria("Query Origin 0", null, null, null, null, false, dateOfTravel,
+                SeatCategory.ECONOMY, 11);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> flightService.queryFlights(criteria, null, null));
+        assertEquals("Number of seats must be between 1 and 10", exception.getMessage());
+    }
+
+    /**
+     * Filter mixes with the flights each one should return
+     */
+    private Map<String, Mix> mixes() {
+        Long inactiveId = inactiveCarrier.getCarrierId();
+        BigDecimal min = new BigDecimal("200");
+        BigDecimal max = new BigDecimal("300");
+        Predicate<Flight> inFareRange = flight -> flight.getAirFare().compareTo(min) >= 0
+                && flight.getAirFare().compareTo(max) <= 0;
+        Predicate<Flight> hasEconomySeat = flight -> !(flight.getOrigin().equals("Query Origin 0")
+                && flight.getFlightId() % 3 == 0);
+
+        Map<String, Mix> mixes = new LinkedHashMap<>();
+        mixes.put("route", new Mix(
+                criteria("Query Origin 1", "Query Destination 2", null, null, null, false, null, null, 1),
+                route("Query Origin 1", "Query Destination 2")));
+        mixes.put("route and fare", new Mix(
+                criteria("Query Origin 1", "Query Destination 2", null, min, max, false, null, null, 1),
+                route("Query Origin 1", "Query Destination 2").and(inFareRange)));
+        mixes.put("origin", new Mix(
+                criteria("Query Origin 3", null, null, null, null, false, null, null, 1),
+                flight -> flight.getOrigin().equals("Query Origin 3")));
+        mixes.put("destination and fare", new Mix(
+                criteria(null, "Query Destination 4", null, min, max, false, null, null, 1),
+                flight -> flight.getDestination().equals("Query Destination 4") && inFareRange.test(flight)));
+        mixes.put("carrier and fare", new Mix(
+                criteria(null, null, inactiveId, min, max, false, null, null, 1),
+                flight -> flight.getCarrier() == inactiveCarrier && inFareRange.test(flight)));
+        mixes.put("origin and active carriers", new Mix(
+                criteria("Query Origin 5", null, null, null, null, true, null, null, 1),
+                flight -> flight.getOrigin().equals("Query Origin 5") && flight.getCarrier() == activeCarrier));
+        mixes.put("origin with economy seats", new Mix(
+                criteria("Query Origin 0", null, null, null, null, false, dateOfTravel, SeatCategory.ECONOMY, 1),
+                flight -> flight.getOrigin().equals("Query Origin 0") && hasEconomySeat.test(flight)));
+        mixes.put("origin with business seats", new Mix(
+                criteria("Query Origin 0", null, null, null, null, false, dateOfTravel, SeatCategory.BUSINESS, 4),
+                flight -> flight.getOrigin().equals("Query Origin 0")));
+        mixes.put("every filter", new Mix(
+                criteria("Query Origin 0", "Query Destination 1", activeCarrier.getCarrierId(), min, max, true,
+                        dateOfTravel, SeatCategory.ECONOMY, 2),
+                route("Query Origin 0", "Query Destination 1").and(inFareRange).and(hasEconomySeat)
+                        .and(flight -> flight.getCarrier() == activeCarrier)));
+        return mixes;
+    }
+
+    private static Predicate<Flight> route(String origin, String destination) {
+        return flight -> flight.getOrigin().equals(origin) && flight.getDestination().equals(destination);
+    }
+
+    private static FlightSearchCriteria criteria(String origin, String destination, Long carrierId,
+                                                 BigDecimal minFare, BigDecimal maxFare, boolean activeCarriersOnly,
+                                                 LocalDate dateOfTravel, SeatCategory seatCategory, int noOfSeats) {
+        return new FlightSearchCriteria(origin, destination, carrierId, minFare, maxFare, activeCarriersOnly,
+                dateOfTravel, seatCategory == null ? SeatCategory.ECONOMY : seatCategory, noOfSeats);
+    }
+
+    private record Mix(FlightSearchCriteria criteria, Predicate<Flight> expected) {}
+}
@@ -0,0 +1,270 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.AirportSuggestion;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.repository.FlightRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightRouteIndexTest {
+
+    private static final String[] CITIES = {"New York", "Los Angeles", "Chicago", "Houston", "Phoenix",
+            "Seattle", "Denver", "Boston", "Miami", "Atlanta"};
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @InjectMocks
+    private FlightRouteIndex flightRouteIndex;
+
+    @Test
+    void testRebuild_IndexesEveryFlightInIdOrder() {
+        // Arrange
+        when(flightRepository.streamAllForExport()).thenReturn(Stream.of(
+                flight(3L, 1L, "Test Airlines", "New York", "Chicago"),
+                flight(1L, 1L, "Test Airlines", "New York", "Chicago"),
+                flight(2L, 2L, "Other Air", "Chicago", "Boston")));
+
+        // Act
+        flightRouteIndex.rebuild();
+
+        // Assert
+        assertEquals(3, flightRouteIndex.size());
+        assertEquals(List.of(1L, 3L), ids(flightRouteIndex.findByRoute("New York", "Chicago")));
+        assertEquals(List.of(2L), ids(flightRouteIndex.findByOrigin("Chicago")));
+        assertEquals(List.of(1L, 3L), ids(flightRouteIndex.findByDestination("Chicago")));
+        assertEquals(List.of(2L), ids(flightRouteIndex.findByCarrierName("Other Air")));
+        assertTrue(flightRouteIndex.findByRoute("Chicago", "New York").isEmpty());
+        assertTrue(flightRouteIndex.findByOrigin(null).isEmpty());
+    }
+
+    @Test
+    void testFlightSaved_MovesUpdatedFlightAndInternsNames() {
+        // Arrange
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", new String("New York"), "Chicago"));
+        flightRouteIndex.flightSaved(flight(2L, 1L, "Test Airlines", new String("New York"), "Boston"));
+
+        // Act
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Miami"));
+
+        // Assert
+        assertTrue(flightRouteIndex.findByRoute("New York", "Chicago").isEmpty());
+        assertEquals(List.of(1L), ids(flightRouteIndex.findByRoute("New York", "Miami")));
+        assertEquals(List.of(1L, 2L), ids(flightRouteIndex.findByOrigin("New York")));
+        assertSame(flightRouteIndex.findById(1L).getOrigin(), flightRouteIndex.findById(2L).getOrigin());
+    }
+
+    @Test
+    void testFlightSaved_UpdatesNeverHideFlightFromReaders() throws InterruptedException {
+        // Arrange - a writer keeps repricing a flight while searches run without locking
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Chicago"));
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                FlightDTO updated = flight(1L, 1L, "Test Airlines", "New York", "Chicago");
+                updated.setAirFare(new BigDecimal(100 + i % 7));
+                flightRouteIndex.flightSaved(updated);
+            }
+        });
+        int misses = 0;
+
+        // Act
+        writer.start();
+        while (writer.isAlive()) {
+            if (flightRouteIndex.findById(1L) == null
+                    || flightRouteIndex.findByRoute("New York", "Chicago").isEmpty()
+                    || flightRouteIndex.findByCarrierName("Test Airlines").isEmpty()
+                    || flightRouteIndex.findByRouteAndFare("New York", "Chicago", 0, Long.MAX_VALUE, null, false,
+                            null, 10).isEmpty()) {
+                misses++;
+            }
+        }
+        writer.join();
+
+        // Assert
+        assertEquals(0, misses);
+        assertEquals(1, flightRouteIndex.findByRoute("New York", "Chicago").size());
+    }
+
+    @Test
+    void testFlightSaved_KeepsPrivateCopy() {
+        // Arrange
+        FlightDTO saved = flight(1L, 1L, "Test Airlines", "New York", "Chicago");
+        flightRouteIndex.flightSaved(saved);
+
+        // Act
+        saved.setDestination("Boston");
+
+        // Assert
+        assertEquals(1, flightRouteIndex.findByRoute("New York", "Chicago").size());
+        assertThrows(UnsupportedOperationException.class,
+                () -> flightRouteIndex.findByOrigin("New York").set(0, saved));
+    }
+
+    @Test
+    void testFlightDeletedAndCarrierRenamed() {
+        // Arrange
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Chicago"));
+        flightRouteIndex.flightSaved(flight(2L, 1L, "Test Airlines", "Chicago", "Boston"));
+
+        // Act
+        flightRouteIndex.flightDeleted(2L);
+        flightRouteIndex.carrierRenamed(1L, "Renamed Airlines");
+
+        // Assert
+        assertNull(flightRouteIndex.findById(2L));
+        assertTrue(flightRouteIndex.findByOrigin("Chicago").isEmpty());
+        assertTrue(flightRouteIndex.findByCarrierName("Test Airlines").isEmpty());
+        assertEquals("Renamed Airlines", flightRouteIndex.findByRoute("New York", "Chicago").get(0).getCarrierName());
+        assertEquals(List.of(1L), ids(flightRouteIndex.findByCarrierName("Renamed Airlines")));
+    }
+
+    @Test
+    void testFindAirports_MatchesPrefixIgnoringCaseRankedByFlights() {
+        // Arrange
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Newark"));
+        flightRouteIndex.flightSaved(flight(2L, 1L, "Test Airlines", "Chicago", "New Orleans"));
+        flightRouteIndex.flightSaved(flight(3L, 1L, "Test Airlines", "New Orleans", "Newark"));
+        flightRouteIndex.flightSaved(flight(4L, 1L, "Test Airlines", "Newark", "Chicago"));
+
+        // Act
+        List<AirportSuggestion> airports = flightRouteIndex.findAirports("NEW", 10);
+
+        // Assert
+        assertEquals(List.of("Newark", "New Orleans", "New York"),
+                airports.stream().map(AirportSuggestion::getName).toList());
+        assertEquals(List.of(3, 2, 1), airports.stream().map(AirportSuggestion::getFlightCount).toList());
+        assertEquals(List.of("Newark"), flightRouteIndex.findAirports("new", 1).stream()
+                .map(AirportSuggestion::getName).toList());
+        assertTrue(flightRouteIndex.findAirports("Boston", 10).isEmpty());
+    }
+
+    @Test
+    void testFindAirports_FollowsRegisteredAndDeletedFlights() {
+        // Arrange
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Chicago"));
+        flightRouteIndex.flightSaved(flight(2L, 1L, "Test Airlines", "Chicago", "Boston"));
+
+        // Act
+        flightRouteIndex.flightDeleted(2L);
+        flightRouteIndex.flightSaved(flight(1L, 1L, "Test Airlines", "New York", "Charlotte"));
+
+        // Assert
+        assertTrue(flightRouteIndex.findAirports("bos", 10).isEmpty());
+        assertEquals(List.of("Charlotte"), flightRouteIndex.findAirports("ch", 10).stream()
+                .map(AirportSuggestion::getName).toList());
+        assertEquals(1, flightRouteIndex.findAirports("new york", 10).get(0).getFlightCount());
+    }
+
+    @Test
+    void testFindByRouteAndFare_SlicesFareRangeInFareOrder() {
+        // Arrange
+        flightRouteIndex.flightSaved(fare(1L, 1L, "300.00"));
+        flightRouteIndex.flightSaved(fare(2L, 2L, "150.00"));
+        flightRouteIndex.flightSaved(fare(3L, 1L, "99.99"));
+        flightRouteIndex.flightSaved(fare(4L, 1L, "150.00"));
+        flightRouteIndex.flightSaved(fare(5L, 2L, "500.00"));
+        flightRouteIndex.flightSaved(flight(6L, 1L, "Test Airlines", "New York", "Boston"));
+
+        // Act & Assert - ties on fare are ordered by flight ID
+        assertEquals(List.of(2L, 4L, 1L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                10000, 30000, null, false, null, 10)));
+        assertEquals(List.of(5L, 1L, 4L, 2L, 3L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, Long.MAX_VALUE, null, true, null, 10)));
+        assertEquals(List.of(3L, 4L, 1L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, 30000, 1L, false, null, 10)));
+        assertEquals(List.of(3L, 2L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, Long.MAX_VALUE, null, false, null, 2)));
+        assertTrue(flightRouteIndex.findByRouteAndFare("New York", "Chicago", 30001, 49999, null, false, null, 10)
+                .isEmpty());
+        assertTrue(flightRouteIndex.findByRouteAndFare("Chicago", "New York", 0, Long.MAX_VALUE, null, false, null, 10)
+                .isEmpty());
+    }
+
+    @Test
+    void testFindByRouteAndFare_ContinuesAfterPosition() {
+        // Arrange
+        flightRouteIndex.flightSaved(fare(1L, 1L, "150.00"));
+        flightRouteIndex.flightSaved(fare(2L, 1L, "150.00"));
+        flightRouteIndex.flightSaved(fare(3L, 1L, "200.00"));
+        FlightRouteIndex.FareKey afterFirst = FlightRouteIndex.FareKey.of(flightRouteIndex.findById(1L));
+
+        // Act & Assert - the position survives the flight it came from being deleted
+        flightRouteIndex.flightDeleted(1L);
+        assertEquals(List.of(2L, 3L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, Long.MAX_VALUE, null, false, afterFirst, 10)));
+        assertEquals(List.of(2L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, Long.MAX_VALUE, null, true, new FlightRouteIndex.FareKey(20000, 3L), 10)));
+    }
+
+    @Test
+    void testFindByRouteAndFare_FollowsUpdatedAndDeletedFlights() {
+        // Arrange
+        flightRouteIndex.flightSaved(fare(1L, 1L, "100.00"));
+        flightRouteIndex.flightSaved(fare(2L, 1L, "200.00"));
+        flightRouteIndex.flightSaved(fare(3L, 1L, "300.00"));
+
+        // Act
+        flightRouteIndex.flightSaved(fare(1L, 1L, "250.00"));
+        flightRouteIndex.flightDeleted(3L);
+        flightRouteIndex.flightSaved(flight(2L, 1L, "Test Airlines", "New York", "Boston"));
+
+        // Assert
+        assertEquals(List.of(1L), ids(flightRouteIndex.findByRouteAndFare("New York", "Chicago",
+                0, Long.MAX_VALUE, null, false, null, 10)));
+        assertEquals(List.of(2L), ids(flightRouteIndex.findByRouteAndFare("New York", "Boston",
+                0, Long.MAX_VALUE, null, false, null, 10)));
+        assertTrue(flightRouteIndex.findByRouteAndFare("New York", "Chicago", 0, 20000, null, false, null, 10)
+                .isEmpty());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testSearch_SubMillisecondAtScale() {
+        // Arrange - 100k flights over 90 routes
+        int flights = 100_000;
+        when(flightRepository.streamAllForExport()).thenReturn(LongStream.rangeClosed(1, flights)
+                .mapToObj(id -> flight(id, 1 + id % 20, "Carrier " + (id % 20),
+                        CITIES[(int) (id % CITIES.length)], CITIES[(int) ((id / CITIES.length + 1 + id) % CITIES.length)])));
+        flightRouteIndex.rebuild();
+        int searches = 100_000;
+        long matched = 0;
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < searches; i++) {
+            matched += flightRouteIndex.findByRoute(CITIES[i % CITIES.length], CITIES[(i / 7) % CITIES.length]).size();
+        }
+        long averageNanos = (System.nanoTime() - start) / searches;
+
+        // Assert
+        assertEquals(flights, flightRouteIndex.size());
+        assertTrue(matched > 0);
+        assertTrue(averageNanos < 1_000_000, "average search took " + averageNanos + " ns");
+    }
+
+    private static FlightDTO flight(Long flightId, Long carrierId, String carrierName, String origin, String destination) {
+        return new FlightDTO(flightId, carrierId, carrierName, origin, destination, new BigDecimal("199.99"), 10, 100, 5);
+    }
+
+    private static FlightDTO fare(Long flightId, Long carrierId, String airFare) {
+        return new FlightDTO(flightId, carrierId, "Carrier " + carrierId, "New York", "Chicago", new BigDecimal(airFare),
+                10, 100, 5);
+    }
+
+    private static List<Long> ids(List<FlightDTO> flights) {
+        return flights.stream().map(FlightDTO::getFlightId).toList();
+    }
+}
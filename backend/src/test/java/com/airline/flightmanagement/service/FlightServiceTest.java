@@ -1,21 +1,34 @@
 package com.airline.flightmanagement.service;
 
+import com.airline.flightmanagement.dto.AirportSuggestion;
 import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.entity.Flight;
 import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.SeatCategory;
 import com.airline.flightmanagement.repository.FlightRepository;
 import com.airline.flightmanagement.repository.CarrierRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +43,24 @@ class FlightServiceTest {
     @Mock
     private CarrierRepository carrierRepository;
 
+    @Mock
+    private FareQuoteService fareQuoteService;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @Mock
+    private BookingStatsService bookingStatsService;
+
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(50, 500);
+
+    @Spy
+    private FlightRouteIndex flightRouteIndex = new FlightRouteIndex();
+
     @InjectMocks
     private FlightService flightService;
 
@@ -109,23 +140,46 @@ class FlightServiceTest {
     @Test
     void testGetAllFlights_Success() {
         // Arrange
-        List<Flight> flights = Arrays.asList(testFlight);
-        when(flightRepository.findAll()).thenReturn(flights);
+        List<FlightDTO> flights = Arrays.asList(flightDTO(1L));
+        when(flightRepository.findPageAfter(eq(0L), any(Pageable.class))).thenReturn(flights);
 
         // Act
-        List<FlightDTO> result = flightService.getAllFlights();
+        KeysetPage<FlightDTO> result = flightService.getAllFlights(null, null);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testFlight.getFlightId(), result.get(0).getFlightId());
-        verify(flightRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals(1L, result.getItems().get(0).getFlightId());
+        assertEquals("Test Airlines", result.getItems().get(0).getCarrierName());
+        assertNull(result.getNextPageToken());
+        verify(flightRepository).findPageAfter(0L, PageRequest.ofSize(51));
+        verify(flightRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllFlights_FollowsPageToken() {
+        // Arrange - three flights, read two at a time
+        FlightDTO third = flightDTO(3L);
+        when(flightRepository.findPageAfter(0L, PageRequest.ofSize(3)))
+                .thenReturn(Arrays.asList(flightDTO(1L), flightDTO(2L), third));
+        when(flightRepository.findPageAfter(2L, PageRequest.ofSize(3))).thenReturn(Arrays.asList(third));
+
+        // Act
+        KeysetPage<FlightDTO> firstPage = flightService.getAllFlights(null, 2);
+        KeysetPage<FlightDTO> secondPage = flightService.getAllFlights(firstPage.getNextPageToken(), 2);
+
+        // Assert
+        assertEquals(2, firstPage.getItems().size());
+        assertTrue(firstPage.hasNextPage());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(3L, secondPage.getItems().get(0).getFlightId());
+        assertFalse(secondPage.hasNextPage());
     }
 
     @Test
     void testGetFlightById_Success() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.findFlightDTO(1L)).thenReturn(Optional.of(flightDTO(1L)));
 
         // Act
         Optional<FlightDTO> result = flightService.getFlightById(1L);
@@ -133,20 +187,21 @@ class FlightServiceTest {
         // Assert
         assertTrue(result.isPresent());
         assertEquals(testFlight.getFlightId(), result.get().getFlightId());
-        verify(flightRepository).findById(1L);
+        verify(flightRepository).findFlightDTO(1L);
+        verify(flightRepository, never()).findById(1L);
     }
 
     @Test
     void testGetFlightById_NotFound() {
         // Arrange
-        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+        when(flightRepository.findFlightDTO(1L)).thenReturn(Optional.empty());
 
         // Act
         Optional<FlightDTO> result = flightService.getFlightById(1L);
 
         // Assert
         assertFalse(result.isPresent());
-        verify(flightRepository).findById(1L);
+        verify(flightRepository).findFlightDTO(1L);
     }
 
     @Test
@@ -174,6 +229,10 @@ class FlightServiceTest {
         verify(flightRepository).findById(1L);
         verify(carrierRepository).findById(1L);
         verify(flightRepository).save(any(Flight.class));
+        verify(fareQuoteService).invalidateFlight(1L);
+        verify(seatInventory, never()).flightUpdated(any());
+        verify(availabilityCalendarService, never()).invalidateFlight(any());
+        verify(bookingStatsService, never()).flightMoved();
     }
 
     @Test
@@ -250,6 +309,9 @@ class FlightServiceTest {
         assertEquals(30, existingFlight.getSeatCapacityBusiness());
         assertEquals(200, existingFlight.getSeatCapacityEconomy());
         assertEquals(15, existingFlight.getSeatCapacityExecutive());
+        verify(seatInventory).flightUpdated(existingFlight);
+        verify(availabilityCalendarService).invalidateFlight(1L);
+        verify(bookingStatsService).flightMoved();
     }
 
     @Test
@@ -264,6 +326,7 @@ class FlightServiceTest {
         // Assert
         verify(flightRepository).existsById(1L);
         verify(flightRepository).deleteById(1L);
+        verify(fareQuoteService).invalidateFlight(1L);
     }
 
     @Test
@@ -284,8 +347,7 @@ class FlightServiceTest {
     @Test
     void testSearchFlights_Success() {
         // Arrange
-        List<Flight> flights = Arrays.asList(testFlight);
-        when(flightRepository.findByOriginAndDestination("New York", "Los Angeles")).thenReturn(flights);
+        indexTestFlight();
 
         // Act
         List<FlightDTO> result = flightService.searchFlights("New York", "Los Angeles");
@@ -293,14 +355,126 @@ class FlightServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(flightRepository).findByOriginAndDestination("New York", "Los Angeles");
+        assertTrue(flightService.searchFlights("Los Angeles", "New York").isEmpty());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSearchFlightsByFare_PagesInFareOrder() {
+        // Arrange - three fares on the route, one outside the range
+        for (long id = 1; id <= 4; id++) {
+            FlightDTO flight = flightDTO(id);
+            flight.setAirFare(new BigDecimal(100 * id + ".00"));
+            flightRouteIndex.flightSaved(flight);
+        }
+
+        // Act
+        KeysetPage<FlightDTO> first = flightService.searchFlightsByFare("New York", "Los Angeles",
+                new BigDecimal("199.995"), new BigDecimal("400.00"), null, Sort.Direction.DESC, null, 2);
+        KeysetPage<FlightDTO> second = flightService.searchFlightsByFare("New York", "Los Angeles",
+                new BigDecimal("199.995"), new BigDecimal("400.00"), null, Sort.Direction.DESC,
+                first.getNextPageToken(), 2);
+
+        // Assert - 199.995 rounds up to 200.00, so the 200.00 fare is the last one in range
+        assertEquals(List.of(4L, 3L), first.getItems().stream().map(FlightDTO::getFlightId).toList());
+        assertTrue(first.hasNextPage());
+        assertEquals(List.of(2L), second.getItems().stream().map(FlightDTO::getFlightId).toList());
+        assertFalse(second.hasNextPage());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSearchFlightsByFare_InvalidRange() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> flightService.searchFlightsByFare("New York", "Los Angeles", new BigDecimal("300.00"),
+                        new BigDecimal("200.00"), null, Sort.Direction.ASC, null, null));
+        assertEquals("Minimum fare must not be greater than maximum fare", exception.getMessage());
+        exception = assertThrows(RuntimeException.class,
+                () -> flightService.searchFlightsByFare("New York", "Los Angeles", null,
+                        new BigDecimal("-1.00"), null, Sort.Direction.ASC, null, null));
+        assertEquals("Fare must not be negative", exception.getMessage());
+    }
+
+    @Test
+    void testQueryFlights_ReturnsPageWithNextToken() {
+        // Arrange - one row past the page size tells that another page exists
+        Flight next = new Flight(testCarrier, "New York", "Los Angeles", new BigDecimal("199.99"), 20, 150, 10);
+        next.setFlightId(2L);
+        when(flightRepository.findBy(ArgumentMatchers.<Specification<Flight>>any(),
+                ArgumentMatchers.<Function<FetchableFluentQuery<Flight>, List<Flight>>>any()))
+                .thenReturn(List.of(testFlight, next));
+        FlightSearchCriteria criteria = new FlightSearchCriteria("New York", null, 1L, null, new BigDecimal("300"),
+                true, LocalDate.now().plusDays(5), SeatCategory.BUSINESS, 2);
+
+        // Act
+        KeysetPage<FlightDTO> page = flightService.queryFlights(criteria, null, 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals("Test Airlines", page.getItems().get(0).getCarrierName());
+        assertTrue(page.hasNextPage());
+        assertEquals(1L, keysetPagination.afterKey(KeysetPagination.FLIGHT_QUERY, page.getNextPageToken()));
+    }
+
+    @Test
+    void testQueryFlights_InvalidCriteria() {
+        // Arrange
+        FlightSearchCriteria pastDate = new FlightSearchCriteria("New York", null, null, null, null, false,
+                LocalDate.now().minusDays(1), SeatCategory.ECONOMY, 1);
+        FlightSearchCriteria invalidRange = new FlightSearchCriteria(null, null, null, new BigDecimal("300"),
+                new BigDecimal("200"), false, null, SeatCategory.ECONOMY, 1);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> flightService.queryFlights(pastDate, null, null));
+        assertEquals("Date of travel must not be in the past", exception.getMessage());
+        exception = assertThrows(RuntimeException.class,
+                () -> flightService.queryFlights(invalidRange, null, null));
+        assertEquals("Minimum fare must not be greater than maximum fare", exception.getMessage());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testGetFlightsByOriginAndDestination_Success() {
+        // Arrange
+        indexTestFlight();
+
+        // Act & Assert
+        assertEquals(1, flightService.getFlightsByOrigin("New York").size());
+        assertEquals(1, flightService.getFlightsByDestination("Los Angeles").size());
+        assertTrue(flightService.getFlightsByOrigin("Los Angeles").isEmpty());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSuggestAirports_Success() {
+        // Arrange
+        indexTestFlight();
+
+        // Act
+        List<AirportSuggestion> result = flightService.suggestAirports(" los ", null);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Los Angeles", result.get(0).getName());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSuggestAirports_InvalidRequest() {
+        // Act & Assert
+        RuntimeException blank = assertThrows(RuntimeException.class, () -> flightService.suggestAirports(" ", null));
+        assertEquals("Airport prefix must not be blank", blank.getMessage());
+
+        RuntimeException tooMany = assertThrows(RuntimeException.class, () -> flightService.suggestAirports("N", 51));
+        assertEquals("Limit must be between 1 and 50", tooMany.getMessage());
     }
 
     @Test
     void testGetFlightsByCarrier_Success() {
         // Arrange
-        List<Flight> flights = Arrays.asList(testFlight);
-        when(flightRepository.findByCarrierCarrierId(1L)).thenReturn(flights);
+        indexTestFlight();
 
         // Act
         List<FlightDTO> result = flightService.getFlightsByCarrier(1L);
@@ -308,14 +482,13 @@ class FlightServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(flightRepository).findByCarrierCarrierId(1L);
+        verifyNoInteractions(flightRepository);
     }
 
     @Test
     void testGetFlightsByCarrierName_Success() {
         // Arrange
-        List<Flight> flights = Arrays.asList(testFlight);
-        when(flightRepository.findByCarrierName("Test Airlines")).thenReturn(flights);
+        indexTestFlight();
 
         // Act
         List<FlightDTO> result = flightService.getFlightsByCarrierName("Test Airlines");
@@ -324,13 +497,13 @@ class FlightServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testFlight.getCarrier().getCarrierName(), result.get(0).getCarrierName());
-        verify(flightRepository).findByCarrierName("Test Airlines");
+        verifyNoInteractions(flightRepository);
     }
 
     @Test
     void testGetFlightsByCarrierName_NoFlightsFound() {
         // Arrange
-        when(flightRepository.findByCarrierName("NonExistent Airlines")).thenReturn(Arrays.asList());
+        indexTestFlight();
 
         // Act
         List<FlightDTO> result = flightService.getFlightsByCarrierName("NonExistent Airlines");
@@ -338,6 +511,46 @@ class FlightServiceTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(flightRepository).findByCarrierName("NonExistent Airlines");
+    }
+
+    @Test
+    void testRegisterUpdateDelete_MaintainRouteIndex() {
+        // Arrange
+        when(carrierRepository.findById(1L)).thenReturn(Optional.of(testCarrier));
+        when(flightRepository.save(any(Flight.class))).thenReturn(testFlight);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(testFlight));
+        when(flightRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert - registered flights are searchable
+        flightService.registerFlight(testFlightDTO);
+        assertEquals(1, flightService.searchFlights("New York", "Los Angeles").size());
+
+        // Act & Assert - an updated route moves the flight
+        testFlightDTO.setDestination("Chicago");
+        flightService.updateFlight(1L, testFlightDTO);
+        assertTrue(flightService.searchFlights("New York", "Los Angeles").isEmpty());
+        assertEquals(1, flightService.searchFlights("New York", "Chicago").size());
+
+        // Act & Assert - the fare index follows the updated route
+        assertEquals(1, flightService.searchFlightsByFare("New York", "Chicago", null, null, null,
+                Sort.Direction.ASC, null, null).getItems().size());
+
+        // Act & Assert - deleted flights disappear
+        flightService.deleteFlight(1L);
+        assertTrue(flightService.getFlightsByOrigin("New York").isEmpty());
+        assertTrue(flightService.searchFlightsByFare("New York", "Chicago", null, null, null,
+                Sort.Direction.ASC, null, null).getItems().isEmpty());
+    }
+
+    private void indexTestFlight() {
+        flightRouteIndex.flightSaved(new FlightDTO(testFlight.getFlightId(), testCarrier.getCarrierId(),
+                testCarrier.getCarrierName(), testFlight.getOrigin(), testFlight.getDestination(),
+                testFlight.getAirFare(), testFlight.getSeatCapacityBusiness(), testFlight.getSeatCapacityEconomy(),
+                testFlight.getSeatCapacityExecutive()));
+    }
+
+    private FlightDTO flightDTO(Long flightId) {
+        return new FlightDTO(flightId, 1L, "Test Airlines", "New York", "Los Angeles",
+                new BigDecimal("299.99"), 20, 150, 10);
     }
 }
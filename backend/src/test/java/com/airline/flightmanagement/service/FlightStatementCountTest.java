@@ -0,0 +1,127 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.FlightSearchCriteria;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of JDBC statements issued by the flight read endpoints. Flights are read as DTOs
+ * joined to their carrier, so a listing is one query however many carriers its flights belong to,
+ * the listings served by the route index issue none, and the combined flight query is one
+ * statement whatever filters it combines.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "seat-inventory.flush-interval-ms=3600000"
+})
+class FlightStatementCountTest {
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private FlightDTO flight;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Carrier carrier = carrierRepository.findAll().get(0);
+        flight = flightService.registerFlight(new FlightDTO(null, carrier.getCarrierId(), null, "Statement Origin",
+                "Statement Destination", new BigDecimal("100.00"), 10, 20, 5));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAllFlights_SingleQueryAcrossCarriers() {
+        // Act
+        List<FlightDTO> flights = count(() -> flightService.getAllFlights(null, 500).getItems(), 1);
+
+        // Assert - the page spans several carriers, each of which a lazy load would fetch separately
+        assertTrue(flights.stream().map(FlightDTO::getCarrierId).distinct().count() > 1);
+        assertTrue(flights.stream().allMatch(dto -> dto.getCarrierName() != null));
+    }
+
+    @Test
+    void testGetFlightById_SingleQueryThenCached() {
+        // Act
+        FlightDTO loaded = count(() -> flightService.getFlightById(flight.getFlightId()).orElseThrow(), 1);
+        FlightDTO cached = count(() -> flightService.getFlightById(flight.getFlightId()).orElseThrow(), 0);
+
+        // Assert
+        assertNotNull(loaded.getCarrierName());
+        assertEquals(loaded.getFlightId(), cached.getFlightId());
+    }
+
+    @Test
+    void testIndexedListings_IssueNoQueries() {
+        // Arrange
+        String carrierName = flight.getCarrierName();
+        Long carrierId = flight.getCarrierId();
+
+        // Act & Assert
+        assertFalse(count(() -> flightService.searchFlights("Statement Origin", "Statement Destination"), 0).isEmpty());
+        assertFalse(count(() -> flightService.getFlightsByCarrier(carrierId), 0).isEmpty());
+        assertFalse(count(() -> flightService.getFlightsByCarrierName(carrierName), 0).isEmpty());
+        assertFalse(count(() -> flightService.getFlightsByOrigin("Statement Origin"), 0).isEmpty());
+        assertFalse(count(() -> flightService.getFlightsByDestination("Statement Destination"), 0).isEmpty());
+        assertFalse(count(() -> flightService.suggestAirports("Statement", null), 0).isEmpty());
+        assertFalse(count(() -> flightService.searchFlightsByFare("Statement Origin", "Statement Destination",
+                null, null, carrierId, Sort.Direction.ASC, null, null), 0).getItems().isEmpty());
+    }
+
+    @Test
+    void testQueryFlights_SingleQueryPerFilterMix() {
+        // Arrange
+        Long carrierId = flight.getCarrierId();
+        LocalDate dateOfTravel = LocalDate.now().plusDays(5);
+        List<FlightSearchCriteria> mixes = List.of(
+                new FlightSearchCriteria("Statement Origin", null, null, null, null, false, null,
+                        SeatCategory.ECONOMY, 1),
+                new FlightSearchCriteria(null, "Statement Destination", carrierId, new BigDecimal("50"),
+                        new BigDecimal("150"), true, null, SeatCategory.ECONOMY, 1),
+                new FlightSearchCriteria("Statement Origin", "Statement Destination", carrierId, null, null, true,
+                        dateOfTravel, SeatCategory.BUSINESS, 2));
+
+        for (FlightSearchCriteria criteria : mixes) {
+            // Act - carriers are fetched with the flights rather than loaded one by one
+            List<FlightDTO> flights = count(() -> flightService.queryFlights(criteria, null, 500).getItems(), 1);
+
+            // Assert
+            assertTrue(flights.stream().anyMatch(dto -> dto.getFlightId().equals(flight.getFlightId())),
+                    criteria.toString());
+            assertTrue(flights.stream().allMatch(dto -> dto.getCarrierName() != null));
+        }
+    }
+
+    /**
+     * Run a read and assert how many statements it prepared
+     */
+    private <T> T count(Supplier<T> read, long expectedStatements) {
+        statistics.clear();
+        T result = read.get();
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package com.airline.flightmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 100;
+    private static final long START_MS = 1_000_000L;
+
+    private HierarchicalTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel<>(TICK_MS, START_MS);
+    }
+
+    @Test
+    void testAdvance_ExpiresTaskOnItsTick() {
+        // Arrange
+        wheel.schedule("hold", START_MS + 1_000);
+
+        // Act & Assert
+        assertTrue(wheel.advance(START_MS + 999).isEmpty());
+        assertEquals(List.of("hold"), wheel.advance(START_MS + 1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesFromHigherWheels() {
+        // Arrange - deadlines that start in the second, third and fourth wheel
+        long second = START_MS + 600 * TICK_MS;
+        long third = START_MS + 300_000 * TICK_MS;
+        long fourth = START_MS + 200_000_000L * TICK_MS;
+        wheel.schedule("second", second);
+        wheel.schedule("third", third);
+        wheel.schedule("fourth", fourth);
+
+        // Act & Assert - nothing fires early, each fires exactly on its deadline
+        assertTrue(wheel.advance(second - 1).isEmpty());
+        assertEquals(List.of("second"), wheel.advance(second));
+        assertTrue(wheel.advance(third - 1).isEmpty());
+        assertEquals(List.of("third"), wheel.advance(third));
+        assertTrue(wheel.advance(fourth - 1).isEmpty());
+        assertEquals(List.of("fourth"), wheel.advance(fourth));
+    }
+
+    @Test
+    void testCancel_TaskNeverExpires() {
+        // Arrange
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("hold", START_MS + 500);
+
+        // Act
+        assertTrue(timeout.cancel());
+
+        // Assert
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(START_MS + 10_000).isEmpty());
+    }
+
+    @Test
+    void testSchedule_PastDeadlineExpiresOnNextAdvance() {
+        // Arrange
+        wheel.advance(START_MS + 5_000);
+
+        // Act
+        wheel.schedule("late", START_MS + 1_000);
+
+        // Assert
+        assertEquals(List.of("late"), wheel.advance(START_MS + 5_100));
+    }
+
+    @Test
+    void testAdvance_ManyTasksExpireOnceAndNeverEarly() {
+        // Arrange - a large population of deadlines spread over two hours
+        int tasks = 200_000;
+        long horizonMs = 2 * 60 * 60 * 1000L;
+        Random random = new Random(42);
+        long[] deadlines = new long[tasks];
+        HierarchicalTimingWheel<Integer> manyWheel = new HierarchicalTimingWheel<>(TICK_MS, START_MS);
+        for (int i = 0; i < tasks; i++) {
+            deadlines[i] = START_MS + (long) (random.nextDouble() * horizonMs);
+            manyWheel.schedule(i, deadlines[i]);
+        }
+        assertEquals(tasks, manyWheel.size());
+
+        // Act - advance in irregular steps
+        boolean[] fired = new boolean[tasks];
+        List<Integer> expired = new ArrayList<>();
+        for (long now = START_MS; now <= START_MS + horizonMs + TICK_MS; now += 1_000 + random.nextInt(30_000)) {
+            expired.clear();
+            expired.addAll(manyWheel.advance(now));
+            for (Integer task : expired) {
+                assertFalse(fired[task], "Task expired twice: " + task);
+                assertTrue(deadlines[task] <= now, "Task expired early: " + task);
+                fired[task] = true;
+            }
+        }
+        manyWheel.advance(START_MS + horizonMs + 60_000).forEach(task -> fired[task] = true);
+
+        // Assert
+        for (int i = 0; i < tasks; i++) {
+            assertTrue(fired[i], "Task never expired: " + i);
+        }
+        assertEquals(0, manyWheel.size());
+    }
+}
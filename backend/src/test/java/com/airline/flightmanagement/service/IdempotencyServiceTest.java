@@ -0,0 +1,185 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.IdempotencyRecord;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private IdempotencyService idempotencyService = new IdempotencyService(100, 60);
+
+    private CancelBookingResponse testResponse;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        testResponse = new CancelBookingResponse(1L, 1L, 1L, 2, SeatCategory.ECONOMY,
+                LocalDate.now().plusDays(30), new BigDecimal("200.00"), new BigDecimal("160.00"),
+                new BigDecimal("80.00"), BookingStatus.CANCELLED, "New York", "Los Angeles", "Test Airlines");
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    void testExecute_WithoutKeyAlwaysRuns() {
+        // Act
+        idempotencyService.execute(null, IdempotencyService.CANCEL_BOOKING, 1L, CancelBookingResponse.class, this::cancel);
+        idempotencyService.execute(" ", IdempotencyService.CANCEL_BOOKING, 1L, CancelBookingResponse.class, this::cancel);
+
+        // Assert
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void testExecute_RetryAnsweredFromCache() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CancelBookingResponse first = idempotencyService.execute("key-1", IdempotencyService.CANCEL_BOOKING,
+                1L, CancelBookingResponse.class, this::cancel);
+        CancelBookingResponse retry = idempotencyService.execute("key-1", IdempotencyService.CANCEL_BOOKING,
+                1L, CancelBookingResponse.class, this::cancel);
+
+        // Assert
+        assertSame(first, retry);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository, times(1)).findById("key-1");
+        verify(idempotencyRecordRepository).saveAndFlush(argThat(record ->
+                record.getResponseBody() != null && record.getResponseBody().contains("\"refundAmount\":160.00")));
+    }
+
+    @Test
+    void testExecute_RetryAnsweredFromStoredKey() {
+        // Arrange - the key was completed by another instance, so only the stored row knows it
+        when(idempotencyRecordRepository.findById("key-2")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        idempotencyService.execute("key-2", IdempotencyService.CANCEL_BOOKING, 1L, CancelBookingResponse.class, this::cancel);
+
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(stored.capture());
+        when(idempotencyRecordRepository.findById("key-2")).thenReturn(Optional.of(stored.getValue()));
+
+        IdempotencyService otherInstance = new IdempotencyService(100, 60);
+        ReflectionTestUtils.setField(otherInstance, "idempotencyRecordRepository", idempotencyRecordRepository);
+        ReflectionTestUtils.setField(otherInstance, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(otherInstance, "objectMapper", objectMapper);
+
+        // Act
+        CancelBookingResponse result = otherInstance.execute("key-2", IdempotencyService.CANCEL_BOOKING,
+                1L, CancelBookingResponse.class, this::cancel);
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertNotSame(testResponse, result);
+        assertEquals(1L, result.getBookingId());
+        assertEquals(0, new BigDecimal("160.00").compareTo(result.getRefundAmount()));
+        assertEquals(BookingStatus.CANCELLED, result.getBookingStatus());
+    }
+
+    @Test
+    void testExecute_KeyReusedForDifferentRequest() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("key-3")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        idempotencyService.execute("key-3", IdempotencyService.CANCEL_BOOKING, 1L, CancelBookingResponse.class, this::cancel);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            idempotencyService.execute("key-3", IdempotencyService.CANCEL_BOOKING, 2L,
+                    CancelBookingResponse.class, this::cancel);
+        });
+
+        assertEquals("Idempotency-Key key-3 was already used for a different request", exception.getMessage());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_KeyStillInProgress() {
+        // Arrange - claimed by another instance that has not committed its result yet
+        IdempotencyRecord record = new IdempotencyRecord("key-4", IdempotencyService.CANCEL_BOOKING, "hash");
+        when(idempotencyRecordRepository.findById("key-4")).thenReturn(Optional.of(record));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            idempotencyService.execute("key-4", IdempotencyService.CANCEL_BOOKING, 1L,
+                    CancelBookingResponse.class, this::cancel);
+        });
+
+        assertEquals("A request with Idempotency-Key key-4 is still being processed", exception.getMessage());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testExecute_FailedOperationIsNotRemembered() {
+        // Arrange
+        when(idempotencyRecordRepository.findById("key-5")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute("key-5",
+                IdempotencyService.CANCEL_BOOKING, 1L, CancelBookingResponse.class, () -> {
+                    throw new RuntimeException("Booking not found with id: 1");
+                }));
+        CancelBookingResponse retry = idempotencyService.execute("key-5", IdempotencyService.CANCEL_BOOKING,
+                1L, CancelBookingResponse.class, this::cancel);
+
+        // Assert - the retry ran the operation again
+        assertEquals(1, executions.get());
+        assertEquals(1L, retry.getBookingId());
+    }
+
+    @Test
+    void testExecute_KeyTooLong() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            idempotencyService.execute("k".repeat(256), IdempotencyService.CANCEL_BOOKING, 1L,
+                    CancelBookingResponse.class, this::cancel);
+        });
+
+        assertEquals("Idempotency-Key must be at most 255 characters", exception.getMessage());
+    }
+
+    private CancelBookingResponse cancel() {
+        executions.incrementAndGet();
+        return testResponse;
+    }
+}
@@ -0,0 +1,88 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.KeysetPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPaginationTest {
+
+    private final KeysetPagination keysetPagination = new KeysetPagination(20, 100);
+
+    @Test
+    void testPageSize_DefaultsAndCap() {
+        // Act & Assert
+        assertEquals(20, keysetPagination.pageSize(null));
+        assertEquals(7, keysetPagination.pageSize(7));
+        assertEquals(100, keysetPagination.pageSize(5_000));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> keysetPagination.pageSize(0));
+        assertEquals("Page size must be at least 1", exception.getMessage());
+    }
+
+    @Test
+    void testPage_TokenRoundTrip() {
+        // Arrange - page size 2 fetched with one look-ahead row
+        List<Long> rows = List.of(3L, 8L, 12L);
+
+        // Act
+        KeysetPage<String> page = keysetPagination.page(KeysetPagination.CARRIERS, rows, 2, id -> id, id -> "c" + id);
+
+        // Assert
+        assertEquals(List.of("c3", "c8"), page.getItems());
+        assertTrue(page.hasNextPage());
+        assertFalse(page.getNextPageToken().contains("8"), "token should be opaque");
+        assertEquals(8L, keysetPagination.afterKey(KeysetPagination.CARRIERS, page.getNextPageToken()));
+        assertEquals(PageRequest.ofSize(3), keysetPagination.fetchLimit(2));
+    }
+
+    @Test
+    void testPage_LastPageHasNoToken() {
+        // Act
+        KeysetPage<Long> page = keysetPagination.page(KeysetPagination.USERS, List.of(1L, 2L), 2, id -> id, id -> id);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertNull(page.getNextPageToken());
+    }
+
+    @Test
+    void testAfterKey_FirstPageAndInvalidTokens() {
+        // Arrange
+        String userToken = keysetPagination.page(KeysetPagination.USERS, List.of(1L, 2L), 1, id -> id, id -> id)
+                .getNextPageToken();
+
+        // Act & Assert
+        assertEquals(KeysetPagination.FIRST_KEY, keysetPagination.afterKey(KeysetPagination.FLIGHTS, null));
+        assertEquals(KeysetPagination.FIRST_KEY, keysetPagination.afterKey(KeysetPagination.FLIGHTS, ""));
+        for (String token : List.of("not base64!", "Zmxp", userToken)) {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> keysetPagination.afterKey(KeysetPagination.FLIGHTS, token));
+            assertEquals("Invalid page token", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testCompositePage_TokenRoundTrip() {
+        // Arrange - rows keyed by fare in cents and flight ID
+        List<long[]> rows = List.of(new long[]{9999, 4}, new long[]{15000, 2}, new long[]{15000, 7});
+
+        // Act
+        KeysetPage<long[]> page = keysetPagination.compositePage(KeysetPagination.FLIGHT_FARES, rows, 2, row -> row);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertArrayEquals(new long[]{15000, 2},
+                keysetPagination.afterKeys(KeysetPagination.FLIGHT_FARES, page.getNextPageToken(), 2));
+        assertNull(keysetPagination.afterKeys(KeysetPagination.FLIGHT_FARES, null, 2));
+        for (int length : new int[]{1, 3}) {
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> keysetPagination.afterKeys(KeysetPagination.FLIGHT_FARES, page.getNextPageToken(), length));
+            assertEquals("Invalid page token", exception.getMessage());
+        }
+        assertThrows(RuntimeException.class,
+                () -> keysetPagination.afterKey(KeysetPagination.FLIGHTS, page.getNextPageToken()));
+    }
+}
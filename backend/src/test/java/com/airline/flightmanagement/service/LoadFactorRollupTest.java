@@ -0,0 +1,117 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.DailyLoadFactor;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.WeeklyRouteLoadFactor;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.DailyFlightRollupRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rollup upserts against the database: bookings and cancellations keep the daily
+ * rollups in step, and reconciliation repairs a rollup that drifted from the bookings.
+ */
+@SpringBootTest(properties = "rollup.reconcile-interval-ms=3600000")
+class LoadFactorRollupTest {
+
+    private static final AtomicInteger ROUTE_NUMBER = new AtomicInteger();
+
+    @Autowired
+    private LoadFactorService loadFactorService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DailyFlightRollupRepository dailyFlightRollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private FlightDTO flight;
+    private User user;
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        Carrier carrier = carrierRepository.findAll().get(0);
+        String origin = "Rollup Origin " + ROUTE_NUMBER.incrementAndGet();
+        flight = flightService.registerFlight(new FlightDTO(null, carrier.getCarrierId(), carrier.getCarrierName(),
+                origin, "Rollup Destination", new BigDecimal("100.00"), 10, 80, 10));
+        user = userRepository.findAll().get(0);
+        dateOfTravel = LocalDate.now().plusDays(5);
+    }
+
+    @Test
+    void testBookAndCancel_RollupFollowsBookings() {
+        // Arrange
+        BookFlightResponse kept = book(3);
+        BookFlightResponse cancelled = book(2);
+
+        // Act
+        bookingService.cancelBooking(cancelled.getBookingId());
+        DailyLoadFactor day = loadFactorService.getFlightLoadFactors(flight.getFlightId(), dateOfTravel,
+                dateOfTravel).get(0);
+
+        // Assert
+        assertEquals(1, day.getBookings());
+        assertEquals(3, day.getSeatsBooked());
+        assertEquals(100, day.getSeatCapacity());
+        assertEquals(new BigDecimal("3.00"), day.getLoadFactorPercentage());
+        assertEquals(0, kept.getBookingAmount().compareTo(day.getRevenue()));
+
+        WeeklyRouteLoadFactor week = loadFactorService.getRouteLoadFactors(flight.getOrigin(),
+                flight.getDestination(), dateOfTravel, dateOfTravel).get(0);
+        assertEquals(3, week.getSeatsBooked());
+        assertEquals(new BigDecimal("3.00"), week.getLoadFactorPercentage());
+    }
+
+    @Test
+    void testReconcile_RepairsDriftedRollup() {
+        // Arrange - a booking whose rollup was overwritten with wrong totals
+        BookFlightResponse booking = book(4);
+        transactionTemplate.executeWithoutResult(status -> dailyFlightRollupRepository.setRollup(
+                flight.getFlightId(), dateOfTravel, 9, 9, new BigDecimal("1.00")));
+
+        // Act
+        int repaired = loadFactorService.reconcile();
+
+        // Assert
+        assertTrue(repaired >= 1);
+        DailyFlightRollup rollup = dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(
+                flight.getFlightId(), dateOfTravel, dateOfTravel).get(0);
+        assertEquals(1, rollup.getBookings());
+        assertEquals(4, rollup.getSeatsBooked());
+        assertEquals(0, booking.getBookingAmount().compareTo(rollup.getRevenue()));
+        assertEquals(0, loadFactorService.reconcile());
+    }
+
+    private BookFlightResponse book(int seats) {
+        return bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), seats,
+                SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+    }
+}
@@ -0,0 +1,250 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.DailyLoadFactor;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.WeeklyRouteLoadFactor;
+import com.airline.flightmanagement.entity.Booking;
+import com.airline.flightmanagement.entity.BookingStatus;
+import com.airline.flightmanagement.entity.DailyFlightRollup;
+import com.airline.flightmanagement.entity.SeatCategory;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.DailyFlightRollupRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoadFactorServiceTest {
+
+    @Mock
+    private DailyFlightRollupRepository dailyFlightRollupRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightRouteIndex flightRouteIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LoadFactorService loadFactorService;
+
+    @Test
+    void testBookingsSaved_OneRollupChangePerDeparture() {
+        // Arrange - flight 1 already has a rollup for the date, flight 2 does not
+        LocalDate date = LocalDate.now().plusDays(10);
+        List<Booking> bookings = List.of(booking(1L, date, 2, "200.00"), booking(1L, date, 1, "99.99"),
+                booking(2L, date, 3, "450.00"));
+        when(dailyFlightRollupRepository.incrementRollup(1L, date, 2, 3, new BigDecimal("299.99"))).thenReturn(1);
+        when(dailyFlightRollupRepository.incrementRollup(2L, date, 1, 3, new BigDecimal("450.00"))).thenReturn(0);
+
+        // Act
+        loadFactorService.bookingsSaved(bookings);
+
+        // Assert - only the missing rollup is created, under the flight lock
+        verify(flightRepository, never()).lockFlight(1L);
+        verify(flightRepository).lockFlight(2L);
+        verify(dailyFlightRollupRepository).addToRollup(2L, date, 1, 3, new BigDecimal("450.00"));
+        verify(dailyFlightRollupRepository, never()).addToRollup(eq(1L), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void testBookingCancelled_SubtractsFromRollup() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(10);
+        when(dailyFlightRollupRepository.incrementRollup(1L, date, -1, -2, new BigDecimal("-200.00")))
+                .thenReturn(1);
+
+        // Act
+        loadFactorService.bookingCancelled(booking(1L, date, 2, "200.00"));
+
+        // Assert
+        verify(dailyFlightRollupRepository).incrementRollup(1L, date, -1, -2, new BigDecimal("-200.00"));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testGetFlightLoadFactors_FillsDatesWithoutRollup() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(10);
+        when(flightRouteIndex.findById(1L)).thenReturn(flight(1L));
+        when(dailyFlightRollupRepository.findByFlightIdAndDateOfTravelBetween(1L, date, date.plusDays(1)))
+                .thenReturn(List.of(new DailyFlightRollup(1L, date.plusDays(1), 3, 40, new BigDecimal("4000.00"))));
+
+        // Act
+        List<DailyLoadFactor> days = loadFactorService.getFlightLoadFactors(1L, date, date.plusDays(1));
+
+        // Assert
+        assertEquals(2, days.size());
+        assertEquals(0, days.get(0).getSeatsBooked());
+        assertEquals(new BigDecimal("0.00"), days.get(0).getLoadFactorPercentage());
+        assertEquals(new BigDecimal("0.00"), days.get(0).getRevenue());
+        assertEquals(3, days.get(1).getBookings());
+        assertEquals(100, days.get(1).getSeatCapacity());
+        assertEquals(new BigDecimal("40.00"), days.get(1).getLoadFactorPercentage());
+        assertEquals(new BigDecimal("4000.00"), days.get(1).getRevenue());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testGetFlightLoadFactors_FlightNotFound() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(10);
+        when(flightRouteIndex.findById(99L)).thenReturn(null);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> loadFactorService.getFlightLoadFactors(99L, date, date));
+        assertEquals("Flight not found with id: 99", exception.getMessage());
+    }
+
+    @Test
+    void testGetFlightLoadFactors_RangeTooLong() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(10);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> loadFactorService.getFlightLoadFactors(1L, date, date.plusDays(366)));
+        assertEquals("Travel date range cannot span more than 366 days", exception.getMessage());
+        verifyNoInteractions(dailyFlightRollupRepository);
+    }
+
+    @Test
+    void testGetRouteLoadFactors_ClipsWeeksToRange() {
+        // Arrange - Wednesday to the following Tuesday spans two partial weeks
+        LocalDate wednesday = LocalDate.of(2030, 1, 2);
+        LocalDate tuesday = wednesday.plusDays(6);
+        when(flightRouteIndex.findByRoute("New York", "Chicago")).thenReturn(List.of(flight(1L), flight(2L)));
+        when(dailyFlightRollupRepository.sumByDateOfTravel(List.of(1L, 2L), wednesday, tuesday)).thenReturn(List.of(
+                new Object[]{wednesday.plusDays(1), 2L, 150L, new BigDecimal("1500.00")},
+                new Object[]{tuesday.minusDays(1), 1L, 100L, new BigDecimal("999.99")}));
+
+        // Act
+        List<WeeklyRouteLoadFactor> weeks = loadFactorService.getRouteLoadFactors("New York", "Chicago",
+                wednesday, tuesday);
+
+        // Assert
+        assertEquals(2, weeks.size());
+        assertEquals(wednesday, weeks.get(0).getWeekStart());
+        assertEquals(wednesday.plusDays(4), weeks.get(0).getWeekEnd());
+        assertEquals(1000, weeks.get(0).getSeatCapacity());
+        assertEquals(new BigDecimal("15.00"), weeks.get(0).getLoadFactorPercentage());
+        assertEquals(tuesday.minusDays(1), weeks.get(1).getWeekStart());
+        assertEquals(400, weeks.get(1).getSeatCapacity());
+        assertEquals(new BigDecimal("25.00"), weeks.get(1).getLoadFactorPercentage());
+        assertEquals(new BigDecimal("999.99"), weeks.get(1).getRevenue());
+    }
+
+    @Test
+    void testGetRouteLoadFactors_NoFlightsOnRoute() {
+        // Arrange
+        LocalDate date = LocalDate.of(2030, 1, 7);
+        when(flightRouteIndex.findByRoute("Nowhere", "Chicago")).thenReturn(List.of());
+
+        // Act
+        List<WeeklyRouteLoadFactor> weeks = loadFactorService.getRouteLoadFactors("Nowhere", "Chicago",
+                date, date.plusDays(6));
+
+        // Assert
+        assertEquals(1, weeks.size());
+        assertEquals(0, weeks.get(0).getSeatCapacity());
+        assertEquals(new BigDecimal("0.00"), weeks.get(0).getLoadFactorPercentage());
+        verifyNoInteractions(dailyFlightRollupRepository);
+    }
+
+    @Test
+    void testReconcile_RepairsOnlyDriftedRollups() {
+        // Arrange
+        LocalDate date = LocalDate.now().plusDays(10);
+        when(bookingRepository.sumActiveBookingsByDepartureFrom(any(LocalDate.class))).thenReturn(List.of(
+                new Object[]{1L, date, 2L, 4L, new BigDecimal("400.00")},
+                new Object[]{2L, date, 2L, 3L, new BigDecimal("300.00")},
+                new Object[]{4L, date, 1L, 1L, new BigDecimal("150.00")}));            // rollup missing
+        DailyFlightRollup drifted = new DailyFlightRollup(2L, date, 1, 1, new BigDecimal("100.00"));
+        DailyFlightRollup cancelled = new DailyFlightRollup(3L, date, 1, 2, new BigDecimal("200.00"));
+        when(dailyFlightRollupRepository.findByDateOfTravelGreaterThanEqual(any(LocalDate.class))).thenReturn(List.of(
+                new DailyFlightRollup(1L, date, 2, 4, new BigDecimal("400.00")),     // in step
+                drifted, cancelled));                                                 // bookings all cancelled
+        when(dailyFlightRollupRepository.lockRollup(2L, date)).thenReturn(Optional.of(drifted));
+        when(dailyFlightRollupRepository.lockRollup(3L, date)).thenReturn(Optional.of(cancelled));
+        when(dailyFlightRollupRepository.lockRollup(4L, date)).thenReturn(Optional.empty());
+        when(bookingRepository.sumActiveBookingsOfDeparture(2L, date)).thenReturn(List.<Object[]>of(
+                new Object[]{2L, 3L, new BigDecimal("300.00")}));
+        when(bookingRepository.sumActiveBookingsOfDeparture(3L, date)).thenReturn(List.<Object[]>of(
+                new Object[]{0L, 0L, BigDecimal.ZERO}));
+        when(bookingRepository.sumActiveBookingsOfDeparture(4L, date)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 1L, new BigDecimal("150.00")}));
+
+        // Act
+        int repaired = loadFactorService.reconcile();
+
+        // Assert - only the drifted departures are locked, each flight before its rollup
+        assertEquals(3, repaired);
+        verify(dailyFlightRollupRepository).setRollup(2L, date, 2, 3, new BigDecimal("300.00"));
+        verify(dailyFlightRollupRepository).setRollup(3L, date, 0, 0, new BigDecimal("0.00"));
+        verify(dailyFlightRollupRepository).setRollup(4L, date, 1, 1, new BigDecimal("150.00"));
+        verify(dailyFlightRollupRepository, never()).setRollup(eq(1L), any(), anyInt(), anyInt(), any());
+        verify(flightRepository, never()).lockFlight(1L);
+        verify(dailyFlightRollupRepository, never()).lockRollup(eq(1L), any());
+        InOrder inOrder = inOrder(flightRepository, dailyFlightRollupRepository);
+        inOrder.verify(flightRepository).lockFlight(4L);
+        inOrder.verify(dailyFlightRollupRepository).lockRollup(4L, date);
+    }
+
+    @Test
+    void testReconcile_SkipsDepartureRepairedByBookingsSinceCounted() {
+        // Arrange - a booking committed after the bookings were summed brings the rollup back in step
+        LocalDate date = LocalDate.now().plusDays(10);
+        DailyFlightRollup rollup = new DailyFlightRollup(1L, date, 3, 5, new BigDecimal("500.00"));
+        when(bookingRepository.sumActiveBookingsByDepartureFrom(any(LocalDate.class))).thenReturn(List.<Object[]>of(
+                new Object[]{1L, date, 2L, 4L, new BigDecimal("400.00")}));
+        when(dailyFlightRollupRepository.findByDateOfTravelGreaterThanEqual(any(LocalDate.class)))
+                .thenReturn(List.of(rollup));
+        when(dailyFlightRollupRepository.lockRollup(1L, date)).thenReturn(Optional.of(rollup));
+        when(bookingRepository.sumActiveBookingsOfDeparture(1L, date)).thenReturn(List.<Object[]>of(
+                new Object[]{3L, 5L, new BigDecimal("500.00")}));
+
+        // Act
+        int repaired = loadFactorService.reconcile();
+
+        // Assert
+        assertEquals(0, repaired);
+        verify(dailyFlightRollupRepository, never()).setRollup(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    private static Booking booking(Long flightId, LocalDate date, int seats, String amount) {
+        Booking booking = new Booking();
+        booking.setFlightId(flightId);
+        booking.setDateOfTravel(date);
+        booking.setNoOfSeats(seats);
+        booking.setSeatCategory(SeatCategory.ECONOMY);
+        booking.setBookingAmount(new BigDecimal(amount));
+        booking.setBookingStatus(BookingStatus.BOOKED);
+        return booking;
+    }
+
+    private static FlightDTO flight(Long flightId) {
+        return new FlightDTO(flightId, 1L, "Test Airlines", "New York", "Chicago", new BigDecimal("100.00"),
+                10, 80, 10);
+    }
+}
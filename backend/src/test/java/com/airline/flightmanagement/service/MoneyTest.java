@@ -0,0 +1,153 @@
+package com.airline.flightmanagement.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class MoneyTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void testApplyRate_MatchesBigDecimalHalfUp() {
+        // Arrange - random amounts of either sign and random rates, including exact half-cent ties
+        Random random = new Random(20240917L);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            long cents = random.nextLong() % 10_000_000_000L;
+            long basisPoints = random.nextInt(4) == 0 ? 5_000 : random.nextInt(200_000);
+
+            // Act
+            long result = Money.applyRate(cents, basisPoints);
+
+            // Assert
+            BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                    .multiply(BigDecimal.valueOf(basisPoints, 4))
+                    .setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Money.toBigDecimal(result), "cents=" + cents + " basisPoints=" + basisPoints);
+        }
+    }
+
+    @Test
+    void testRefund_MatchesPreviousCalculation() {
+        // Arrange - booking amounts and carrier refund percentages as stored (scale 2)
+        Random random = new Random(7L);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal bookingAmount = BigDecimal.valueOf(1 + random.nextInt(99_999_999), 2);
+            BigDecimal refundPercentage = BigDecimal.valueOf(1 + random.nextInt(9_999), 2);
+
+            // Act
+            BigDecimal refund = Money.toBigDecimal(Money.applyRate(Money.toCents(bookingAmount),
+                    Money.toBasisPoints(refundPercentage)));
+
+            // Assert
+            BigDecimal expected = bookingAmount.multiply(refundPercentage)
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            assertEquals(expected, refund, "amount=" + bookingAmount + " refund%=" + refundPercentage);
+        }
+    }
+
+    @Test
+    void testBookingPrice_MatchesPreviousCalculation() {
+        // Arrange - fares, seat counts and summed discount percentages as the booking path uses them
+        Random random = new Random(11L);
+        int[] ratePercents = {0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55, 60};
+
+        for (int i = 0; i < SAMPLES; i++) {
+            BigDecimal airFare = BigDecimal.valueOf(1 + random.nextInt(9_999_999), 2);
+            int seats = 1 + random.nextInt(10);
+            int percent = ratePercents[random.nextInt(ratePercents.length)];
+
+            // Act
+            long fareCents = Money.toCents(airFare);
+            long originalCents = Money.times(fareCents, seats);
+            long discountCents = Math.min(Money.applyRate(fareCents, (long) percent * 100 * seats), originalCents);
+
+            // Assert
+            BigDecimal original = airFare.multiply(BigDecimal.valueOf(seats));
+            BigDecimal discount = airFare.multiply(BigDecimal.valueOf(percent / 100.0))
+                    .multiply(BigDecimal.valueOf(seats))
+                    .min(original)
+                    .setScale(2, RoundingMode.HALF_UP);
+            assertEquals(discount, Money.toBigDecimal(discountCents), "fare=" + airFare + " seats=" + seats);
+            assertEquals(original.subtract(discount), Money.toBigDecimal(originalCents - discountCents));
+        }
+    }
+
+    @Test
+    void testConversions() {
+        // Act & Assert
+        assertEquals(29_999L, Money.toCents(new BigDecimal("299.99")));
+        assertEquals(30_000L, Money.toCents(new BigDecimal("300")));
+        assertEquals(1_250, Money.toBasisPoints(new BigDecimal("12.50")));
+        assertEquals(new BigDecimal("299.99"), Money.toBigDecimal(29_999L));
+        assertEquals(new BigDecimal("-0.05"), Money.toBigDecimal(-5L));
+    }
+
+    @Test
+    void testOverflowIsReported() {
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Money.applyRate(Long.MAX_VALUE / 2, 10_000));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testApplyRate_DoesNotAllocate() {
+        // Arrange
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+        BigDecimal airFare = new BigDecimal("299.99");
+        priceWithMoney(29_999L, 10_000);
+        priceWithBigDecimal(airFare, 10_000);
+
+        // Act
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long moneyChecksum = priceWithMoney(29_999L, SAMPLES);
+        long moneyBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        long bigDecimalChecksum = priceWithBigDecimal(airFare, SAMPLES);
+        long bigDecimalBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert - same prices, and the fixed-point path allocates nothing per booking
+        assertEquals(bigDecimalChecksum, moneyChecksum);
+        assertTrue(moneyBytes < 64 * 1024, "fixed-point pricing allocated " + moneyBytes + " bytes");
+        assertTrue(bigDecimalBytes > (long) SAMPLES * 16, "BigDecimal pricing allocated " + bigDecimalBytes + " bytes");
+    }
+
+    private long priceWithMoney(long fareCents, int bookings) {
+        long checksum = 0;
+        for (int i = 0; i < bookings; i++) {
+            int seats = 1 + (i & 7);
+            long originalCents = Money.times(fareCents, seats);
+            long discountCents = Money.applyRate(fareCents, 3_500L * seats);
+            checksum += originalCents - discountCents;
+        }
+        return checksum;
+    }
+
+    private long priceWithBigDecimal(BigDecimal airFare, int bookings) {
+        long checksum = 0;
+        for (int i = 0; i < bookings; i++) {
+            int seats = 1 + (i & 7);
+            BigDecimal original = airFare.multiply(BigDecimal.valueOf(seats));
+            BigDecimal discount = airFare.multiply(BigDecimal.valueOf(0.15))
+                    .add(airFare.multiply(BigDecimal.valueOf(0.20)))
+                    .multiply(BigDecimal.valueOf(seats))
+                    .setScale(2, RoundingMode.HALF_UP);
+            checksum += original.subtract(discount).movePointRight(2).longValueExact();
+        }
+        return checksum;
+    }
+}
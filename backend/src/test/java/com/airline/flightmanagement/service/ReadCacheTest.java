@@ -0,0 +1,273 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.config.CacheConfig;
+import com.airline.flightmanagement.dto.CarrierDTO;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.entity.Carrier;
+import com.airline.flightmanagement.entity.DiscountType;
+import com.airline.flightmanagement.entity.Flight;
+import com.airline.flightmanagement.entity.RefundType;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the flight and carrier services behind the cache proxies: repeated reads are served from
+ * the cache, and every write evicts exactly the entries it made stale.
+ */
+@SpringJUnitConfig(classes = {CacheConfig.class, FlightService.class, CarrierService.class})
+@TestPropertySource(properties = "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=600s,recordStats")
+class ReadCacheTest {
+
+    @MockBean
+    private FlightRepository flightRepository;
+
+    @MockBean
+    private CarrierRepository carrierRepository;
+
+    @MockBean
+    private FareQuoteService fareQuoteService;
+
+    @MockBean
+    private DiscountPolicyService discountPolicyService;
+
+    @MockBean
+    private KeysetPagination keysetPagination;
+
+    @MockBean
+    private FlightRouteIndex flightRouteIndex;
+
+    @MockBean
+    private SeatInventory seatInventory;
+
+    @MockBean
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @MockBean
+    private BookingStatsService bookingStatsService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CarrierService carrierService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Carrier carrier;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        carrier = new Carrier();
+        carrier.setCarrierId(1L);
+        carrier.setCarrierName("Test Airlines");
+        carrier.setDiscountPercentage(new BigDecimal("10.00"));
+        carrier.setRefundPercentage(new BigDecimal("20.00"));
+        carrier.setDiscountType(DiscountType.SILVER);
+        carrier.setRefundType(RefundType.TEN_DAYS);
+        carrier.setIsActive(true);
+
+        flight = new Flight();
+        flight.setFlightId(1L);
+        flight.setCarrier(carrier);
+        flight.setOrigin("New York");
+        flight.setDestination("Los Angeles");
+        flight.setAirFare(new BigDecimal("299.99"));
+        flight.setSeatCapacityBusiness(20);
+        flight.setSeatCapacityEconomy(150);
+        flight.setSeatCapacityExecutive(10);
+
+        when(carrierRepository.findById(1L)).thenReturn(Optional.of(carrier));
+        when(carrierRepository.findByCarrierName("Test Airlines")).thenReturn(Optional.of(carrier));
+        when(carrierRepository.findByIsActiveTrue()).thenReturn(List.of(carrier));
+        when(carrierRepository.save(any(Carrier.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(flightRepository.findFlightDTO(1L)).thenAnswer(invocation -> Optional.of(toDTO(flight)));
+        when(flightRepository.save(any(Flight.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(flightRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void testGetFlightById_ServedFromCacheUntilUpdated() {
+        // Act
+        flightService.getFlightById(1L);
+        Optional<FlightDTO> cached = flightService.getFlightById(1L);
+        flightService.updateFlight(1L, toDTO(flight));
+        flightService.getFlightById(1L);
+
+        // Assert
+        assertTrue(cached.isPresent());
+        assertEquals("Test Airlines", cached.get().getCarrierName());
+        verify(flightRepository, times(2)).findFlightDTO(1L);
+    }
+
+    @Test
+    void testGetFlightById_MissingFlightIsNotCached() {
+        // Arrange
+        when(flightRepository.findFlightDTO(2L)).thenReturn(Optional.empty());
+
+        // Act
+        flightService.getFlightById(2L);
+        Optional<FlightDTO> result = flightService.getFlightById(2L);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(flightRepository, times(2)).findFlightDTO(2L);
+    }
+
+    @Test
+    void testDeleteFlight_EvictsOnlyThatFlight() {
+        // Arrange
+        Flight other = new Flight();
+        other.setFlightId(2L);
+        other.setCarrier(carrier);
+        when(flightRepository.findFlightDTO(2L)).thenReturn(Optional.of(toDTO(other)));
+        flightService.getFlightById(1L);
+        flightService.getFlightById(2L);
+
+        // Act
+        flightService.deleteFlight(1L);
+        flightService.getFlightById(1L);
+        flightService.getFlightById(2L);
+
+        // Assert
+        verify(flightRepository, times(2)).findFlightDTO(1L);
+        verify(flightRepository, times(1)).findFlightDTO(2L);
+    }
+
+    @Test
+    void testCarrierReads_ServedFromCache() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            carrierService.getCarrierById(1L);
+            carrierService.getCarrierByName("Test Airlines");
+            carrierService.getActiveCarriers();
+        }
+
+        // Assert
+        verify(carrierRepository, times(1)).findById(1L);
+        verify(carrierRepository, times(1)).findByCarrierName("Test Airlines");
+        verify(carrierRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void testUpdateCarrier_RenameEvictsCarrierEntriesAndItsFlights() {
+        // Arrange
+        FlightDTO cachedFlight = flightService.getFlightById(1L).orElseThrow();
+        carrierService.getCarrierById(1L);
+        carrierService.getCarrierByName("Test Airlines");
+        carrierService.getActiveCarriers();
+        when(flightRouteIndex.findByCarrierId(1L)).thenReturn(List.of(cachedFlight));
+        CarrierDTO renamed = carrierUpdate("Renamed Airlines");
+
+        // Act
+        carrierService.updateCarrier(1L, renamed);
+        CarrierDTO byId = carrierService.getCarrierById(1L);
+        FlightDTO reloadedFlight = flightService.getFlightById(1L).orElseThrow();
+        carrierService.getCarrierByName("Test Airlines");
+        carrierService.getActiveCarriers();
+
+        // Assert
+        assertEquals("Renamed Airlines", byId.getCarrierName());
+        assertEquals("Renamed Airlines", reloadedFlight.getCarrierName());
+        verify(carrierRepository, times(2)).findByCarrierName("Test Airlines");
+        verify(carrierRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    void testUpdateCarrier_SameNameKeepsFlightsCached() {
+        // Arrange
+        flightService.getFlightById(1L);
+        carrierService.getCarrierById(1L);
+        CarrierDTO update = carrierUpdate("Test Airlines");
+
+        // Act
+        carrierService.updateCarrier(1L, update);
+        flightService.getFlightById(1L);
+
+        // Assert
+        verify(flightRepository, times(1)).findFlightDTO(1L);
+        verify(flightRouteIndex, never()).findByCarrierId(1L);
+    }
+
+    @Test
+    void testDeleteCarrier_EvictsCarrierEntries() {
+        // Arrange
+        carrierService.getCarrierById(1L);
+        carrierService.getCarrierByName("Test Airlines");
+        carrierService.getActiveCarriers();
+
+        // Act
+        carrierService.deleteCarrier(1L);
+        carrierService.getCarrierById(1L);
+        carrierService.getCarrierByName("Test Airlines");
+        carrierService.getActiveCarriers();
+
+        // Assert
+        verify(carrierRepository, times(3)).findById(1L); // Two reads and the delete
+        verify(carrierRepository, times(2)).findByCarrierName("Test Airlines");
+        verify(carrierRepository, times(2)).findByIsActiveTrue();
+    }
+
+    @Test
+    void testCacheMetrics_CountHitsMissesAndEvictions() {
+        // Arrange
+        MeterRegistry registry = new SimpleMeterRegistry();
+        CaffeineCache flights = (CaffeineCache) ((TransactionAwareCacheDecorator) cacheManager
+                .getCache(CacheConfig.FLIGHTS)).getTargetCache();
+        new CaffeineCacheMeterBinderProvider().getMeterBinder(flights, List.of()).bindTo(registry);
+        double hitsBefore = registry.get("cache.gets").tag("result", "hit").functionCounter().count();
+        double missesBefore = registry.get("cache.gets").tag("result", "miss").functionCounter().count();
+
+        // Act
+        flightService.getFlightById(1L);
+        flightService.getFlightById(1L);
+        flightService.getFlightById(1L);
+
+        // Assert
+        assertEquals(2, registry.get("cache.gets").tag("result", "hit").functionCounter().count() - hitsBefore);
+        assertEquals(1, registry.get("cache.gets").tag("result", "miss").functionCounter().count() - missesBefore);
+        assertEquals(1, registry.get("cache.size").gauge().value());
+    }
+
+    private CarrierDTO carrierUpdate(String carrierName) {
+        CarrierDTO update = new CarrierDTO();
+        update.setCarrierName(carrierName);
+        update.setDiscountPercentage(carrier.getDiscountPercentage());
+        update.setRefundPercentage(carrier.getRefundPercentage());
+        update.setDiscountType(carrier.getDiscountType());
+        update.setRefundType(carrier.getRefundType());
+        update.setDescription("Updated description");
+        return update;
+    }
+
+    private FlightDTO toDTO(Flight source) {
+        return new FlightDTO(source.getFlightId(), source.getCarrier().getCarrierId(),
+                source.getCarrier().getCarrierName(), source.getOrigin(), source.getDestination(),
+                source.getAirFare(), source.getSeatCapacityBusiness(), source.getSeatCapacityEconomy(),
+                source.getSeatCapacityExecutive());
+    }
+}
@@ -0,0 +1,148 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.SeatHoldResponse;
+import com.airline.flightmanagement.entity.SeatCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private AvailabilityCalendarService availabilityCalendarService;
+
+    @InjectMocks
+    private SeatHoldService seatHoldService = new SeatHoldService(100);
+
+    private BookFlightRequest testRequest;
+
+    @BeforeEach
+    void setUp() {
+        testRequest = new BookFlightRequest(1L, 2, SeatCategory.BUSINESS, LocalDate.now().plusDays(10));
+    }
+
+    @Test
+    void testCreateHold_ReservesSeats() {
+        // Act
+        SeatHoldResponse hold = seatHoldService.createHold(testRequest, 1L, 60L);
+
+        // Assert
+        assertNotNull(hold.getHoldId());
+        assertEquals(1L, hold.getFlightId());
+        assertEquals(2, hold.getNoOfSeats());
+        assertEquals(SeatCategory.BUSINESS, hold.getSeatCategory());
+        assertEquals(1, seatHoldService.getActiveHoldCount());
+        verify(bookingService).holdSeats(testRequest, 1L);
+    }
+
+    @Test
+    void testCreateHold_InsufficientSeats() {
+        // Arrange
+        doThrow(new RuntimeException("Insufficient seats available. Requested: 2, Available: 1"))
+                .when(bookingService).holdSeats(testRequest, 1L);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            seatHoldService.createHold(testRequest, 1L, null);
+        });
+
+        assertEquals("Insufficient seats available. Requested: 2, Available: 1", exception.getMessage());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    @Test
+    void testCreateHold_TtlOutOfRange() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            seatHoldService.createHold(testRequest, 1L, 7200L);
+        });
+
+        assertEquals("Hold TTL must be between 1 and 1800 seconds", exception.getMessage());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void testConfirmHold_BooksHeldSeats() {
+        // Arrange
+        BookFlightResponse booking = new BookFlightResponse();
+        booking.setBookingId(7L);
+        when(bookingService.bookHeldSeats(testRequest, 1L)).thenReturn(booking);
+        SeatHoldResponse hold = seatHoldService.createHold(testRequest, 1L, 60L);
+
+        // Act
+        BookFlightResponse result = seatHoldService.confirmHold(hold.getHoldId(), 1L);
+
+        // Assert - the hold is consumed and its seats are not handed back
+        assertEquals(7L, result.getBookingId());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+        assertEquals(0, seatHoldService.expireHolds(System.currentTimeMillis() + 120_000));
+        verify(seatInventory, never()).release(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testConfirmHold_WrongUser() {
+        // Arrange
+        SeatHoldResponse hold = seatHoldService.createHold(testRequest, 1L, 60L);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            seatHoldService.confirmHold(hold.getHoldId(), 2L);
+        });
+
+        assertEquals("Seat hold " + hold.getHoldId() + " does not belong to user 2", exception.getMessage());
+        assertEquals(1, seatHoldService.getActiveHoldCount());
+        verify(bookingService, never()).bookHeldSeats(any(), any());
+    }
+
+    @Test
+    void testReleaseHold_ReturnsSeats() {
+        // Arrange
+        SeatHoldResponse hold = seatHoldService.createHold(testRequest, 1L, 60L);
+
+        // Act
+        seatHoldService.releaseHold(hold.getHoldId(), 1L);
+
+        // Assert
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+        verify(seatInventory).release(1L, testRequest.getDateOfTravel(), SeatCategory.BUSINESS, 2);
+        verify(availabilityCalendarService).invalidateFlight(1L);
+        assertThrows(RuntimeException.class, () -> seatHoldService.getHold(hold.getHoldId()));
+    }
+
+    @Test
+    void testExpireHolds_ReleasesSeatsAfterTtl() {
+        // Arrange
+        SeatHoldResponse hold = seatHoldService.createHold(testRequest, 1L, 30L);
+        long now = System.currentTimeMillis();
+
+        // Act & Assert - still live before the TTL, released once it has passed
+        assertEquals(0, seatHoldService.expireHolds(now + 10_000));
+        assertEquals(1, seatHoldService.expireHolds(now + 31_000));
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+        verify(seatInventory, times(1)).release(1L, testRequest.getDateOfTravel(), SeatCategory.BUSINESS, 2);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            seatHoldService.confirmHold(hold.getHoldId(), 1L);
+        });
+        assertEquals("Seat hold not found or expired: " + hold.getHoldId(), exception.getMessage());
+    }
+}
@@ -0,0 +1,276 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.dto.SeatAvailabilityResponse;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.BookingRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.FlightScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private FlightRouteIndex flightRouteIndex;
+
+    @InjectMocks
+    private SeatInventory seatInventory;
+
+    private Flight testFlight;
+    private LocalDate dateOfTravel;
+
+    @BeforeEach
+    void setUp() {
+        testFlight = new Flight();
+        testFlight.setFlightId(1L);
+        testFlight.setAirFare(new BigDecimal("299.99"));
+        testFlight.setSeatCapacityEconomy(10);
+        testFlight.setSeatCapacityBusiness(4);
+        testFlight.setSeatCapacityExecutive(2);
+
+        dateOfTravel = LocalDate.now().plusDays(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testTryReserve_LoadsScheduleOnceAndAdmitsWithinCapacity() {
+        // Arrange
+        FlightSchedule schedule = new FlightSchedule(1L, dateOfTravel, 10, 4, 2);
+        schedule.setBookedCountEconomy(7);
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.of(schedule));
+
+        // Act & Assert
+        assertTrue(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 3));
+        assertFalse(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 1));
+        assertEquals(0, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+        assertEquals(4, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.BUSINESS));
+
+        verify(flightScheduleRepository, times(1)).findByFlightIdAndDateOfTravel(1L, dateOfTravel);
+    }
+
+    @Test
+    void testTryReserve_NoScheduleUsesFlightCapacity() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.EXECUTIVE, 2));
+        assertFalse(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.EXECUTIVE, 1));
+    }
+
+    @Test
+    void testTryReserve_ReleasedWhenTransactionRollsBack() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        assertTrue(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.BUSINESS, 4));
+        assertEquals(0, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.BUSINESS));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Assert
+        assertEquals(4, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.BUSINESS));
+    }
+
+    @Test
+    void testFlightUpdated_AppliesCapacityAfterCommit() {
+        // Arrange - 8 economy seats booked on a departure already in memory
+        FlightSchedule schedule = new FlightSchedule(1L, dateOfTravel, 10, 4, 2);
+        schedule.setBookedCountEconomy(8);
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.of(schedule));
+        assertEquals(2, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+        testFlight.setSeatCapacityEconomy(12);
+        testFlight.setSeatCapacityBusiness(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventory.flightUpdated(testFlight);
+        assertEquals(2, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+        verify(flightScheduleRepository, never()).updateTotalCapacity(any(), any(), anyInt(), anyInt(), anyInt());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+
+        // Assert - admission, availability and the schedule rows all follow the new capacity
+        assertEquals(4, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+        assertEquals(Integer.valueOf(2), seatInventory.getAvailability(1L, dateOfTravel).getAvailableBusiness());
+        assertFalse(seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.BUSINESS, 3));
+        verify(flightScheduleRepository).updateTotalCapacity(1L, LocalDate.now(), 12, 2, 2);
+    }
+
+    @Test
+    void testRelease_AppliedOnlyAfterCommit() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.empty());
+        seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 6);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        seatInventory.release(1L, dateOfTravel, SeatCategory.ECONOMY, 6);
+
+        // Assert - still held until the cancellation commits
+        assertEquals(4, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(10, seatInventory.getAvailableSeats(testFlight, dateOfTravel, SeatCategory.ECONOMY));
+    }
+
+    @Test
+    void testGetAvailability_NeverReadsDatabase() {
+        // Arrange - one departure in memory, one never booked
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.empty());
+        seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 3);
+        clearInvocations(flightScheduleRepository);
+        when(flightRouteIndex.findById(1L)).thenReturn(new FlightDTO(1L, 1L, "Test Airlines", "New York",
+                "Chicago", new BigDecimal("299.99"), 4, 10, 2));
+
+        // Act
+        SeatAvailabilityResponse booked = seatInventory.getAvailability(1L, dateOfTravel);
+        SeatAvailabilityResponse unbooked = seatInventory.getAvailability(1L, dateOfTravel.plusDays(1));
+
+        // Assert - the unbooked departure is answered from the flight's capacity and not kept
+        assertEquals(7, booked.getAvailableEconomy());
+        assertEquals(10, unbooked.getAvailableEconomy());
+        assertEquals(4, unbooked.getAvailableBusiness());
+        assertEquals(2, unbooked.getAvailableExecutive());
+        assertNull(seatInventory.peekAvailability(1L, dateOfTravel.plusDays(1)));
+        verifyNoInteractions(flightRepository, flightScheduleRepository);
+    }
+
+    @Test
+    void testGetAvailability_FlightNotFound() {
+        // Arrange
+        when(flightRouteIndex.findById(99L)).thenReturn(null);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            seatInventory.getAvailability(99L, dateOfTravel);
+        });
+
+        assertEquals("Flight not found with id: 99", exception.getMessage());
+    }
+
+    @Test
+    void testGetAvailability_DateOutsideBookingHorizon() {
+        // Act & Assert
+        RuntimeException past = assertThrows(RuntimeException.class,
+                () -> seatInventory.getAvailability(1L, LocalDate.now().minusDays(1)));
+        RuntimeException tooFar = assertThrows(RuntimeException.class,
+                () -> seatInventory.getAvailability(1L, LocalDate.now().plusDays(367)));
+
+        assertEquals("Date of travel must not be in the past", past.getMessage());
+        assertEquals("Date of travel cannot be more than 366 days ahead", tooFar.getMessage());
+        verifyNoInteractions(flightRouteIndex);
+    }
+
+    @Test
+    void testPeekAvailableSeats_NeverReadsDatabase() {
+        // Arrange
+        FlightSchedule schedule = new FlightSchedule(1L, dateOfTravel, 10, 4, 2);
+        schedule.setBookedCountBusiness(3);
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.of(schedule));
+        seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 2);
+
+        FlightDTO flight = new FlightDTO();
+        flight.setFlightId(1L);
+        flight.setSeatCapacityEconomy(10);
+        flight.setSeatCapacityBusiness(4);
+        flight.setSeatCapacityExecutive(2);
+
+        // Act & Assert
+        assertEquals(8, seatInventory.peekAvailableSeats(flight, dateOfTravel, SeatCategory.ECONOMY));
+        assertEquals(1, seatInventory.peekAvailableSeats(flight, dateOfTravel, SeatCategory.BUSINESS));
+        assertEquals(10, seatInventory.peekAvailableSeats(flight, dateOfTravel.plusDays(1), SeatCategory.ECONOMY));
+        verify(flightScheduleRepository, times(1)).findByFlightIdAndDateOfTravel(any(), any());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testFlush_CreatesMissingScheduleAndWritesCounts() {
+        // Arrange
+        when(flightScheduleRepository.findByFlightIdAndDateOfTravel(1L, dateOfTravel))
+                .thenReturn(Optional.empty());
+        when(flightScheduleRepository.updateBookedCounts(1L, dateOfTravel, 3, 0, 1))
+                .thenReturn(0, 1);
+        seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.ECONOMY, 3);
+        seatInventory.tryReserve(testFlight, dateOfTravel, SeatCategory.EXECUTIVE, 1);
+
+        // Act
+        seatInventory.flush();
+        seatInventory.flush(); // Nothing left to write
+
+        // Assert
+        verify(flightScheduleRepository).mergeSchedule(1L, dateOfTravel, 10, 4, 2);
+        verify(flightScheduleRepository, times(2)).updateBookedCounts(1L, dateOfTravel, 3, 0, 1);
+    }
+
+    @Test
+    void testReconcile_RepairsDriftedSchedules() {
+        // Arrange - schedule counters lag behind the committed bookings
+        FlightSchedule drifted = new FlightSchedule(1L, dateOfTravel, 10, 4, 2);
+        drifted.setBookedCountEconomy(1);
+        FlightSchedule accurate = new FlightSchedule(2L, dateOfTravel, 10, 4, 2);
+        when(bookingRepository.sumBookedSeatsByDeparture()).thenReturn(Collections.singletonList(
+                new Object[] {1L, dateOfTravel, SeatCategory.ECONOMY, 5L}));
+        when(flightScheduleRepository.findAll()).thenReturn(Arrays.asList(drifted, accurate));
+        when(flightScheduleRepository.findByDateOfTravelGreaterThanEqual(any(LocalDate.class)))
+                .thenReturn(Arrays.asList(drifted, accurate));
+
+        // Act
+        seatInventory.reconcile();
+
+        // Assert
+        verify(flightScheduleRepository).updateBookedCounts(1L, dateOfTravel, 5, 0, 0);
+        verify(flightScheduleRepository, never()).updateBookedCounts(eq(2L), any(), anyInt(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,157 @@
+package com.airline.flightmanagement.service;
+
+import com.airline.flightmanagement.dto.BookFlightRequest;
+import com.airline.flightmanagement.dto.BookFlightResponse;
+import com.airline.flightmanagement.dto.CancelBookingResponse;
+import com.airline.flightmanagement.dto.CarrierDTO;
+import com.airline.flightmanagement.dto.FlightDTO;
+import com.airline.flightmanagement.entity.*;
+import com.airline.flightmanagement.repository.CarrierRepository;
+import com.airline.flightmanagement.repository.FlightRepository;
+import com.airline.flightmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that Carrier and Flight rows are served from the second-level cache once warm, and
+ * that updates through the services are visible to the next read.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "seat-inventory.flush-interval-ms=3600000"
+})
+class SecondLevelCacheTest {
+
+    private static final AtomicInteger CARRIER_NUMBER = new AtomicInteger();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarrierService carrierService;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private CarrierRepository carrierRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Carrier carrier;
+    private Flight flight;
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        carrier = carrierRepository.save(new Carrier("Cached Airline " + CARRIER_NUMBER.incrementAndGet(),
+                new BigDecimal("10.00"), new BigDecimal("40.00"), DiscountType.SILVER, RefundType.TEN_DAYS));
+        flight = flightRepository.save(new Flight(carrier, "Cache Origin", "Cache Destination",
+                new BigDecimal("100.00"), 10, 20, 5));
+        user = userRepository.findAll().get(0);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testCancelBooking_ReadsFlightAndCarrierFromCacheOnceWarm() {
+        // Arrange - the first cancellation loads the flight and carrier
+        bookingService.cancelBooking(book(LocalDate.now().plusDays(10)).getBookingId());
+        BookFlightResponse booking = book(LocalDate.now().plusDays(11));
+        statistics.clear();
+
+        // Act
+        CancelBookingResponse response = bookingService.cancelBooking(booking.getBookingId());
+
+        // Assert
+        assertEquals(carrier.getCarrierName(), response.getCarrierName());
+        assertEquals(0, entityLoads(Carrier.class));
+        assertEquals(0, entityLoads(Flight.class));
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+    }
+
+    @Test
+    void testUpdateCarrier_VisibleToNextCancellation() {
+        // Arrange
+        bookingService.cancelBooking(book(LocalDate.now().plusDays(12)).getBookingId());
+        BookFlightResponse booking = book(LocalDate.now().plusDays(13));
+        CarrierDTO update = carrierService.getCarrierById(carrier.getCarrierId());
+        CarrierDTO changed = new CarrierDTO(update.getCarrierId(), update.getCarrierName(),
+                update.getDiscountPercentage(), new BigDecimal("75.00"), update.getDiscountType(),
+                update.getRefundType(), update.getDescription(), update.getIsActive());
+
+        // Act
+        carrierService.updateCarrier(carrier.getCarrierId(), changed);
+        CancelBookingResponse response = bookingService.cancelBooking(booking.getBookingId());
+
+        // Assert
+        assertEquals(0, new BigDecimal("75.00").compareTo(response.getRefundPercentage()));
+    }
+
+    @Test
+    void testUpdateFlight_VisibleToNextCancellation() {
+        // Arrange
+        bookingService.cancelBooking(book(LocalDate.now().plusDays(14)).getBookingId());
+        BookFlightResponse booking = book(LocalDate.now().plusDays(15));
+        FlightDTO update = new FlightDTO(flight.getFlightId(), carrier.getCarrierId(), carrier.getCarrierName(),
+                "Cache Origin", "Moved Destination", new BigDecimal("100.00"), 10, 20, 5);
+
+        // Act
+        flightService.updateFlight(flight.getFlightId(), update);
+        CancelBookingResponse response = bookingService.cancelBooking(booking.getBookingId());
+
+        // Assert
+        assertEquals("Moved Destination", response.getDestination());
+    }
+
+    @Test
+    void testCarrierQueries_CachedUntilCarriersChange() {
+        // Arrange
+        String carrierName = carrier.getCarrierName();
+        carrierRepository.findByCarrierName(carrierName);
+        carrierRepository.findByIsActiveTrue();
+        statistics.clear();
+
+        // Act
+        carrierRepository.findByCarrierName(carrierName);
+        boolean activeBefore = carrierRepository.findByIsActiveTrue().stream()
+                .anyMatch(active -> active.getCarrierId().equals(carrier.getCarrierId()));
+        long cachedStatements = statistics.getPrepareStatementCount();
+        carrierService.deleteCarrier(carrier.getCarrierId());
+        boolean activeAfter = carrierRepository.findByIsActiveTrue().stream()
+                .anyMatch(active -> active.getCarrierId().equals(carrier.getCarrierId()));
+
+        // Assert
+        assertEquals(0, cachedStatements);
+        assertTrue(statistics.getQueryCacheHitCount() >= 2);
+        assertTrue(activeBefore);
+        assertFalse(activeAfter);
+    }
+
+    private long entityLoads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    private BookFlightResponse book(LocalDate dateOfTravel) {
+        return bookingService.bookFlight(new BookFlightRequest(flight.getFlightId(), 1,
+                SeatCategory.ECONOMY, dateOfTravel), user.getUserId());
+    }
+}
@@ -1,6 +1,7 @@
 package com.airline.flightmanagement.service;
 
 import com.airline.flightmanagement.dto.UserDTO;
+import com.airline.flightmanagement.dto.KeysetPage;
 import com.airline.flightmanagement.entity.User;
 import com.airline.flightmanagement.entity.UserRole;
 import com.airline.flightmanagement.entity.CustomerCategory;
@@ -10,7 +11,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -25,6 +29,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     
+    @Spy
+    private KeysetPagination keysetPagination = new KeysetPagination(50, 500);
+    
     @InjectMocks
     private UserService userService;
     
@@ -296,4 +303,35 @@ class UserServiceTest {
         
         verify(userRepository).findById(999L);
     }
+    
+    @Test
+    void testGetAllUsers_PageSizeIsCapped() {
+        // Arrange
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0L, PageRequest.ofSize(501)))
+                .thenReturn(java.util.List.of(testUser));
+        
+        // Act
+        KeysetPage<UserDTO> result = userService.getAllUsers(null, 10_000);
+        
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals("testuser", result.getItems().get(0).getUserName());
+        assertFalse(result.hasNextPage());
+        verify(userRepository, never()).findAll();
+    }
+    
+    @Test
+    void testGetAllUsers_RejectsTokenFromAnotherListing() {
+        // Arrange
+        String flightToken = keysetPagination.page(KeysetPagination.FLIGHTS, java.util.List.of(1L, 2L), 1,
+                id -> id, id -> id).getNextPageToken();
+        
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            userService.getAllUsers(flightToken, null);
+        });
+        
+        assertEquals("Invalid page token", exception.getMessage());
+        verify(userRepository, never()).findByUserIdGreaterThanOrderByUserIdAsc(any(), any(Pageable.class));
+    }
 }